@@ -13,6 +13,8 @@
 package com.netflix.conductor.cassandra.dao;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,7 +23,10 @@ import com.netflix.conductor.cassandra.config.CassandraProperties;
 import com.netflix.conductor.metrics.Monitors;
 
 import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
 import com.datastax.driver.core.schemabuilder.SchemaBuilder;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -222,6 +227,19 @@ public abstract class CassandraBaseDAO {
                 .getQueryString();
     }
 
+    /**
+     * Executes the statements concurrently, and waits for all of them to complete.
+     *
+     * @return the result sets of the statements, in the same order
+     */
+    List<ResultSet> executeAll(List<? extends Statement> statements) {
+        List<ResultSetFuture> futures =
+                statements.stream().map(session::executeAsync).collect(Collectors.toList());
+        return futures.stream()
+                .map(ResultSetFuture::getUninterruptibly)
+                .collect(Collectors.toList());
+    }
+
     String toJson(Object value) {
         try {
             return objectMapper.writeValueAsString(value);
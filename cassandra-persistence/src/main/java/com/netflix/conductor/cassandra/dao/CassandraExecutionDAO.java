@@ -16,9 +16,13 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,6 +46,7 @@ import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
@@ -194,6 +199,9 @@ public class CassandraExecutionDAO extends CassandraBaseDAO
      * mapping in the task_lookup table first. Once this succeeds, inserts the tasks into the
      * workflows table. Tasks belonging to the same shard are created using batch statements.
      *
+     * <p>Tasks are placed in shards of {@link CassandraProperties#getShardSize()} tasks based on
+     * their sequence number, see {@link #getShardId(TaskModel, WorkflowMetadata)}.
+     *
      * @param tasks tasks to be created
      */
     @Override
@@ -203,46 +211,70 @@ public class CassandraExecutionDAO extends CassandraBaseDAO
         try {
             WorkflowMetadata workflowMetadata = getWorkflowMetadata(workflowId);
             int totalTasks = workflowMetadata.getTotalTasks() + tasks.size();
-            // TODO: write into multiple shards based on number of tasks
+            // workflows which outgrew the default shard before tasks were sharded stay unsharded.
+            // Tasks are created in sequence, so the existing tasks precede the first new one. The
+            // total tasks cannot tell, it decreases when tasks are removed.
+            int lastExistingSeq = tasks.stream().mapToInt(TaskModel::getSeq).min().getAsInt() - 1;
+            if (workflowMetadata.getTotalPartitions() > DEFAULT_TOTAL_PARTITIONS
+                    || lastExistingSeq <= properties.getShardSize()) {
+                int lastShardId = tasks.stream().mapToInt(this::getShardId).max().getAsInt();
+                workflowMetadata.setTotalPartitions(
+                        Math.max(workflowMetadata.getTotalPartitions(), lastShardId));
+            }
 
             // update the task_lookup table
-            tasks.forEach(
-                    task -> {
-                        task.setScheduledTime(System.currentTimeMillis());
-                        session.execute(
-                                updateTaskLookupStatement.bind(
-                                        UUID.fromString(workflowId),
-                                        UUID.fromString(task.getTaskId())));
-                    });
-
-            // update all the tasks in the workflow using batch
-            BatchStatement batchStatement = new BatchStatement();
-            tasks.forEach(
-                    task -> {
-                        String taskPayload = toJson(task);
-                        batchStatement.add(
-                                insertTaskStatement.bind(
-                                        UUID.fromString(workflowId),
-                                        DEFAULT_SHARD_ID,
-                                        task.getTaskId(),
-                                        taskPayload));
-                        recordCassandraDaoRequests(
-                                "createTask", task.getTaskType(), task.getWorkflowType());
-                        recordCassandraDaoPayloadSize(
-                                "createTask",
-                                taskPayload.length(),
-                                task.getTaskType(),
-                                task.getWorkflowType());
-                    });
-            batchStatement.add(
-                    updateTotalTasksStatement.bind(
-                            totalTasks, UUID.fromString(workflowId), DEFAULT_SHARD_ID));
-            session.execute(batchStatement);
+            executeAll(
+                    tasks.stream()
+                            .map(
+                                    task -> {
+                                        task.setScheduledTime(System.currentTimeMillis());
+                                        return updateTaskLookupStatement.bind(
+                                                UUID.fromString(workflowId),
+                                                UUID.fromString(task.getTaskId()));
+                                    })
+                            .collect(Collectors.toList()));
+
+            // insert the tasks of each shard of the workflow using one batch per shard, each
+            // batch holds a single partition and is routed to its replicas
+            Map<Integer, List<TaskModel>> tasksByShard =
+                    tasks.stream()
+                            .collect(
+                                    Collectors.groupingBy(
+                                            task -> getShardId(task, workflowMetadata)));
+            List<BatchStatement> batchStatements = new ArrayList<>();
+            for (Map.Entry<Integer, List<TaskModel>> shardTasks : tasksByShard.entrySet()) {
+                BatchStatement batchStatement = new BatchStatement();
+                shardTasks
+                        .getValue()
+                        .forEach(
+                                task -> {
+                                    String taskPayload = toJson(task);
+                                    batchStatement.add(
+                                            insertTaskStatement.bind(
+                                                    UUID.fromString(workflowId),
+                                                    shardTasks.getKey(),
+                                                    task.getTaskId(),
+                                                    taskPayload));
+                                    recordCassandraDaoRequests(
+                                            "createTask",
+                                            task.getTaskType(),
+                                            task.getWorkflowType());
+                                    recordCassandraDaoPayloadSize(
+                                            "createTask",
+                                            taskPayload.length(),
+                                            task.getTaskType(),
+                                            task.getWorkflowType());
+                                });
+                batchStatements.add(batchStatement);
+            }
+            executeAll(batchStatements);
 
             // update the total tasks and partitions for the workflow
             session.execute(
                     updateTotalPartitionsStatement.bind(
-                            DEFAULT_TOTAL_PARTITIONS, totalTasks, UUID.fromString(workflowId)));
+                            workflowMetadata.getTotalPartitions(),
+                            totalTasks,
+                            UUID.fromString(workflowId)));
 
             return tasks;
         } catch (ApplicationException e) {
@@ -260,7 +292,10 @@ public class CassandraExecutionDAO extends CassandraBaseDAO
     @Override
     public void updateTask(TaskModel task) {
         try {
-            // TODO: calculate the shard number the task belongs to
+            int shardId = getShardId(task);
+            if (shardId != DEFAULT_SHARD_ID) {
+                shardId = getShardId(task, getWorkflowMetadata(task.getWorkflowInstanceId()));
+            }
             String taskPayload = toJson(task);
             recordCassandraDaoRequests("updateTask", task.getTaskType(), task.getWorkflowType());
             recordCassandraDaoPayloadSize(
@@ -268,7 +303,7 @@ public class CassandraExecutionDAO extends CassandraBaseDAO
             session.execute(
                     insertTaskStatement.bind(
                             UUID.fromString(task.getWorkflowInstanceId()),
-                            DEFAULT_SHARD_ID,
+                            shardId,
                             task.getTaskId(),
                             taskPayload));
             if (task.getTaskDefinition().isPresent()
@@ -356,13 +391,30 @@ public class CassandraExecutionDAO extends CassandraBaseDAO
             if (workflowId == null) {
                 return null;
             }
-            // TODO: implement for query against multiple shards
-
+            // the shard of the task is not known, look it up in the default shard first
+            UUID workflowUUID = UUID.fromString(workflowId);
             ResultSet resultSet =
                     session.execute(
-                            selectTaskStatement.bind(
-                                    UUID.fromString(workflowId), DEFAULT_SHARD_ID, taskId));
-            return Optional.ofNullable(resultSet.one())
+                            selectTaskStatement.bind(workflowUUID, DEFAULT_SHARD_ID, taskId));
+            Row taskRow = resultSet.one();
+            if (taskRow == null) {
+                Row totalRow = session.execute(selectTotalStatement.bind(workflowUUID)).one();
+                int totalPartitions =
+                        totalRow == null
+                                ? DEFAULT_TOTAL_PARTITIONS
+                                : totalRow.getInt(TOTAL_PARTITIONS_KEY);
+                List<Statement> statements =
+                        bindOtherShards(
+                                totalPartitions,
+                                shardId -> selectTaskStatement.bind(workflowUUID, shardId, taskId));
+                taskRow =
+                        executeAll(statements).stream()
+                                .map(ResultSet::one)
+                                .filter(Objects::nonNull)
+                                .findFirst()
+                                .orElse(null);
+            }
+            return Optional.ofNullable(taskRow)
                     .map(
                             row -> {
                                 TaskModel task =
@@ -467,10 +519,17 @@ public class CassandraExecutionDAO extends CassandraBaseDAO
     public boolean removeWorkflow(String workflowId) {
         WorkflowModel workflow = getWorkflow(workflowId, true);
         boolean removed = false;
-        // TODO: calculate number of shards and iterate
         if (workflow != null) {
             try {
                 recordCassandraDaoRequests("removeWorkflow", "n/a", workflow.getWorkflowName());
+                int totalPartitions = getWorkflowMetadata(workflowId).getTotalPartitions();
+                // remove the default shard last, it holds the workflow and the total partitions
+                executeAll(
+                        bindOtherShards(
+                                totalPartitions,
+                                shardId ->
+                                        deleteWorkflowStatement.bind(
+                                                UUID.fromString(workflowId), shardId)));
                 ResultSet resultSet =
                         session.execute(
                                 deleteWorkflowStatement.bind(
@@ -518,10 +577,11 @@ public class CassandraExecutionDAO extends CassandraBaseDAO
         try {
             ResultSet resultSet;
             if (includeTasks) {
+                UUID workflowUUID = UUID.fromString(workflowId);
                 resultSet =
                         session.execute(
                                 selectWorkflowWithTasksStatement.bind(
-                                        UUID.fromString(workflowId), DEFAULT_SHARD_ID));
+                                        workflowUUID, DEFAULT_SHARD_ID));
                 List<TaskModel> tasks = new ArrayList<>();
 
                 List<Row> rows = resultSet.all();
@@ -529,6 +589,20 @@ public class CassandraExecutionDAO extends CassandraBaseDAO
                     LOGGER.info("Workflow {} not found in datastore", workflowId);
                     return null;
                 }
+                // read the other shards of the workflow in parallel
+                int totalPartitions = rows.get(0).getInt(TOTAL_PARTITIONS_KEY);
+                if (totalPartitions > DEFAULT_SHARD_ID) {
+                    List<Statement> statements =
+                            bindOtherShards(
+                                    totalPartitions,
+                                    shardId ->
+                                            selectWorkflowWithTasksStatement.bind(
+                                                    workflowUUID, shardId));
+                    rows = new ArrayList<>(rows);
+                    for (ResultSet shardResultSet : executeAll(statements)) {
+                        rows.addAll(shardResultSet.all());
+                    }
+                }
                 for (Row row : rows) {
                     String entityKey = row.getString(ENTITY_KEY);
                     if (ENTITY_TYPE_WORKFLOW.equals(entityKey)) {
@@ -650,6 +724,12 @@ public class CassandraExecutionDAO extends CassandraBaseDAO
         return false;
     }
 
+    /** There is no pending task index, {@link #getPendingTasksByWorkflow} reads all the tasks. */
+    @Override
+    public boolean canGetPendingTasksByWorkflow() {
+        return false;
+    }
+
     @Override
     public boolean addEventExecution(EventExecution eventExecution) {
         try {
@@ -799,7 +879,6 @@ public class CassandraExecutionDAO extends CassandraBaseDAO
     }
 
     private boolean removeTask(TaskModel task) {
-        // TODO: calculate shard number based on seq and maxTasksPerShard
         try {
             // get total tasks for this workflow
             WorkflowMetadata workflowMetadata = getWorkflowMetadata(task.getWorkflowInstanceId());
@@ -814,7 +893,7 @@ public class CassandraExecutionDAO extends CassandraBaseDAO
             batchStatement.add(
                     deleteTaskStatement.bind(
                             UUID.fromString(task.getWorkflowInstanceId()),
-                            DEFAULT_SHARD_ID,
+                            getShardId(task, workflowMetadata),
                             task.getTaskId()));
             batchStatement.add(
                     updateTotalTasksStatement.bind(
@@ -880,6 +959,33 @@ public class CassandraExecutionDAO extends CassandraBaseDAO
         }
     }
 
+    /**
+     * @return the shard the task belongs to based on its sequence number, the default shard holding
+     *     the first {@link CassandraProperties#getShardSize()} tasks of the workflow
+     */
+    @VisibleForTesting
+    int getShardId(TaskModel task) {
+        return DEFAULT_SHARD_ID + Math.max(task.getSeq() - 1, 0) / properties.getShardSize();
+    }
+
+    /**
+     * @return the shard the task is stored in, which is the default shard for the tasks of
+     *     workflows that outgrew it before tasks were sharded, those workflows have a single
+     *     partition
+     */
+    @VisibleForTesting
+    int getShardId(TaskModel task, WorkflowMetadata workflowMetadata) {
+        int shardId = getShardId(task);
+        return shardId > workflowMetadata.getTotalPartitions() ? DEFAULT_SHARD_ID : shardId;
+    }
+
+    /** @return the statements bound for each shard of a workflow, but the default shard */
+    private List<Statement> bindOtherShards(int totalPartitions, IntFunction<Statement> binder) {
+        return IntStream.rangeClosed(DEFAULT_SHARD_ID + 1, totalPartitions)
+                .mapToObj(binder)
+                .collect(Collectors.toList());
+    }
+
     @VisibleForTesting
     WorkflowMetadata getWorkflowMetadata(String workflowId) {
         ResultSet resultSet =
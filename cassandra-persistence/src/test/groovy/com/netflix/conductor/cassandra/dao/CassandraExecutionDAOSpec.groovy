@@ -275,6 +275,93 @@ class CassandraExecutionDAOSpec extends CassandraSpec {
         executionDAO.lookupWorkflowIdFromTaskId(task2.taskId) == null
     }
 
+    def "verify tasks are placed in multiple shards"() {
+        given: 'a shard size of 2 tasks'
+        shardSize = 2
+
+        and: 'we create a workflow'
+        String workflowId = IDGenerator.generate()
+        WorkflowDef workflowDef = new WorkflowDef(name: 'def1', version: 1)
+        WorkflowModel workflow = new WorkflowModel(workflowDefinition: workflowDef, workflowId: workflowId, input: new HashMap(), status: WorkflowModel.Status.RUNNING, createTime: System.currentTimeMillis())
+        executionDAO.createWorkflow(workflow)
+
+        and: 'create tasks for this workflow'
+        def tasks = (1..5).collect { seq ->
+            new TaskModel(workflowInstanceId: workflowId, taskType: "task$seq", referenceTaskName: "task$seq", seq: seq, status: TaskModel.Status.SCHEDULED, taskId: IDGenerator.generate())
+        }
+
+        when: 'add the tasks to the datastore'
+        executionDAO.createTasks(tasks[0..2])
+        executionDAO.createTasks(tasks[3..4])
+
+        then:
+        tasks.collect { executionDAO.getShardId(it) } == [1, 1, 2, 2, 3]
+        def workflowMetadata = executionDAO.getWorkflowMetadata(workflowId)
+        workflowMetadata.totalTasks == 5
+        workflowMetadata.totalPartitions == 3
+
+        when: 'update a task in the last shard'
+        tasks[4].setStatus(TaskModel.Status.COMPLETED)
+        executionDAO.updateTask(tasks[4])
+
+        then:
+        tasks.every { executionDAO.getTask(it.taskId) == it }
+
+        when: 'read workflow with tasks'
+        def found = executionDAO.getWorkflow(workflowId, true)
+
+        then:
+        found.tasks == tasks
+
+        when: 'remove a task in the second shard'
+        executionDAO.removeTask(tasks[2].taskId)
+
+        then:
+        executionDAO.getTask(tasks[2].taskId) == null
+        executionDAO.getWorkflow(workflowId, true).tasks == tasks - tasks[2]
+
+        when: 'remove the workflow'
+        executionDAO.removeWorkflow(workflowId)
+
+        then:
+        executionDAO.getWorkflow(workflowId, true) == null
+        executionDAO.getTask(tasks[4].taskId) == null
+    }
+
+    def "verify tasks of workflows which outgrew the default shard stay in the default shard"() {
+        given: 'a workflow created before tasks were sharded'
+        String workflowId = IDGenerator.generate()
+        WorkflowDef workflowDef = new WorkflowDef(name: 'def1', version: 1)
+        WorkflowModel workflow = new WorkflowModel(workflowDefinition: workflowDef, workflowId: workflowId, input: new HashMap(), status: WorkflowModel.Status.RUNNING, createTime: System.currentTimeMillis())
+        executionDAO.createWorkflow(workflow)
+
+        and: 'more tasks than a shard holds in the default shard'
+        def tasks = (1..4).collect { seq ->
+            new TaskModel(workflowInstanceId: workflowId, taskType: "task$seq", referenceTaskName: "task$seq", seq: seq, status: TaskModel.Status.SCHEDULED, taskId: IDGenerator.generate())
+        }
+        executionDAO.createTasks(tasks[0..2])
+        shardSize = 2
+
+        when: 'a task is removed, so that the total tasks fit in a shard again'
+        executionDAO.removeTask(tasks[0].taskId)
+
+        and: 'a task is created'
+        executionDAO.createTasks([tasks[3]])
+
+        then: 'the workflow stays unsharded'
+        def workflowMetadata = executionDAO.getWorkflowMetadata(workflowId)
+        workflowMetadata.totalTasks == 3
+        workflowMetadata.totalPartitions == 1
+
+        when: 'update a task beyond the first shard'
+        tasks[2].setStatus(TaskModel.Status.COMPLETED)
+        executionDAO.updateTask(tasks[2])
+
+        then:
+        executionDAO.getTask(tasks[2].taskId) == tasks[2]
+        executionDAO.getWorkflow(workflowId, true).tasks == tasks[1..3]
+    }
+
     def "CRUD on task def limit"() {
         given:
         String taskDefName = "test_task_def"
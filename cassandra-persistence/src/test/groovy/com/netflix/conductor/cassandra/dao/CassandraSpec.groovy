@@ -46,6 +46,7 @@ abstract class CassandraSpec extends Specification {
 
     CassandraProperties cassandraProperties
     Statements statements
+    int shardSize = 100
 
     def setupSpec() {
         session = cassandra.cluster.newSession()
@@ -55,6 +56,7 @@ abstract class CassandraSpec extends Specification {
         String keyspaceName = "junit"
         cassandraProperties = Mock(CassandraProperties.class) {
             getKeyspace() >> keyspaceName
+            getShardSize() >> { shardSize }
             getReplicationStrategy() >> "SimpleStrategy"
             getReplicationFactorKey() >> "replication_factor"
             getReplicationFactorValue() >> 1
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.common.run;
+
+import java.util.List;
+
+/**
+ * A page of search results, with the opaque token to be passed back to get the next page. The
+ * token is null once the last page has been returned.
+ */
+public class ScrollSearchResult<T> extends SearchResult<T> {
+
+    private String continuationToken;
+
+    public ScrollSearchResult() {}
+
+    public ScrollSearchResult(long totalHits, List<T> results, String continuationToken) {
+        super(totalHits, results);
+        this.continuationToken = continuationToken;
+    }
+
+    /** @return the token to get the next page with, null if this is the last page */
+    public String getContinuationToken() {
+        return continuationToken;
+    }
+
+    /** @param continuationToken the continuationToken to set */
+    public void setContinuationToken(String continuationToken) {
+        this.continuationToken = continuationToken;
+    }
+}
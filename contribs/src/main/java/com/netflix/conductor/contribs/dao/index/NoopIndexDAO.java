@@ -18,6 +18,7 @@ import java.util.concurrent.CompletableFuture;
 
 import com.netflix.conductor.common.metadata.events.EventExecution;
 import com.netflix.conductor.common.metadata.tasks.TaskExecLog;
+import com.netflix.conductor.common.run.ScrollSearchResult;
 import com.netflix.conductor.common.run.SearchResult;
 import com.netflix.conductor.common.run.TaskSummary;
 import com.netflix.conductor.common.run.WorkflowSummary;
@@ -61,6 +62,18 @@ public class NoopIndexDAO implements IndexDAO {
         return new SearchResult<>(0, Collections.emptyList());
     }
 
+    @Override
+    public ScrollSearchResult<String> scrollWorkflows(
+            String query, String freeText, String continuationToken, int count, List<String> sort) {
+        return new ScrollSearchResult<>(0, Collections.emptyList(), null);
+    }
+
+    @Override
+    public ScrollSearchResult<String> scrollTasks(
+            String query, String freeText, String continuationToken, int count, List<String> sort) {
+        return new ScrollSearchResult<>(0, Collections.emptyList(), null);
+    }
+
     @Override
     public void removeWorkflow(String workflowId) {}
 
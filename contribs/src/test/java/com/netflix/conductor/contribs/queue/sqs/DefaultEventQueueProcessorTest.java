@@ -30,13 +30,13 @@ import org.springframework.test.context.junit4.SpringRunner;
 import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
 import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.TaskResult;
+import com.netflix.conductor.core.dal.ExecutionDAOFacade;
 import com.netflix.conductor.core.events.queue.DefaultEventQueueProcessor;
 import com.netflix.conductor.core.events.queue.Message;
 import com.netflix.conductor.core.events.queue.ObservableQueue;
 import com.netflix.conductor.core.execution.WorkflowExecutor;
 import com.netflix.conductor.model.TaskModel;
 import com.netflix.conductor.model.TaskModel.Status;
-import com.netflix.conductor.model.WorkflowModel;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.util.concurrent.Uninterruptibles;
@@ -55,6 +55,7 @@ public class DefaultEventQueueProcessorTest {
 
     private static SQSObservableQueue queue;
     private static WorkflowExecutor workflowExecutor;
+    private static ExecutionDAOFacade executionDAOFacade;
     private DefaultEventQueueProcessor defaultEventQueueProcessor;
 
     @Autowired private ObjectMapper objectMapper;
@@ -68,7 +69,8 @@ public class DefaultEventQueueProcessorTest {
         Map<Status, ObservableQueue> queues = new HashMap<>();
         queues.put(Status.COMPLETED, queue);
         defaultEventQueueProcessor =
-                new DefaultEventQueueProcessor(queues, workflowExecutor, objectMapper);
+                new DefaultEventQueueProcessor(
+                        queues, workflowExecutor, executionDAOFacade, objectMapper);
     }
 
     @BeforeClass
@@ -95,17 +97,11 @@ public class DefaultEventQueueProcessorTest {
         task0.setTaskId("t0");
         task0.setReferenceTaskName("t0");
         task0.setTaskType(TASK_TYPE_WAIT);
-        WorkflowModel workflow0 = new WorkflowModel();
-        workflow0.setWorkflowId("v_0");
-        workflow0.getTasks().add(task0);
 
         TaskModel task2 = new TaskModel();
         task2.setStatus(Status.IN_PROGRESS);
         task2.setTaskId("t2");
         task2.setTaskType(TASK_TYPE_WAIT);
-        WorkflowModel workflow2 = new WorkflowModel();
-        workflow2.setWorkflowId("v_2");
-        workflow2.getTasks().add(task2);
 
         doAnswer(
                         (Answer<Void>)
@@ -120,9 +116,9 @@ public class DefaultEventQueueProcessorTest {
         workflowExecutor = mock(WorkflowExecutor.class);
         assertNotNull(workflowExecutor);
 
-        doReturn(workflow0).when(workflowExecutor).getWorkflow(eq("v_0"), anyBoolean());
-
-        doReturn(workflow2).when(workflowExecutor).getWorkflow(eq("v_2"), anyBoolean());
+        executionDAOFacade = mock(ExecutionDAOFacade.class);
+        doReturn(task0).when(executionDAOFacade).getPendingTaskModelByRefName("v_0", "t0");
+        doReturn(task2).when(executionDAOFacade).getPendingTaskModel("v_2", "t2");
 
         doAnswer(
                         (Answer<Void>)
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.utils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.netflix.conductor.common.config.ObjectMapperProvider;
+import com.netflix.conductor.common.metadata.tasks.TaskDef;
+import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
+import com.netflix.conductor.model.TaskModel;
+import com.netflix.conductor.model.WorkflowModel;
+
+/**
+ * Measures the resolution of the input of a task scheduled in a workflow that already has {@link
+ * #taskCount} tasks, e.g. the iterations of a DO_WHILE or the branches of a large dynamic fork.
+ *
+ * <p>Run with {@code ./gradlew :conductor-core:jmh -PjmhArgs=ParametersUtilsBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParametersUtilsBenchmark {
+
+    @Param({"10", "1000", "5000"})
+    private int taskCount;
+
+    private ParametersUtils parametersUtils;
+    private WorkflowModel workflow;
+    private Map<String, Object> inputParams;
+    private TaskDef taskDef;
+
+    @Setup
+    public void setUp() {
+        parametersUtils = new ParametersUtils(new ObjectMapperProvider().getObjectMapper());
+
+        WorkflowDef workflowDef = new WorkflowDef();
+        workflowDef.setName("benchmark");
+        workflowDef.setSchemaVersion(2);
+
+        workflow = new WorkflowModel();
+        workflow.setWorkflowId("benchmark-workflow");
+        workflow.setWorkflowDefinition(workflowDef);
+        workflow.setInput(Map.of("requestId", "request-1", "items", List.of(1, 2, 3)));
+        workflow.setStatus(WorkflowModel.Status.RUNNING);
+        for (int i = 0; i < taskCount; i++) {
+            TaskModel task = new TaskModel();
+            task.setTaskId("task-" + i);
+            task.setTaskType("SIMPLE");
+            task.setReferenceTaskName("task_" + i);
+            task.setStatus(TaskModel.Status.COMPLETED);
+            task.setInputData(new HashMap<>(Map.of("index", i)));
+            task.setOutputData(new HashMap<>(Map.of("result", "result-" + i, "count", i)));
+            workflow.getTasks().add(task);
+        }
+
+        String previousTask = "task_" + (taskCount - 1);
+        inputParams = new HashMap<>();
+        inputParams.put("requestId", "${workflow.input.requestId}");
+        inputParams.put("previousResult", "${" + previousTask + ".output.result}");
+        inputParams.put(
+                "summary", "${workflow.workflowId}/${" + previousTask + ".output.count} done");
+        inputParams.put("escaped", "$${workflow.input.requestId}");
+        inputParams.put(
+                "nested",
+                Map.of(
+                        "items", "${workflow.input.items}",
+                        "list", List.of("${task_0.output.result}", "literal", 42)));
+
+        taskDef = new TaskDef();
+        taskDef.setName("benchmark_task");
+        taskDef.getInputTemplate().put("timeout", 30);
+        taskDef.getInputTemplate().put("status", "${" + previousTask + ".status}");
+    }
+
+    @Benchmark
+    public Map<String, Object> getTaskInputV2() {
+        return parametersUtils.getTaskInputV2(inputParams, workflow, "benchmark-task", taskDef);
+    }
+}
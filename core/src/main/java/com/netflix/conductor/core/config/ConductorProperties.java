@@ -45,9 +45,42 @@ public class ConductorProperties {
     /** The number of threads to use to do background sweep on active workflows. */
     private int sweeperThreadCount = Runtime.getRuntime().availableProcessors() * 2;
 
+    /**
+     * Used to enable/disable the continuous sweeper mode, in which a sweeper thread picks up the
+     * next workflow from the decider queue as soon as it is free, instead of waiting for the whole
+     * batch of workflows to be swept.
+     */
+    private boolean sweeperContinuousModeEnabled = false;
+
+    /**
+     * Used to enable/disable coalescing of the task and workflow writes made during a decide pass,
+     * so that each entity is written once at the end of the pass. When enabled, the workflow is
+     * re-evaluated from its in-memory state instead of being reloaded from the datastore.
+     */
+    private boolean decideWriteCoalescingEnabled = false;
+
     /** The number of threads to configure the threadpool in the event processor. */
     private int eventProcessorThreadCount = 2;
 
+    /**
+     * The maximum number of messages of an event queue that are processed concurrently, with the
+     * actions of all the matching event handlers run concurrently and the messages acked in
+     * batches. 0 to process the messages of a queue one at a time, on the thread that polls it.
+     */
+    private int eventProcessorMaxInFlightMessages = 0;
+
+    /** The number of processed messages of an event queue that are acked together. */
+    private int eventProcessorAckBatchSize = 10;
+
+    /**
+     * The interval (in seconds) at which the event handlers, kept in memory to find the handlers of
+     * each event queue message, are reloaded from the datastore to pick up the changes made through
+     * other instances. A value of 0 disables the in-memory registry, and the handlers are then read
+     * from the datastore for every message.
+     */
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration eventHandlerRefreshInterval = Duration.ZERO;
+
     /** Used to enable/disable the indexing of messages within event payloads. */
     private boolean eventMessageIndexingEnabled = true;
 
@@ -71,6 +104,21 @@ public class ConductorProperties {
     @DurationUnit(ChronoUnit.SECONDS)
     private Duration activeWorkerLastPollTimeout = Duration.ofSeconds(10);
 
+    /**
+     * The time (in milliseconds) for which the poll data used to find the active domain of a task
+     * is cached in memory. Entries older than this are refreshed asynchronously, and are dropped
+     * once they are twice as old. A value of 0 disables the cache, and the poll data is then read
+     * from the datastore for every task being scheduled.
+     */
+    private Duration activeDomainPollDataCacheTtl = Duration.ZERO;
+
+    /**
+     * The interval (in milliseconds) at which the last poll of each task queue is written to the
+     * datastore. Polls are aggregated in memory in between, so that each task type and domain is
+     * written at most once per interval. A value of 0 writes every poll synchronously.
+     */
+    private Duration pollDataFlushInterval = Duration.ZERO;
+
     /**
      * The time (in seconds) for which a task execution will be postponed if being rate limited or
      * concurrent execution limited.
@@ -81,6 +129,12 @@ public class ConductorProperties {
     /** Used to enable/disable the indexing of task execution logs. */
     private boolean taskExecLogIndexingEnabled = true;
 
+    /**
+     * The number of threads used to fetch the workflows and tasks of a search result page from the
+     * datastore.
+     */
+    private int searchFetchThreadCount = 8;
+
     /** Used to enable/disable asynchronous indexing to elasticsearch. */
     private boolean asyncIndexingEnabled = false;
 
@@ -100,6 +154,26 @@ public class ConductorProperties {
      */
     private Duration systemTaskWorkerPollInterval = Duration.ofMillis(50);
 
+    /**
+     * The number of threads shared by all system task queues (including isolated queues) to poll
+     * for tasks.
+     */
+    private int systemTaskWorkerPollerThreadCount = 2;
+
+    /**
+     * The maximum interval (in milliseconds) at which an idle system task queue is polled. The poll
+     * interval of a queue doubles after every empty poll until it reaches this value, and is reset
+     * when a poll returns tasks or a task is pushed to the queue.
+     */
+    private Duration systemTaskWorkerMaxPollBackoff = Duration.ofSeconds(1);
+
+    /**
+     * Used to run each async system task on its own virtual thread (requires Java 21). The number
+     * of tasks executed concurrently is then bounded only by systemTaskWorkerThreadCount (and
+     * isolatedSystemTaskWorkerThreadCount), without creating as many platform threads.
+     */
+    private boolean systemTaskWorkerVirtualThreadsEnabled = false;
+
     /** The namespace for the system task workers to provide instance level isolation. */
     private String systemTaskWorkerExecutionNamespace = "";
 
@@ -126,6 +200,21 @@ public class ConductorProperties {
     @DurationUnit(ChronoUnit.SECONDS)
     private Duration asyncUpdateDelay = Duration.ofSeconds(60);
 
+    /**
+     * The maximum number of short-running workflows waiting for their delayed index update. Once
+     * reached, the index of further workflows is updated without a delay.
+     */
+    private int asyncUpdateDelayQueueCapacity = 100_000;
+
+    /** The maximum number of delayed workflow index updates sent in one bulk request. */
+    private int asyncUpdateDelayBatchSize = 100;
+
+    /**
+     * The number of workflows, and of tasks, whose last indexed summary is remembered so that only
+     * their changes are indexed. 0 to always index whole summaries.
+     */
+    private int incrementalIndexingCacheSize = 0;
+
     /**
      * Used to control the validation for owner email field as mandatory within workflow and task
      * definitions.
@@ -250,6 +339,22 @@ public class ConductorProperties {
         this.sweeperThreadCount = sweeperThreadCount;
     }
 
+    public boolean isSweeperContinuousModeEnabled() {
+        return sweeperContinuousModeEnabled;
+    }
+
+    public void setSweeperContinuousModeEnabled(boolean sweeperContinuousModeEnabled) {
+        this.sweeperContinuousModeEnabled = sweeperContinuousModeEnabled;
+    }
+
+    public boolean isDecideWriteCoalescingEnabled() {
+        return decideWriteCoalescingEnabled;
+    }
+
+    public void setDecideWriteCoalescingEnabled(boolean decideWriteCoalescingEnabled) {
+        this.decideWriteCoalescingEnabled = decideWriteCoalescingEnabled;
+    }
+
     public int getEventProcessorThreadCount() {
         return eventProcessorThreadCount;
     }
@@ -258,6 +363,30 @@ public class ConductorProperties {
         this.eventProcessorThreadCount = eventProcessorThreadCount;
     }
 
+    public int getEventProcessorMaxInFlightMessages() {
+        return eventProcessorMaxInFlightMessages;
+    }
+
+    public void setEventProcessorMaxInFlightMessages(int eventProcessorMaxInFlightMessages) {
+        this.eventProcessorMaxInFlightMessages = eventProcessorMaxInFlightMessages;
+    }
+
+    public int getEventProcessorAckBatchSize() {
+        return eventProcessorAckBatchSize;
+    }
+
+    public void setEventProcessorAckBatchSize(int eventProcessorAckBatchSize) {
+        this.eventProcessorAckBatchSize = eventProcessorAckBatchSize;
+    }
+
+    public Duration getEventHandlerRefreshInterval() {
+        return eventHandlerRefreshInterval;
+    }
+
+    public void setEventHandlerRefreshInterval(Duration eventHandlerRefreshInterval) {
+        this.eventHandlerRefreshInterval = eventHandlerRefreshInterval;
+    }
+
     public boolean isEventMessageIndexingEnabled() {
         return eventMessageIndexingEnabled;
     }
@@ -306,6 +435,22 @@ public class ConductorProperties {
         this.activeWorkerLastPollTimeout = activeWorkerLastPollTimeout;
     }
 
+    public Duration getActiveDomainPollDataCacheTtl() {
+        return activeDomainPollDataCacheTtl;
+    }
+
+    public void setActiveDomainPollDataCacheTtl(Duration activeDomainPollDataCacheTtl) {
+        this.activeDomainPollDataCacheTtl = activeDomainPollDataCacheTtl;
+    }
+
+    public Duration getPollDataFlushInterval() {
+        return pollDataFlushInterval;
+    }
+
+    public void setPollDataFlushInterval(Duration pollDataFlushInterval) {
+        this.pollDataFlushInterval = pollDataFlushInterval;
+    }
+
     public Duration getTaskExecutionPostponeDuration() {
         return taskExecutionPostponeDuration;
     }
@@ -322,6 +467,14 @@ public class ConductorProperties {
         this.taskExecLogIndexingEnabled = taskExecLogIndexingEnabled;
     }
 
+    public int getSearchFetchThreadCount() {
+        return searchFetchThreadCount;
+    }
+
+    public void setSearchFetchThreadCount(int searchFetchThreadCount) {
+        this.searchFetchThreadCount = searchFetchThreadCount;
+    }
+
     public boolean isAsyncIndexingEnabled() {
         return asyncIndexingEnabled;
     }
@@ -354,6 +507,31 @@ public class ConductorProperties {
         this.systemTaskWorkerPollInterval = systemTaskWorkerPollInterval;
     }
 
+    public int getSystemTaskWorkerPollerThreadCount() {
+        return systemTaskWorkerPollerThreadCount;
+    }
+
+    public void setSystemTaskWorkerPollerThreadCount(int systemTaskWorkerPollerThreadCount) {
+        this.systemTaskWorkerPollerThreadCount = systemTaskWorkerPollerThreadCount;
+    }
+
+    public Duration getSystemTaskWorkerMaxPollBackoff() {
+        return systemTaskWorkerMaxPollBackoff;
+    }
+
+    public void setSystemTaskWorkerMaxPollBackoff(Duration systemTaskWorkerMaxPollBackoff) {
+        this.systemTaskWorkerMaxPollBackoff = systemTaskWorkerMaxPollBackoff;
+    }
+
+    public boolean isSystemTaskWorkerVirtualThreadsEnabled() {
+        return systemTaskWorkerVirtualThreadsEnabled;
+    }
+
+    public void setSystemTaskWorkerVirtualThreadsEnabled(
+            boolean systemTaskWorkerVirtualThreadsEnabled) {
+        this.systemTaskWorkerVirtualThreadsEnabled = systemTaskWorkerVirtualThreadsEnabled;
+    }
+
     public String getSystemTaskWorkerExecutionNamespace() {
         return systemTaskWorkerExecutionNamespace;
     }
@@ -395,6 +573,30 @@ public class ConductorProperties {
         this.asyncUpdateDelay = asyncUpdateDelay;
     }
 
+    public int getAsyncUpdateDelayQueueCapacity() {
+        return asyncUpdateDelayQueueCapacity;
+    }
+
+    public void setAsyncUpdateDelayQueueCapacity(int asyncUpdateDelayQueueCapacity) {
+        this.asyncUpdateDelayQueueCapacity = asyncUpdateDelayQueueCapacity;
+    }
+
+    public int getAsyncUpdateDelayBatchSize() {
+        return asyncUpdateDelayBatchSize;
+    }
+
+    public void setAsyncUpdateDelayBatchSize(int asyncUpdateDelayBatchSize) {
+        this.asyncUpdateDelayBatchSize = asyncUpdateDelayBatchSize;
+    }
+
+    public int getIncrementalIndexingCacheSize() {
+        return incrementalIndexingCacheSize;
+    }
+
+    public void setIncrementalIndexingCacheSize(int incrementalIndexingCacheSize) {
+        this.incrementalIndexingCacheSize = incrementalIndexingCacheSize;
+    }
+
     public boolean isOwnerEmailMandatory() {
         return ownerEmailMandatory;
     }
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.dal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.netflix.conductor.common.run.WorkflowSummary;
+import com.netflix.conductor.dao.ExecutionDAO;
+import com.netflix.conductor.dao.IndexDAO;
+import com.netflix.conductor.metrics.Monitors;
+import com.netflix.conductor.model.WorkflowModel;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Indexes workflows after a delay, so that the last index request of a short-running workflow is
+ * not overtaken by earlier asynchronous index requests of the same workflow.
+ *
+ * <p>Only the ids of the pending workflows are kept, each with the due time of its first request.
+ * Due workflows are read again from the {@link ExecutionDAO} in batches when they are indexed, so
+ * that their current state is indexed, even if they were updated by another instance, and those
+ * that no longer exist are skipped. They are indexed with {@link IndexDAO#indexWorkflows(List)}.
+ * When the number of pending workflows reaches the capacity, new workflows are indexed right away
+ * instead of being delayed.
+ */
+class DelayedWorkflowIndexer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DelayedWorkflowIndexer.class);
+
+    private static final long DRAIN_INTERVAL_MS = 1000;
+
+    private final ExecutionDAO executionDAO;
+    private final IndexDAO indexDAO;
+    private final long delayMs;
+    private final int capacity;
+    private final int batchSize;
+    /** The due times of the pending workflows by id. */
+    private final Map<String, Long> pendingWorkflows = new ConcurrentHashMap<>();
+    /** The number of pending workflows, reserved before they are added. */
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final ScheduledExecutorService drainExecutor;
+
+    DelayedWorkflowIndexer(
+            ExecutionDAO executionDAO,
+            IndexDAO indexDAO,
+            long delayMs,
+            int capacity,
+            int batchSize) {
+        this.executionDAO = executionDAO;
+        this.indexDAO = indexDAO;
+        this.delayMs = delayMs;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.drainExecutor =
+                Executors.newSingleThreadScheduledExecutor(
+                        new ThreadFactoryBuilder()
+                                .setNameFormat("delayed-workflow-indexer-%d")
+                                .setDaemon(true)
+                                .build());
+        this.drainExecutor.scheduleWithFixedDelay(
+                this::drainDue, DRAIN_INTERVAL_MS, DRAIN_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Delays the indexing of the given workflow. If the workflow is already pending, it keeps its
+     * original due time.
+     */
+    void enqueue(WorkflowSummary workflowSummary) {
+        String workflowId = workflowSummary.getWorkflowId();
+        if (pendingWorkflows.containsKey(workflowId)) {
+            return;
+        }
+        if (pendingCount.incrementAndGet() > capacity) {
+            pendingCount.decrementAndGet();
+            LOGGER.warn(
+                    "Delayed index queue is full ({} workflows), indexing workflow: {} now",
+                    capacity,
+                    workflowId);
+            Monitors.recordDiscardedIndexingCount("delayQueue");
+            indexDAO.asyncIndexWorkflow(workflowSummary);
+            return;
+        }
+        if (pendingWorkflows.putIfAbsent(workflowId, System.currentTimeMillis() + delayMs)
+                != null) {
+            pendingCount.decrementAndGet();
+        }
+        Monitors.recordWorkerQueueSize("delayQueue", pendingCount.get());
+    }
+
+    /** @return true if the indexing of the given workflow is pending */
+    boolean isPending(String workflowId) {
+        return pendingWorkflows.containsKey(workflowId);
+    }
+
+    /** Drops the pending index request of the given workflow, if any. */
+    void cancel(String workflowId) {
+        if (pendingWorkflows.remove(workflowId) != null) {
+            pendingCount.decrementAndGet();
+        }
+    }
+
+    /** Stops the drain thread and indexes all the pending workflows. */
+    void shutdown() {
+        drainExecutor.shutdownNow();
+        drain(Long.MAX_VALUE);
+    }
+
+    @VisibleForTesting
+    void drainDue() {
+        drain(System.currentTimeMillis());
+    }
+
+    @VisibleForTesting
+    int size() {
+        return pendingCount.get();
+    }
+
+    private void drain(long now) {
+        List<String> batch = new ArrayList<>(batchSize);
+        long maxLag = 0;
+        for (Map.Entry<String, Long> entry : pendingWorkflows.entrySet()) {
+            long dueTime = entry.getValue();
+            if (dueTime > now || !pendingWorkflows.remove(entry.getKey(), dueTime)) {
+                continue;
+            }
+            pendingCount.decrementAndGet();
+            batch.add(entry.getKey());
+            maxLag = Math.max(maxLag, now - dueTime);
+            if (batch.size() >= batchSize) {
+                index(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            index(batch);
+        }
+        if (now != Long.MAX_VALUE) {
+            Monitors.recordDelayedIndexLag(maxLag);
+        }
+        Monitors.recordWorkerQueueSize("delayQueue", pendingCount.get());
+    }
+
+    private void index(List<String> workflowIds) {
+        try {
+            List<WorkflowSummary> workflowSummaries =
+                    executionDAO.getWorkflows(workflowIds).stream()
+                            .map(WorkflowModel::toWorkflowSummary)
+                            .collect(Collectors.toList());
+            if (!workflowSummaries.isEmpty()) {
+                indexDAO.indexWorkflows(workflowSummaries);
+            }
+        } catch (Exception e) {
+            LOGGER.error("Unable to index {} delayed workflows", workflowIds.size(), e);
+            Monitors.error(DelayedWorkflowIndexer.class.getSimpleName(), "indexWorkflows");
+        }
+    }
+}
@@ -13,17 +13,34 @@
 package com.netflix.conductor.core.dal;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.annotation.PreDestroy;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -33,8 +50,10 @@ import com.netflix.conductor.common.metadata.tasks.PollData;
 import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.TaskDef;
 import com.netflix.conductor.common.metadata.tasks.TaskExecLog;
+import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
+import com.netflix.conductor.common.metadata.workflow.WorkflowTask;
+import com.netflix.conductor.common.run.ScrollSearchResult;
 import com.netflix.conductor.common.run.SearchResult;
-import com.netflix.conductor.common.run.TaskSummary;
 import com.netflix.conductor.common.run.Workflow;
 import com.netflix.conductor.common.run.WorkflowSummary;
 import com.netflix.conductor.common.utils.ExternalPayloadStorage;
@@ -50,6 +69,12 @@ import com.netflix.conductor.model.WorkflowModel;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import static com.netflix.conductor.core.utils.Utils.DECIDER_QUEUE;
 
@@ -66,6 +91,11 @@ public class ExecutionDAOFacade {
     private static final String ARCHIVED_FIELD = "archived";
     private static final String RAW_JSON_FIELD = "rawJSON";
 
+    /** The number of workflows or tasks read from the datastore with a single bulk call. */
+    private static final int SEARCH_FETCH_BATCH_SIZE = 100;
+
+    private static final int SEARCH_FETCH_QUEUE_SIZE = 1000;
+
     private final ExecutionDAO executionDAO;
     private final QueueDAO queueDAO;
     private final IndexDAO indexDAO;
@@ -76,7 +106,24 @@ public class ExecutionDAOFacade {
     private final ConductorProperties properties;
     private final ExternalPayloadStorageUtils externalPayloadStorageUtils;
 
-    private final ScheduledThreadPoolExecutor scheduledThreadPoolExecutor;
+    private final DelayedWorkflowIndexer delayedWorkflowIndexer;
+    private final IncrementalIndexer incrementalIndexer;
+
+    /** Fetches the workflows and tasks of search results, see {@link #getWorkflows(List)}. */
+    private final ExecutorService searchFetchExecutor;
+
+    /** Poll data by task name and domain, null if the cache is disabled. */
+    private final LoadingCache<ImmutablePair<String, String>, CachedPollData> pollDataCache;
+
+    private final ExecutorService pollDataRefreshExecutor;
+
+    /**
+     * The latest poll by task name and domain not yet written to the datastore, null if poll data
+     * is written synchronously.
+     */
+    private final Map<ImmutablePair<String, String>, PollData> pendingPollData;
+
+    private final ScheduledExecutorService pollDataFlushExecutor;
 
     public ExecutionDAOFacade(
             ExecutionDAO executionDAO,
@@ -97,39 +144,83 @@ public class ExecutionDAOFacade {
         this.objectMapper = objectMapper;
         this.properties = properties;
         this.externalPayloadStorageUtils = externalPayloadStorageUtils;
-        this.scheduledThreadPoolExecutor =
-                new ScheduledThreadPoolExecutor(
-                        4,
-                        (runnable, executor) -> {
-                            LOGGER.warn(
-                                    "Request {} to delay updating index dropped in executor {}",
-                                    runnable,
-                                    executor);
-                            Monitors.recordDiscardedIndexingCount("delayQueue");
-                        });
-        this.scheduledThreadPoolExecutor.setRemoveOnCancelPolicy(true);
+        this.delayedWorkflowIndexer =
+                new DelayedWorkflowIndexer(
+                        executionDAO,
+                        indexDAO,
+                        properties.getAsyncUpdateDelay().toMillis(),
+                        properties.getAsyncUpdateDelayQueueCapacity(),
+                        properties.getAsyncUpdateDelayBatchSize());
+        this.incrementalIndexer =
+                new IncrementalIndexer(
+                        indexDAO, objectMapper, properties.getIncrementalIndexingCacheSize());
+        int searchFetchThreadCount = properties.getSearchFetchThreadCount();
+        this.searchFetchExecutor =
+                new ThreadPoolExecutor(
+                        searchFetchThreadCount,
+                        searchFetchThreadCount,
+                        60,
+                        TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(SEARCH_FETCH_QUEUE_SIZE),
+                        new ThreadFactoryBuilder()
+                                .setNameFormat("search-fetch-%d")
+                                .setDaemon(true)
+                                .build(),
+                        new ThreadPoolExecutor.CallerRunsPolicy());
+
+        Duration pollDataCacheTtl = properties.getActiveDomainPollDataCacheTtl();
+        if (pollDataCacheTtl.isZero()) {
+            this.pollDataRefreshExecutor = null;
+            this.pollDataCache = null;
+        } else {
+            this.pollDataRefreshExecutor =
+                    Executors.newSingleThreadExecutor(
+                            new ThreadFactoryBuilder()
+                                    .setNameFormat("poll-data-cache-refresh-%d")
+                                    .setDaemon(true)
+                                    .build());
+            this.pollDataCache =
+                    CacheBuilder.newBuilder()
+                            .refreshAfterWrite(pollDataCacheTtl)
+                            .expireAfterWrite(pollDataCacheTtl.multipliedBy(2))
+                            .build(
+                                    CacheLoader.asyncReloading(
+                                            CacheLoader.from(this::loadPollData),
+                                            pollDataRefreshExecutor));
+        }
+
+        long pollDataFlushInterval = properties.getPollDataFlushInterval().toMillis();
+        if (pollDataFlushInterval == 0) {
+            this.pendingPollData = null;
+            this.pollDataFlushExecutor = null;
+        } else {
+            this.pendingPollData = new ConcurrentHashMap<>();
+            this.pollDataFlushExecutor =
+                    Executors.newSingleThreadScheduledExecutor(
+                            new ThreadFactoryBuilder()
+                                    .setNameFormat("poll-data-flush-%d")
+                                    .setDaemon(true)
+                                    .build());
+            this.pollDataFlushExecutor.scheduleWithFixedDelay(
+                    this::flushPollData,
+                    pollDataFlushInterval,
+                    pollDataFlushInterval,
+                    TimeUnit.MILLISECONDS);
+        }
     }
 
     @PreDestroy
     public void shutdownExecutorService() {
-        try {
-            LOGGER.info("Gracefully shutdown executor service");
-            scheduledThreadPoolExecutor.shutdown();
-            if (scheduledThreadPoolExecutor.awaitTermination(
-                    properties.getAsyncUpdateDelay().getSeconds(), TimeUnit.SECONDS)) {
-                LOGGER.debug("tasks completed, shutting down");
-            } else {
-                LOGGER.warn(
-                        "Forcing shutdown after waiting for {} seconds",
-                        properties.getAsyncUpdateDelay());
-                scheduledThreadPoolExecutor.shutdownNow();
-            }
-        } catch (InterruptedException ie) {
-            LOGGER.warn(
-                    "Shutdown interrupted, invoking shutdownNow on scheduledThreadPoolExecutor for delay queue");
-            scheduledThreadPoolExecutor.shutdownNow();
-            Thread.currentThread().interrupt();
+        LOGGER.info("Gracefully shutdown executor service");
+        if (pollDataRefreshExecutor != null) {
+            pollDataRefreshExecutor.shutdownNow();
+        }
+        if (pollDataFlushExecutor != null) {
+            pollDataFlushExecutor.shutdownNow();
+            flushPollData();
         }
+        delayedWorkflowIndexer.shutdown();
+        searchFetchExecutor.shutdownNow();
     }
 
     public WorkflowModel getWorkflowModel(String workflowId, boolean includeTasks) {
@@ -155,6 +246,98 @@ public class ExecutionDAOFacade {
         return getWorkflowModelFromDataStore(workflowId, includeTasks).toWorkflow();
     }
 
+    /**
+     * Fetches the given workflows, without their tasks. The workflows are read from the {@link
+     * ExecutionDAO} in bulk, in batches fetched in parallel. The ones not found there are read from
+     * the {@link IndexDAO}, as in {@link #getWorkflow(String, boolean)}.
+     *
+     * @param workflowIds the ids of the workflows to be fetched
+     * @return the workflows, in the order of the given ids. Workflows that could not be found or
+     *     read are skipped.
+     */
+    public List<Workflow> getWorkflows(List<String> workflowIds) {
+        List<String> distinctIds = workflowIds.stream().distinct().collect(Collectors.toList());
+        Map<String, WorkflowModel> workflowModels =
+                fetchInBatches(distinctIds, executionDAO::getWorkflows).stream()
+                        .collect(
+                                Collectors.toMap(
+                                        WorkflowModel::getWorkflowId,
+                                        Function.identity(),
+                                        (a, b) -> a,
+                                        ConcurrentHashMap::new));
+
+        List<CompletableFuture<Void>> fallbacks =
+                distinctIds.stream()
+                        .filter(workflowId -> !workflowModels.containsKey(workflowId))
+                        .map(
+                                workflowId ->
+                                        CompletableFuture.runAsync(
+                                                () -> fetchWorkflow(workflowId, workflowModels),
+                                                searchFetchExecutor))
+                        .collect(Collectors.toList());
+        CompletableFuture.allOf(fallbacks.toArray(new CompletableFuture[0])).join();
+
+        return workflowIds.stream()
+                .map(workflowModels::get)
+                .filter(Objects::nonNull)
+                .map(WorkflowModel::toWorkflow)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Fetches the given tasks from the {@link ExecutionDAO} in bulk, in batches fetched in
+     * parallel.
+     *
+     * @param taskIds the ids of the tasks to be fetched
+     * @return the tasks, in the order of the given ids. Tasks that could not be found or read are
+     *     skipped.
+     */
+    public List<Task> getTasks(List<String> taskIds) {
+        List<String> distinctIds = taskIds.stream().distinct().collect(Collectors.toList());
+        Map<String, TaskModel> taskModels =
+                fetchInBatches(distinctIds, executionDAO::getTasks).stream()
+                        .collect(
+                                Collectors.toMap(
+                                        TaskModel::getTaskId, Function.identity(), (a, b) -> a));
+        return taskIds.stream()
+                .map(taskModels::get)
+                .filter(Objects::nonNull)
+                .map(TaskModel::toTask)
+                .collect(Collectors.toList());
+    }
+
+    private void fetchWorkflow(String workflowId, Map<String, WorkflowModel> workflowModels) {
+        try {
+            workflowModels.put(workflowId, getWorkflowModelFromDataStore(workflowId, false));
+        } catch (Exception e) {
+            LOGGER.error("Error fetching workflow by id: {}", workflowId, e);
+        }
+    }
+
+    private <T> List<T> fetchInBatches(List<String> ids, Function<List<String>, List<T>> fetch) {
+        List<CompletableFuture<List<T>>> batches =
+                Lists.partition(ids, SEARCH_FETCH_BATCH_SIZE).stream()
+                        .map(
+                                batch ->
+                                        CompletableFuture.supplyAsync(
+                                                () -> fetchBatch(batch, fetch),
+                                                searchFetchExecutor))
+                        .collect(Collectors.toList());
+        return batches.stream()
+                .map(CompletableFuture::join)
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+
+    private <T> List<T> fetchBatch(List<String> ids, Function<List<String>, List<T>> fetch) {
+        try {
+            return fetch.apply(ids);
+        } catch (Exception e) {
+            LOGGER.error("Error fetching by ids: {}", ids, e);
+            return Collections.emptyList();
+        }
+    }
+
     private WorkflowModel getWorkflowModelFromDataStore(String workflowId, boolean includeTasks) {
         WorkflowModel workflow = executionDAO.getWorkflow(workflowId, includeTasks);
         if (workflow == null) {
@@ -259,11 +442,11 @@ public class ExecutionDAOFacade {
                 workflowModel.getWorkflowId(),
                 workflowModel.getPriority(),
                 properties.getWorkflowOffsetTimeout().getSeconds());
-        if (properties.isAsyncIndexingEnabled()) {
-            indexDAO.asyncIndexWorkflow(new WorkflowSummary(workflowModel.toWorkflow()));
-        } else {
-            indexDAO.indexWorkflow(new WorkflowSummary(workflowModel.toWorkflow()));
-        }
+        incrementalIndexer.indexWorkflow(
+                workflowModel.toWorkflowSummary(),
+                null,
+                workflowModel.getUpdatedTime(),
+                properties.isAsyncIndexingEnabled());
         return workflowModel.getWorkflowId();
     }
 
@@ -288,41 +471,47 @@ public class ExecutionDAOFacade {
      * @return the id of the updated workflow
      */
     public String updateWorkflow(WorkflowModel workflowModel) {
+        Long previousUpdatedTime = workflowModel.getUpdatedTime();
         workflowModel.setUpdatedTime(System.currentTimeMillis());
         if (workflowModel.getStatus().isTerminal()) {
             workflowModel.setEndTime(System.currentTimeMillis());
         }
         externalizeWorkflowData(workflowModel);
         executionDAO.updateWorkflow(workflowModel);
+        WorkflowSummary workflowSummary = workflowModel.toWorkflowSummary();
         if (properties.isAsyncIndexingEnabled()) {
-            if (workflowModel.getStatus().isTerminal()
+            if (delayedWorkflowIndexer.isPending(workflowModel.getWorkflowId())) {
+                LOGGER.debug(
+                        "Workflow: {} will be indexed with its delayed index update",
+                        workflowModel.getWorkflowId());
+                incrementalIndexer.forget(workflowModel.getWorkflowId());
+            } else if (workflowModel.getStatus().isTerminal()
                     && workflowModel.getEndTime() - workflowModel.getCreateTime()
                             < properties.getAsyncUpdateShortRunningWorkflowDuration().toMillis()) {
-                final String workflowId = workflowModel.getWorkflowId();
-                DelayWorkflowUpdate delayWorkflowUpdate = new DelayWorkflowUpdate(workflowId);
                 LOGGER.debug(
                         "Delayed updating workflow: {} in the index by {} seconds",
-                        workflowId,
+                        workflowModel.getWorkflowId(),
                         properties.getAsyncUpdateDelay());
-                scheduledThreadPoolExecutor.schedule(
-                        delayWorkflowUpdate,
-                        properties.getAsyncUpdateDelay().getSeconds(),
-                        TimeUnit.SECONDS);
-                Monitors.recordWorkerQueueSize(
-                        "delayQueue", scheduledThreadPoolExecutor.getQueue().size());
+                delayedWorkflowIndexer.enqueue(workflowSummary);
+                incrementalIndexer.forget(workflowModel.getWorkflowId());
             } else {
-                indexDAO.asyncIndexWorkflow(new WorkflowSummary(workflowModel.toWorkflow()));
+                incrementalIndexer.indexWorkflow(
+                        workflowSummary,
+                        previousUpdatedTime,
+                        workflowModel.getUpdatedTime(),
+                        true);
             }
             if (workflowModel.getStatus().isTerminal()) {
                 workflowModel
                         .getTasks()
                         .forEach(
                                 taskModel ->
-                                        indexDAO.asyncIndexTask(
-                                                new TaskSummary(taskModel.toTask())));
+                                        incrementalIndexer.indexTask(
+                                                taskModel.toTaskSummary(), true));
             }
         } else {
-            indexDAO.indexWorkflow(new WorkflowSummary(workflowModel.toWorkflow()));
+            incrementalIndexer.indexWorkflow(
+                    workflowSummary, previousUpdatedTime, workflowModel.getUpdatedTime(), false);
         }
         return workflowModel.getWorkflowId();
     }
@@ -367,6 +556,8 @@ public class ExecutionDAOFacade {
 
     private void removeWorkflowIndex(WorkflowModel workflow, boolean archiveWorkflow)
             throws JsonProcessingException {
+        delayedWorkflowIndexer.cancel(workflow.getWorkflowId());
+        incrementalIndexer.forget(workflow.getWorkflowId());
         if (archiveWorkflow) {
             if (workflow.getStatus().isTerminal()) {
                 // Only allow archival if workflow is in terminal state
@@ -421,6 +612,8 @@ public class ExecutionDAOFacade {
         try {
             getWorkflowModelFromDataStore(workflowId, true);
             executionDAO.removeWorkflow(workflowId);
+            delayedWorkflowIndexer.cancel(workflowId);
+            incrementalIndexer.forget(workflowId);
             if (properties.isAsyncIndexingEnabled()) {
                 indexDAO.asyncRemoveWorkflow(workflowId);
             } else {
@@ -455,6 +648,120 @@ public class ExecutionDAOFacade {
         return taskModel;
     }
 
+    /**
+     * Fetches the given tasks with a single {@link ExecutionDAO#getTasks(List)} call.
+     *
+     * @param taskIds the ids of the tasks to be fetched
+     * @return the tasks that were found, in no particular order
+     */
+    public List<TaskModel> getTaskModels(List<String> taskIds) {
+        List<TaskModel> taskModels = executionDAO.getTasks(taskIds);
+        taskModels.forEach(this::populateTaskData);
+        return taskModels;
+    }
+
+    /**
+     * Fetches the given task of the given workflow, without the other tasks of the workflow.
+     *
+     * @param workflowId the id of the workflow the task belongs to
+     * @param taskId the id of the task
+     * @return the task, null if it is not found, belongs to another workflow or is terminal
+     */
+    public TaskModel getPendingTaskModel(String workflowId, String taskId) {
+        TaskModel taskModel = getTaskFromDatastore(taskId);
+        if (taskModel == null
+                || !workflowId.equals(taskModel.getWorkflowInstanceId())
+                || taskModel.getStatus().isTerminal()) {
+            return null;
+        }
+        populateTaskData(taskModel);
+        return taskModel;
+    }
+
+    /**
+     * Fetches the non-terminal task of the given workflow with the given reference name, from the
+     * pending tasks of its task definition, as told by the workflow definition, rather than from
+     * all the tasks of the workflow. The tasks of the workflow are read when the task is not found
+     * this way, e.g. for a dynamic task, or when the {@link ExecutionDAO} cannot look up the
+     * pending tasks of a workflow without reading all of them.
+     *
+     * @param workflowId the id of the workflow the task belongs to
+     * @param taskReferenceName the reference name of the task
+     * @return the task, null if it is not found
+     * @throws ApplicationException if the workflow is not found
+     */
+    public TaskModel getPendingTaskModelByRefName(String workflowId, String taskReferenceName) {
+        return getPendingTaskModel(
+                workflowId,
+                workflowDef -> Stream.ofNullable(workflowDef.getTaskByRefName(taskReferenceName)),
+                task -> taskReferenceName.equals(task.getReferenceTaskName()));
+    }
+
+    /**
+     * Fetches the first non-terminal task of the given type of the given workflow, from the
+     * pending tasks of the task definitions of this type in the workflow definition rather than
+     * from all the tasks of the workflow.
+     *
+     * @param workflowId the id of the workflow the task belongs to
+     * @param taskType the type of the task
+     * @return the task, null if it is not found
+     * @throws ApplicationException if the workflow is not found
+     * @see #getPendingTaskModelByRefName(String, String)
+     */
+    public TaskModel getPendingTaskModelByType(String workflowId, String taskType) {
+        return getPendingTaskModel(
+                workflowId,
+                workflowDef ->
+                        workflowDef.collectTasks().stream()
+                                .filter(workflowTask -> taskType.equals(workflowTask.getType())),
+                task -> taskType.equals(task.getTaskType()));
+    }
+
+    private TaskModel getPendingTaskModel(
+            String workflowId,
+            Function<WorkflowDef, Stream<WorkflowTask>> workflowTasks,
+            Predicate<TaskModel> filter) {
+        Comparator<TaskModel> bySeq = Comparator.comparingInt(TaskModel::getSeq);
+        TaskModel taskModel = null;
+        if (executionDAO.canGetPendingTasksByWorkflow()) {
+            WorkflowModel workflow = getWorkflowModelFromDataStore(workflowId, false);
+            // system tasks are indexed by their type unless they were given a task definition
+            Set<String> taskDefNames =
+                    Optional.ofNullable(workflow.getWorkflowDefinition()).stream()
+                            .flatMap(workflowTasks)
+                            .flatMap(task -> Stream.of(task.getName(), task.getType()))
+                            .filter(Objects::nonNull)
+                            .collect(Collectors.toCollection(LinkedHashSet::new));
+            taskModel =
+                    taskDefNames.stream()
+                            .flatMap(
+                                    taskDefName ->
+                                            executionDAO
+                                                    .getPendingTasksByWorkflow(
+                                                            taskDefName, workflowId)
+                                                    .stream())
+                            .filter(task -> !task.getStatus().isTerminal())
+                            .filter(filter)
+                            .min(bySeq)
+                            .orElse(null);
+            if (taskModel == null) {
+                Monitors.recordPendingTaskLookupFallback();
+            }
+        }
+        if (taskModel == null) {
+            taskModel =
+                    executionDAO.getTasksForWorkflow(workflowId).stream()
+                            .filter(task -> !task.getStatus().isTerminal())
+                            .filter(filter)
+                            .min(bySeq)
+                            .orElse(null);
+        }
+        if (taskModel != null) {
+            populateTaskData(taskModel);
+        }
+        return taskModel;
+    }
+
     public Task getTask(String taskId) {
         TaskModel taskModel = getTaskFromDatastore(taskId);
         if (taskModel != null) {
@@ -493,26 +800,9 @@ public class ExecutionDAOFacade {
      */
     public void updateTask(TaskModel taskModel) {
         try {
-            if (taskModel.getStatus() != null) {
-                if (!taskModel.getStatus().isTerminal()
-                        || (taskModel.getStatus().isTerminal() && taskModel.getUpdateTime() == 0)) {
-                    taskModel.setUpdateTime(System.currentTimeMillis());
-                }
-                if (taskModel.getStatus().isTerminal() && taskModel.getEndTime() == 0) {
-                    taskModel.setEndTime(System.currentTimeMillis());
-                }
-            }
-            externalizeTaskData(taskModel);
+            prepareTaskUpdate(taskModel);
             executionDAO.updateTask(taskModel);
-            /*
-             * Indexing a task for every update adds a lot of volume. That is ok but if async indexing
-             * is enabled and tasks are stored in memory until a block has completed, we would lose a lot
-             * of tasks on a system failure. So only index for each update if async indexing is not enabled.
-             * If it *is* enabled, tasks will be indexed only when a workflow is in terminal state.
-             */
-            if (!properties.isAsyncIndexingEnabled()) {
-                indexDAO.indexTask(new TaskSummary(taskModel.toTask()));
-            }
+            indexTaskUpdate(taskModel);
         } catch (Exception e) {
             String errorMsg =
                     String.format(
@@ -523,8 +813,56 @@ public class ExecutionDAOFacade {
         }
     }
 
+    /**
+     * Same as {@link #updateTask(TaskModel)} for each of the given tasks, except that the tasks are
+     * written to the {@link ExecutionDAO} with a single {@link ExecutionDAO#updateTasks(List)}
+     * call.
+     *
+     * @param tasks the tasks to be updated in the data store
+     * @throws ApplicationException if the dao operations fail
+     */
     public void updateTasks(List<TaskModel> tasks) {
-        tasks.forEach(this::updateTask);
+        if (tasks.isEmpty()) {
+            return;
+        }
+        try {
+            tasks.forEach(this::prepareTaskUpdate);
+            executionDAO.updateTasks(tasks);
+            tasks.forEach(this::indexTaskUpdate);
+        } catch (Exception e) {
+            String errorMsg =
+                    String.format(
+                            "Error updating tasks: %s in workflow: %s",
+                            tasks.stream().map(TaskModel::getTaskId).collect(Collectors.toList()),
+                            tasks.get(0).getWorkflowInstanceId());
+            LOGGER.error(errorMsg, e);
+            throw new ApplicationException(ApplicationException.Code.BACKEND_ERROR, errorMsg, e);
+        }
+    }
+
+    private void prepareTaskUpdate(TaskModel taskModel) {
+        if (taskModel.getStatus() != null) {
+            if (!taskModel.getStatus().isTerminal()
+                    || (taskModel.getStatus().isTerminal() && taskModel.getUpdateTime() == 0)) {
+                taskModel.setUpdateTime(System.currentTimeMillis());
+            }
+            if (taskModel.getStatus().isTerminal() && taskModel.getEndTime() == 0) {
+                taskModel.setEndTime(System.currentTimeMillis());
+            }
+        }
+        externalizeTaskData(taskModel);
+    }
+
+    private void indexTaskUpdate(TaskModel taskModel) {
+        /*
+         * Indexing a task for every update adds a lot of volume. That is ok but if async indexing
+         * is enabled and tasks are stored in memory until a block has completed, we would lose a lot
+         * of tasks on a system failure. So only index for each update if async indexing is not enabled.
+         * If it *is* enabled, tasks will be indexed only when a workflow is in terminal state.
+         */
+        if (!properties.isAsyncIndexingEnabled()) {
+            incrementalIndexer.indexTask(taskModel.toTaskSummary(), false);
+        }
     }
 
     public void removeTask(String taskId) {
@@ -532,16 +870,37 @@ public class ExecutionDAOFacade {
     }
 
     public List<PollData> getTaskPollData(String taskName) {
-        return pollDataDAO.getPollData(taskName);
+        return withPendingPollData(pollDataDAO.getPollData(taskName), taskName);
     }
 
     public List<PollData> getAllPollData() {
-        return pollDataDAO.getAllPollData();
+        return withPendingPollData(pollDataDAO.getAllPollData(), null);
     }
 
+    /**
+     * Used to find the active domain of a task being scheduled. When {@link
+     * ConductorProperties#getActiveDomainPollDataCacheTtl()} is set, the poll data is served from
+     * an in-memory cache that is refreshed asynchronously.
+     */
     public PollData getTaskPollDataByDomain(String taskName, String domain) {
+        ImmutablePair<String, String> key = ImmutablePair.of(taskName, domain);
+        PollData pendingPoll = pendingPollData != null ? pendingPollData.get(key) : null;
+        if (pendingPoll != null) {
+            return pendingPoll;
+        }
         try {
-            return pollDataDAO.getPollData(taskName, domain);
+            if (pollDataCache == null) {
+                return pollDataDAO.getPollData(taskName, domain);
+            }
+            CachedPollData cachedPollData = pollDataCache.getIfPresent(key);
+            if (cachedPollData != null) {
+                Monitors.recordPollDataCacheHit(
+                        System.currentTimeMillis() - cachedPollData.loadedAt);
+            } else {
+                Monitors.recordPollDataCacheMiss();
+                cachedPollData = pollDataCache.getUnchecked(key);
+            }
+            return cachedPollData.pollData.orElse(null);
         } catch (Exception e) {
             LOGGER.error(
                     "Error fetching pollData for task: '{}', domain: '{}'", taskName, domain, e);
@@ -549,20 +908,79 @@ public class ExecutionDAOFacade {
         }
     }
 
+    private CachedPollData loadPollData(ImmutablePair<String, String> key) {
+        return new CachedPollData(pollDataDAO.getPollData(key.getLeft(), key.getRight()));
+    }
+
+    /**
+     * Records the last poll of a task queue. When {@link
+     * ConductorProperties#getPollDataFlushInterval()} is set, the poll is kept in memory and only
+     * the latest poll of each task name and domain is written to the datastore on the next flush.
+     */
     public void updateTaskLastPoll(String taskName, String domain, String workerId) {
+        PollData pollData = new PollData(taskName, domain, workerId, System.currentTimeMillis());
+        if (pendingPollData != null) {
+            pendingPollData.put(ImmutablePair.of(taskName, domain), pollData);
+            return;
+        }
+        writeLastPollData(pollData);
+    }
+
+    /** Writes the given poll with the time it was recorded at, not the time of the write. */
+    private void writeLastPollData(PollData pollData) {
         try {
-            pollDataDAO.updateLastPollData(taskName, domain, workerId);
+            pollDataDAO.updateLastPollData(pollData);
         } catch (Exception e) {
             LOGGER.error(
                     "Error updating PollData for task: {} in domain: {} from worker: {}",
-                    taskName,
-                    domain,
-                    workerId,
+                    pollData.getQueueName(),
+                    pollData.getDomain(),
+                    pollData.getWorkerId(),
                     e);
             Monitors.error(this.getClass().getCanonicalName(), "updateTaskLastPoll");
         }
     }
 
+    @VisibleForTesting
+    void flushPollData() {
+        List<PollData> polls = new ArrayList<>();
+        pendingPollData
+                .keySet()
+                .forEach(
+                        key -> {
+                            PollData pollData = pendingPollData.remove(key);
+                            if (pollData != null) {
+                                polls.add(pollData);
+                            }
+                        });
+        polls.forEach(this::writeLastPollData);
+        Monitors.recordPollDataFlushSize(polls.size());
+    }
+
+    /**
+     * Overlays the polls not yet written to the datastore on the given poll data.
+     *
+     * @param taskName the task name of the poll data, null for all the task names
+     */
+    private List<PollData> withPendingPollData(List<PollData> pollDataList, String taskName) {
+        if (pendingPollData == null || pendingPollData.isEmpty()) {
+            return pollDataList;
+        }
+        Map<ImmutablePair<String, String>, PollData> merged = new LinkedHashMap<>();
+        pollDataList.forEach(
+                pollData ->
+                        merged.put(
+                                ImmutablePair.of(pollData.getQueueName(), pollData.getDomain()),
+                                pollData));
+        pendingPollData.forEach(
+                (key, pollData) -> {
+                    if (taskName == null || taskName.equals(key.getLeft())) {
+                        merged.put(key, pollData);
+                    }
+                });
+        return new ArrayList<>(merged.values());
+    }
+
     /**
      * Save the {@link EventExecution} to the data store Saves to {@link ExecutionDAO} first, if
      * this succeeds then saves to the {@link IndexDAO}.
@@ -635,6 +1053,16 @@ public class ExecutionDAOFacade {
         return indexDAO.searchTasks(query, freeText, start, count, sort);
     }
 
+    public ScrollSearchResult<String> scrollWorkflows(
+            String query, String freeText, String continuationToken, int count, List<String> sort) {
+        return indexDAO.scrollWorkflows(query, freeText, continuationToken, count, sort);
+    }
+
+    public ScrollSearchResult<String> scrollTasks(
+            String query, String freeText, String continuationToken, int count, List<String> sort) {
+        return indexDAO.scrollTasks(query, freeText, continuationToken, count, sort);
+    }
+
     public List<TaskExecLog> getTaskExecutionLogs(String taskId) {
         return properties.isTaskExecLogIndexingEnabled()
                 ? indexDAO.getTaskExecutionLogs(taskId)
@@ -698,22 +1126,13 @@ public class ExecutionDAOFacade {
         }
     }
 
-    class DelayWorkflowUpdate implements Runnable {
+    private static class CachedPollData {
 
-        private final String workflowId;
+        private final Optional<PollData> pollData;
+        private final long loadedAt = System.currentTimeMillis();
 
-        DelayWorkflowUpdate(String workflowId) {
-            this.workflowId = workflowId;
-        }
-
-        @Override
-        public void run() {
-            try {
-                WorkflowModel workflowModel = executionDAO.getWorkflow(workflowId, false);
-                indexDAO.asyncIndexWorkflow(new WorkflowSummary(workflowModel.toWorkflow()));
-            } catch (Exception e) {
-                LOGGER.error("Unable to update workflow: {}", workflowId, e);
-            }
+        CachedPollData(PollData pollData) {
+            this.pollData = Optional.ofNullable(pollData);
         }
     }
 }
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.dal;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.netflix.conductor.common.run.TaskSummary;
+import com.netflix.conductor.common.run.WorkflowSummary;
+import com.netflix.conductor.dao.IndexDAO;
+import com.netflix.conductor.metrics.Monitors;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Remembers the last indexed summary of the recently indexed workflows and tasks, so that the
+ * following index requests only update the fields of a workflow that changed, and skip the tasks
+ * that did not change.
+ *
+ * <p>A workflow is only updated partially if this instance indexed its previous update, as told by
+ * the update time stored with the workflow; otherwise, or if a field was cleared, its whole summary
+ * is indexed. Partial updates are upserts of the whole summary, since the index may have failed to
+ * index it without telling. Summaries are only remembered once their index request succeeded, so
+ * workflows indexed whole and tasks only when they are indexed asynchronously, since only {@link
+ * IndexDAO#asyncIndexWorkflow(WorkflowSummary)} and {@link IndexDAO#asyncIndexTask(TaskSummary)}
+ * tell whether they were. With a cache size of 0, every summary is indexed whole.
+ */
+class IncrementalIndexer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IncrementalIndexer.class);
+
+    private static final TypeReference<Map<String, Object>> FIELDS_TYPE =
+            new TypeReference<Map<String, Object>>() {};
+
+    private final IndexDAO indexDAO;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Cache<String, IndexedWorkflow> indexedWorkflows;
+    private final Cache<String, Integer> indexedTasks;
+
+    IncrementalIndexer(IndexDAO indexDAO, ObjectMapper objectMapper, int cacheSize) {
+        this.indexDAO = indexDAO;
+        this.objectMapper = objectMapper;
+        this.enabled = cacheSize > 0;
+        this.indexedWorkflows = CacheBuilder.newBuilder().maximumSize(cacheSize).build();
+        this.indexedTasks = CacheBuilder.newBuilder().maximumSize(cacheSize).build();
+    }
+
+    /**
+     * Indexes the changes of the given workflow since it was last indexed by this instance.
+     *
+     * @param workflowSummary the summary of the workflow
+     * @param previousUpdatedTime the update time of the workflow before this update, null if it is
+     *     being created
+     * @param updatedTime the update time of the workflow with this update
+     * @param async whether to index asynchronously
+     */
+    void indexWorkflow(
+            WorkflowSummary workflowSummary,
+            Long previousUpdatedTime,
+            Long updatedTime,
+            boolean async) {
+        if (!enabled) {
+            if (async) {
+                indexDAO.asyncIndexWorkflow(workflowSummary);
+            } else {
+                indexDAO.indexWorkflow(workflowSummary);
+            }
+            return;
+        }
+        String workflowId = workflowSummary.getWorkflowId();
+        Map<String, Object> fields = objectMapper.convertValue(workflowSummary, FIELDS_TYPE);
+        IndexedWorkflow indexed = indexedWorkflows.getIfPresent(workflowId);
+        Map<String, Object> changes = null;
+        if (indexed != null && Objects.equals(indexed.updatedTime, previousUpdatedTime)) {
+            changes = getChanges(indexed.fields, fields);
+        }
+        indexedWorkflows.invalidate(workflowId);
+
+        CompletableFuture<Void> future;
+        if (changes == null) {
+            Monitors.recordIncrementalIndex("workflow", "full");
+            if (!async) {
+                indexDAO.indexWorkflow(workflowSummary);
+                return;
+            }
+            future = indexDAO.asyncIndexWorkflow(workflowSummary);
+        } else if (changes.isEmpty()) {
+            Monitors.recordIncrementalIndex("workflow", "skipped");
+            future = CompletableFuture.completedFuture(null);
+        } else {
+            Monitors.recordIncrementalIndex("workflow", "partial");
+            String[] keys = changes.keySet().toArray(new String[0]);
+            Object[] values = changes.values().toArray();
+            future =
+                    async
+                            ? indexDAO.asyncUpsertWorkflow(workflowSummary, keys, values)
+                            : run(() -> indexDAO.upsertWorkflow(workflowSummary, keys, values));
+        }
+        future.thenRun(
+                () -> indexedWorkflows.put(workflowId, new IndexedWorkflow(updatedTime, fields)));
+    }
+
+    /**
+     * Indexes the given task, unless it is indexed asynchronously and its summary did not change
+     * since it was last indexed by this instance.
+     */
+    void indexTask(TaskSummary taskSummary, boolean async) {
+        if (!enabled || !async) {
+            indexedTasks.invalidate(taskSummary.getTaskId());
+            if (async) {
+                indexDAO.asyncIndexTask(taskSummary);
+            } else {
+                indexDAO.indexTask(taskSummary);
+            }
+            return;
+        }
+        String taskId = taskSummary.getTaskId();
+        int fingerprint = objectMapper.convertValue(taskSummary, FIELDS_TYPE).hashCode();
+        Integer indexed = indexedTasks.getIfPresent(taskId);
+        if (indexed != null && indexed == fingerprint) {
+            Monitors.recordIncrementalIndex("task", "skipped");
+            return;
+        }
+        indexedTasks.invalidate(taskId);
+
+        Monitors.recordIncrementalIndex("task", "full");
+        indexDAO.asyncIndexTask(taskSummary)
+                .thenRun(() -> indexedTasks.put(taskId, fingerprint));
+    }
+
+    /** Forgets the given workflow, whose next update will be indexed whole. */
+    void forget(String workflowId) {
+        indexedWorkflows.invalidate(workflowId);
+    }
+
+    @VisibleForTesting
+    boolean isIndexed(String id) {
+        return indexedWorkflows.getIfPresent(id) != null || indexedTasks.getIfPresent(id) != null;
+    }
+
+    /**
+     * @return the fields that changed from {@literal previous} to {@literal current}, null if a
+     *     field was cleared, which partial updates cannot express
+     */
+    private static Map<String, Object> getChanges(
+            Map<String, Object> previous, Map<String, Object> current) {
+        if (!current.keySet().containsAll(previous.keySet())) {
+            return null;
+        }
+        Map<String, Object> changes = new LinkedHashMap<>();
+        current.forEach(
+                (field, value) -> {
+                    if (!Objects.equals(previous.get(field), value)) {
+                        changes.put(field, value);
+                    }
+                });
+        return changes;
+    }
+
+    /**
+     * Runs a synchronous update request, whose failure is logged rather than thrown, as the
+     * asynchronous ones.
+     */
+    private static CompletableFuture<Void> run(Runnable request) {
+        try {
+            request.run();
+            return CompletableFuture.completedFuture(null);
+        } catch (Exception e) {
+            LOGGER.error("Failed to index workflow", e);
+            Monitors.error(IncrementalIndexer.class.getSimpleName(), "indexWorkflow");
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static class IndexedWorkflow {
+
+        private final Long updatedTime;
+        private final Map<String, Object> fields;
+
+        IndexedWorkflow(Long updatedTime, Map<String, Object> fields) {
+            this.updatedTime = updatedTime;
+            this.fields = fields;
+        }
+    }
+}
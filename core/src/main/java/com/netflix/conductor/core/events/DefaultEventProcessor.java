@@ -14,12 +14,19 @@ package com.netflix.conductor.core.events;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -52,6 +59,11 @@ import com.spotify.futures.CompletableFutures;
  * events to the event queues.
  *
  * <p><code>Set conductor.default-event-processor.enabled=false</code> to disable event processing.
+ *
+ * <p>By default, the messages of a queue are processed one at a time, on the thread that polls the
+ * queue. With <code>conductor.app.event-processor-max-in-flight-messages</code> set, they are
+ * processed concurrently on a separate executor instead, up to that many per queue, and acked in
+ * batches.
  */
 @Component
 @ConditionalOnProperty(
@@ -62,12 +74,18 @@ public class DefaultEventProcessor {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultEventProcessor.class);
     private static final int RETRY_COUNT = 3;
+    private static final long ACK_FLUSH_INTERVAL_MS = 1_000;
 
     private final MetadataService metadataService;
     private final ExecutionService executionService;
     private final ActionProcessor actionProcessor;
 
     private final ExecutorService eventActionExecutorService;
+    private final ExecutorService eventMessageExecutorService;
+    private final ScheduledExecutorService ackFlushExecutorService;
+    private final int maxInFlightMessages;
+    private final int ackBatchSize;
+    private final Map<String, InFlightMessages> inFlightMessagesByEvent = new ConcurrentHashMap<>();
     private final ObjectMapper objectMapper;
     private final JsonUtils jsonUtils;
     private final boolean isEventMessageIndexingEnabled;
@@ -100,10 +118,39 @@ public class DefaultEventProcessor {
                         properties.getEventProcessorThreadCount(), threadFactory);
 
         this.isEventMessageIndexingEnabled = properties.isEventMessageIndexingEnabled();
+
+        this.maxInFlightMessages = properties.getEventProcessorMaxInFlightMessages();
+        this.ackBatchSize = Math.max(1, properties.getEventProcessorAckBatchSize());
+        if (maxInFlightMessages > 0) {
+            eventMessageExecutorService =
+                    Executors.newFixedThreadPool(
+                            properties.getEventProcessorThreadCount(),
+                            new ThreadFactoryBuilder()
+                                    .setNameFormat("event-message-executor-thread-%d")
+                                    .build());
+            ackFlushExecutorService =
+                    Executors.newSingleThreadScheduledExecutor(
+                            new ThreadFactoryBuilder()
+                                    .setNameFormat("event-ack-flusher")
+                                    .setDaemon(true)
+                                    .build());
+            ackFlushExecutorService.scheduleWithFixedDelay(
+                    this::flushAcks,
+                    ACK_FLUSH_INTERVAL_MS,
+                    ACK_FLUSH_INTERVAL_MS,
+                    TimeUnit.MILLISECONDS);
+        } else {
+            eventMessageExecutorService = null;
+            ackFlushExecutorService = null;
+        }
         LOGGER.info("Event Processing is ENABLED");
     }
 
     public void handle(ObservableQueue queue, Message msg) {
+        if (maxInFlightMessages > 0) {
+            dispatch(queue, msg);
+            return;
+        }
         List<EventExecution> transientFailures = null;
         Boolean executionFailed = false;
         try {
@@ -142,61 +189,104 @@ public class DefaultEventProcessor {
     protected List<EventExecution> executeEvent(String event, Message msg) throws Exception {
         List<EventHandler> eventHandlerList = metadataService.getEventHandlersForEvent(event, true);
         Object payloadObject = getPayloadObject(msg.getPayload());
+        // the conditions expand the payload in place, the actions are given a copy of it
+        Object conditionPayloadObject = copyPayloadObject(payloadObject);
 
         List<EventExecution> transientFailures = new ArrayList<>();
         for (EventHandler eventHandler : eventHandlerList) {
-            String condition = eventHandler.getCondition();
-            String evaluatorType = eventHandler.getEvaluatorType();
-            // Set default to true so that if condition is not specified, it falls through
-            // to process the event.
-            Boolean success = true;
-            if (StringUtils.isNotEmpty(condition) && evaluators.get(evaluatorType) != null) {
-                Object result =
-                        evaluators
-                                .get(evaluatorType)
-                                .evaluate(condition, jsonUtils.expand(payloadObject));
-                success = ScriptEvaluator.toBoolean(result);
-            } else if (StringUtils.isNotEmpty(condition)) {
-                LOGGER.debug("Checking condition: {} for event: {}", condition, event);
-                success = ScriptEvaluator.evalBool(condition, jsonUtils.expand(payloadObject));
+            if (isConditionMet(event, eventHandler, msg, conditionPayloadObject)) {
+                executeActions(eventHandler, msg, payloadObject, transientFailures).get();
             }
+        }
+        return processTransientFailures(transientFailures);
+    }
 
-            if (!success) {
-                String id = msg.getId() + "_" + 0;
-                EventExecution eventExecution = new EventExecution(id, msg.getId());
-                eventExecution.setCreated(System.currentTimeMillis());
-                eventExecution.setEvent(eventHandler.getEvent());
-                eventExecution.setName(eventHandler.getName());
-                eventExecution.setStatus(Status.SKIPPED);
-                eventExecution.getOutput().put("msg", msg.getPayload());
-                eventExecution.getOutput().put("condition", condition);
-                executionService.addEventExecution(eventExecution);
-                LOGGER.debug(
-                        "Condition: {} not successful for event: {} with payload: {}",
-                        condition,
-                        eventHandler.getEvent(),
-                        msg.getPayload());
-                continue;
+    /**
+     * Executes the actions of all the event handlers triggered by the {@link Message} concurrently,
+     * see {@link #executeEvent(String, Message)}.
+     */
+    private CompletableFuture<List<EventExecution>> executeEventAsync(String event, Message msg)
+            throws Exception {
+        List<EventHandler> eventHandlerList = metadataService.getEventHandlersForEvent(event, true);
+        Object payloadObject = getPayloadObject(msg.getPayload());
+        Object conditionPayloadObject = copyPayloadObject(payloadObject);
+
+        List<EventExecution> transientFailures = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<List<EventExecution>>> futures = new ArrayList<>();
+        for (EventHandler eventHandler : eventHandlerList) {
+            if (isConditionMet(event, eventHandler, msg, conditionPayloadObject)) {
+                futures.add(executeActions(eventHandler, msg, payloadObject, transientFailures));
             }
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(v -> processTransientFailures(transientFailures));
+    }
 
-            CompletableFuture<List<EventExecution>> future =
-                    executeActionsForEventHandler(eventHandler, msg);
-            future.whenComplete(
-                            (result, error) ->
-                                    result.forEach(
-                                            eventExecution -> {
-                                                if (error != null
-                                                        || eventExecution.getStatus()
-                                                                == Status.IN_PROGRESS) {
-                                                    transientFailures.add(eventExecution);
-                                                } else {
-                                                    executionService.updateEventExecution(
-                                                            eventExecution);
-                                                }
-                                            }))
-                    .get();
+    /**
+     * Evaluates the condition of the event handler, and records the event execution as skipped if
+     * it is not met.
+     */
+    private boolean isConditionMet(
+            String event, EventHandler eventHandler, Message msg, Object payloadObject)
+            throws Exception {
+        String condition = eventHandler.getCondition();
+        String evaluatorType = eventHandler.getEvaluatorType();
+        // Set default to true so that if condition is not specified, it falls through
+        // to process the event.
+        Boolean success = true;
+        if (StringUtils.isNotEmpty(condition) && evaluators.get(evaluatorType) != null) {
+            Object result =
+                    evaluators
+                            .get(evaluatorType)
+                            .evaluate(condition, jsonUtils.expand(payloadObject));
+            success = ScriptEvaluator.toBoolean(result);
+        } else if (StringUtils.isNotEmpty(condition)) {
+            LOGGER.debug("Checking condition: {} for event: {}", condition, event);
+            success = ScriptEvaluator.evalBool(condition, jsonUtils.expand(payloadObject));
         }
-        return processTransientFailures(transientFailures);
+
+        if (!success) {
+            String id = msg.getId() + "_" + 0;
+            EventExecution eventExecution = new EventExecution(id, msg.getId());
+            eventExecution.setCreated(System.currentTimeMillis());
+            eventExecution.setEvent(eventHandler.getEvent());
+            eventExecution.setName(eventHandler.getName());
+            eventExecution.setStatus(Status.SKIPPED);
+            eventExecution.getOutput().put("msg", msg.getPayload());
+            eventExecution.getOutput().put("condition", condition);
+            executionService.addEventExecution(eventExecution);
+            LOGGER.debug(
+                    "Condition: {} not successful for event: {} with payload: {}",
+                    condition,
+                    eventHandler.getEvent(),
+                    msg.getPayload());
+        }
+        return success;
+    }
+
+    /**
+     * Executes the actions of the event handler, and records the event executions that did not
+     * fail with a transient error.
+     */
+    private CompletableFuture<List<EventExecution>> executeActions(
+            EventHandler eventHandler,
+            Message msg,
+            Object payloadObject,
+            List<EventExecution> transientFailures) {
+        return executeActionsForEventHandler(eventHandler, msg, payloadObject)
+                .whenComplete(
+                        (result, error) ->
+                                result.forEach(
+                                        eventExecution -> {
+                                            if (error != null
+                                                    || eventExecution.getStatus()
+                                                            == Status.IN_PROGRESS) {
+                                                transientFailures.add(eventExecution);
+                                            } else {
+                                                executionService.updateEventExecution(
+                                                        eventExecution);
+                                            }
+                                        }));
     }
 
     /**
@@ -213,11 +303,12 @@ public class DefaultEventProcessor {
     /**
      * @param eventHandler the {@link EventHandler} for which the actions are to be executed
      * @param msg the {@link Message} that triggered the event
+     * @param payloadObject the parsed payload of the message, copied for each action
      * @return a {@link CompletableFuture} holding a list of {@link EventExecution}s for the {@link
      *     Action}s executed in the event handler
      */
     protected CompletableFuture<List<EventExecution>> executeActionsForEventHandler(
-            EventHandler eventHandler, Message msg) {
+            EventHandler eventHandler, Message msg, Object payloadObject) {
         List<CompletableFuture<EventExecution>> futuresList = new ArrayList<>();
         int i = 0;
         for (Action action : eventHandler.getActions()) {
@@ -235,7 +326,7 @@ public class DefaultEventProcessor {
                                         execute(
                                                 eventExecution,
                                                 action,
-                                                getPayloadObject(msg.getPayload())),
+                                                copyPayloadObject(payloadObject)),
                                 eventActionExecutorService));
             } else {
                 LOGGER.warn("Duplicate delivery/execution of message: {}", msg.getId());
@@ -336,4 +427,136 @@ public class DefaultEventProcessor {
         }
         return payloadObject;
     }
+
+    /**
+     * @return a copy of the maps and lists of the parsed payload, which is cheaper than parsing it
+     *     again and can be expanded without affecting the payload
+     */
+    @SuppressWarnings("unchecked")
+    private static Object copyPayloadObject(Object payloadObject) {
+        if (payloadObject instanceof Map) {
+            Map<String, Object> copy = new LinkedHashMap<>();
+            ((Map<String, Object>) payloadObject)
+                    .forEach((key, value) -> copy.put(key, copyPayloadObject(value)));
+            return copy;
+        } else if (payloadObject instanceof List) {
+            List<Object> copy = new ArrayList<>();
+            ((List<Object>) payloadObject).forEach(value -> copy.add(copyPayloadObject(value)));
+            return copy;
+        }
+        return payloadObject;
+    }
+
+    /**
+     * Processes the message on the message executor, once fewer than the maximum number of
+     * messages of its queue are in flight, blocking the polling thread until then.
+     */
+    private void dispatch(ObservableQueue queue, Message msg) {
+        String event = queue.getType() + ":" + queue.getName();
+        InFlightMessages inFlightMessages =
+                inFlightMessagesByEvent.computeIfAbsent(event, e -> new InFlightMessages(queue));
+        try {
+            inFlightMessages.permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn("Interrupted before handling message: {} on queue: {}", msg, event);
+            return;
+        }
+        CompletableFuture.supplyAsync(
+                        () -> {
+                            try {
+                                if (isEventMessageIndexingEnabled) {
+                                    executionService.addMessage(queue.getName(), msg);
+                                }
+                                LOGGER.debug(
+                                        "Evaluating message: {} for event: {}", msg.getId(), event);
+                                return executeEventAsync(event, msg);
+                            } catch (Exception e) {
+                                throw new CompletionException(e);
+                            }
+                        },
+                        eventMessageExecutorService)
+                .thenCompose(Function.identity())
+                .whenComplete(
+                        (transientFailures, error) -> {
+                            inFlightMessages.permits.release();
+                            if (error != null) {
+                                LOGGER.error(
+                                        "Error handling message: {} on queue:{}",
+                                        msg,
+                                        queue.getName(),
+                                        error);
+                                Monitors.recordEventQueueMessagesError(
+                                        queue.getType(), queue.getName());
+                            }
+                            if (error != null || CollectionUtils.isEmpty(transientFailures)) {
+                                inFlightMessages.ack(msg);
+                            } else if (queue.rePublishIfNoAck()) {
+                                // re-submit this message to the queue, to be retried later
+                                queue.publish(Collections.singletonList(msg));
+                                LOGGER.debug(
+                                        "Message: {} published to queue: {}",
+                                        msg.getId(),
+                                        queue.getName());
+                            }
+                            Monitors.recordEventQueueMessagesHandled(
+                                    queue.getType(), queue.getName());
+                        });
+    }
+
+    private void flushAcks() {
+        inFlightMessagesByEvent.forEach(
+                (event, inFlightMessages) -> {
+                    try {
+                        inFlightMessages.flushAcks();
+                    } catch (Exception e) {
+                        LOGGER.error("Unable to ack messages of event: {}", event, e);
+                    }
+                });
+    }
+
+    /** The messages of a queue being processed, and the processed ones yet to be acked. */
+    private class InFlightMessages {
+
+        private final ObservableQueue queue;
+        private final Semaphore permits = new Semaphore(maxInFlightMessages);
+        private List<Message> pendingAcks = new ArrayList<>();
+
+        InFlightMessages(ObservableQueue queue) {
+            this.queue = queue;
+        }
+
+        /** Acks the message with the next batch, sent once full or once the queue is idle. */
+        void ack(Message msg) {
+            List<Message> acks = null;
+            synchronized (this) {
+                pendingAcks.add(msg);
+                if (pendingAcks.size() >= ackBatchSize
+                        || permits.availablePermits() == maxInFlightMessages) {
+                    acks = pendingAcks;
+                    pendingAcks = new ArrayList<>();
+                }
+            }
+            if (acks != null) {
+                sendAcks(acks);
+            }
+        }
+
+        void flushAcks() {
+            List<Message> acks;
+            synchronized (this) {
+                if (pendingAcks.isEmpty()) {
+                    return;
+                }
+                acks = pendingAcks;
+                pendingAcks = new ArrayList<>();
+            }
+            sendAcks(acks);
+        }
+
+        private void sendAcks(List<Message> acks) {
+            queue.ack(acks);
+            LOGGER.debug("{} messages acked on queue: {}", acks.size(), queue.getName());
+        }
+    }
 }
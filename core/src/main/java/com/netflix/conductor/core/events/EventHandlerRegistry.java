@@ -0,0 +1,202 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.events;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.netflix.conductor.common.metadata.events.EventHandler;
+import com.netflix.conductor.core.execution.evaluators.JavascriptEvaluator;
+import com.netflix.conductor.dao.EventHandlerDAO;
+import com.netflix.conductor.metrics.Monitors;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Finds the event handlers of an event in memory rather than in the datastore, from all the event
+ * handlers loaded at once.
+ *
+ * <p>The handlers are reloaded on the next lookup after they were changed through this instance,
+ * see {@link #invalidate()}, and periodically to pick up the changes made through other instances.
+ * A load that started before a change is discarded. The JavaScript conditions of the active
+ * handlers are compiled when they are loaded.
+ *
+ * <p>Only one lookup loads the handlers when they are missing, the concurrent lookups wait for its
+ * result. The handlers are loaded without holding any lock, so that lookups never wait on the
+ * compilation of the conditions of another load, e.g. one of the periodic refreshes.
+ *
+ * <p>With a refresh interval of 0, the handlers are read from the datastore for every lookup.
+ */
+public class EventHandlerRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventHandlerRegistry.class);
+
+    private final EventHandlerDAO eventHandlerDAO;
+    private final boolean enabled;
+
+    /** Incremented whenever the event handlers change. */
+    private final AtomicLong version = new AtomicLong();
+
+    /** The event handlers by event, null or stale until they are loaded again. */
+    private volatile Snapshot snapshot;
+
+    /** The load of the lookup that found the event handlers missing, null if there is none. */
+    private final AtomicReference<CompletableFuture<Snapshot>> pendingLoad =
+            new AtomicReference<>();
+
+    public EventHandlerRegistry(EventHandlerDAO eventHandlerDAO, Duration refreshInterval) {
+        this.eventHandlerDAO = eventHandlerDAO;
+        this.enabled = !refreshInterval.isZero();
+        if (enabled) {
+            ScheduledExecutorService refreshExecutor =
+                    Executors.newSingleThreadScheduledExecutor(
+                            new ThreadFactoryBuilder()
+                                    .setNameFormat("event-handler-registry-refresh")
+                                    .setDaemon(true)
+                                    .build());
+            refreshExecutor.scheduleWithFixedDelay(
+                    this::refresh,
+                    refreshInterval.toMillis(),
+                    refreshInterval.toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * @param event name of the event
+     * @param activeOnly if true, returns only the active handlers
+     * @return the event handlers of the event
+     */
+    public List<EventHandler> getEventHandlersForEvent(String event, boolean activeOnly) {
+        if (!enabled) {
+            return eventHandlerDAO.getEventHandlersForEvent(event, activeOnly);
+        }
+        Snapshot current = snapshot;
+        if (isStale(current)) {
+            current = loadIfStale();
+        }
+        Map<String, List<EventHandler>> eventHandlers =
+                activeOnly ? current.activeEventHandlers : current.eventHandlers;
+        return Collections.unmodifiableList(
+                eventHandlers.getOrDefault(event, Collections.emptyList()));
+    }
+
+    /** Has the event handlers loaded again on the next lookup, once they were changed. */
+    public void invalidate() {
+        version.incrementAndGet();
+        snapshot = null;
+    }
+
+    private boolean isStale(Snapshot snapshot) {
+        return snapshot == null || snapshot.version != version.get();
+    }
+
+    private Snapshot loadIfStale() {
+        CompletableFuture<Snapshot> load = new CompletableFuture<>();
+        CompletableFuture<Snapshot> otherLoad = pendingLoad.compareAndExchange(null, load);
+        if (otherLoad != null) {
+            try {
+                return otherLoad.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException
+                        ? (RuntimeException) e.getCause()
+                        : e;
+            }
+        }
+        try {
+            Snapshot current = snapshot;
+            if (isStale(current)) {
+                current = load();
+            }
+            load.complete(current);
+            return current;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            pendingLoad.set(null);
+        }
+    }
+
+    private void refresh() {
+        try {
+            load();
+        } catch (Exception e) {
+            Monitors.error(EventHandlerRegistry.class.getSimpleName(), "refresh");
+            LOGGER.error("Unable to refresh the event handlers", e);
+        }
+    }
+
+    private Snapshot load() {
+        long loadVersion = version.get();
+        Snapshot loaded = new Snapshot(loadVersion, eventHandlerDAO.getAllEventHandlers());
+        if (version.get() == loadVersion) {
+            // still stale if invalidate() ran since the check, as its version is then older
+            snapshot = loaded;
+        }
+        return loaded;
+    }
+
+    private static class Snapshot {
+
+        private final long version;
+        private final Map<String, List<EventHandler>> eventHandlers = new HashMap<>();
+        private final Map<String, List<EventHandler>> activeEventHandlers = new HashMap<>();
+
+        Snapshot(long version, List<EventHandler> allEventHandlers) {
+            this.version = version;
+            for (EventHandler eventHandler : allEventHandlers) {
+                eventHandlers
+                        .computeIfAbsent(eventHandler.getEvent(), e -> new ArrayList<>())
+                        .add(eventHandler);
+                if (eventHandler.isActive()) {
+                    activeEventHandlers
+                            .computeIfAbsent(eventHandler.getEvent(), e -> new ArrayList<>())
+                            .add(eventHandler);
+                    compileCondition(eventHandler);
+                }
+            }
+        }
+
+        private static void compileCondition(EventHandler eventHandler) {
+            String evaluatorType = eventHandler.getEvaluatorType();
+            if (StringUtils.isEmpty(eventHandler.getCondition())
+                    || (evaluatorType != null && !JavascriptEvaluator.NAME.equals(evaluatorType))) {
+                return;
+            }
+            try {
+                ScriptEvaluator.compile(eventHandler.getCondition());
+            } catch (Exception e) {
+                LOGGER.warn(
+                        "Unable to compile the condition of event handler: {}",
+                        eventHandler.getName(),
+                        e);
+            }
+        }
+    }
+}
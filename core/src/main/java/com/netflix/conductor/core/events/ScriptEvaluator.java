@@ -12,14 +12,47 @@
  */
 package com.netflix.conductor.core.events;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineManager;
 import javax.script.ScriptException;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.netflix.conductor.metrics.Monitors;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Evaluates scripts with a pool of script engines, each used by a single evaluation at a time
+ * since the engines are not thread safe. Each engine keeps the scripts it compiled, so that a
+ * script is only compiled once per engine.
+ */
 public class ScriptEvaluator {
 
-    private static final ScriptEngine engine = new ScriptEngineManager().getEngineByName("nashorn");
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScriptEvaluator.class);
+
+    /** The number of compiled scripts kept by each engine. */
+    private static final int SCRIPT_CACHE_SIZE = 1_000;
+
+    private static final int ENGINE_POOL_SIZE = Runtime.getRuntime().availableProcessors();
+
+    /** How long an evaluation waits for an engine when they are all in use. */
+    private static final long ENGINE_WAIT_TIMEOUT_MS = 10_000;
+
+    private static final BlockingQueue<PooledEngine> engines = new LinkedBlockingQueue<>();
+    private static final AtomicInteger engineCount = new AtomicInteger();
 
     private ScriptEvaluator() {}
 
@@ -45,9 +78,36 @@ public class ScriptEvaluator {
      * @return Generic object, the result of the evaluated expression.
      */
     public static Object eval(String script, Object input) throws ScriptException {
-        Bindings bindings = engine.createBindings();
-        bindings.put("$", input);
-        return engine.eval(script, bindings);
+        long start = System.nanoTime();
+        PooledEngine engine = acquireEngine();
+        try {
+            return engine.eval(script, input);
+        } finally {
+            engines.offer(engine);
+            Monitors.recordScriptEvaluation(getScriptId(script), System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Compiles the script ahead of its evaluations, with the engines that are not evaluating a
+     * script. The other engines compile it on their first evaluation of it.
+     *
+     * @param script Script to be compiled.
+     * @throws ScriptException if the script cannot be compiled.
+     */
+    public static void compile(String script) throws ScriptException {
+        List<PooledEngine> idleEngines = new ArrayList<>();
+        engines.drainTo(idleEngines);
+        try {
+            if (idleEngines.isEmpty()) {
+                idleEngines.add(acquireEngine());
+            }
+            for (PooledEngine engine : idleEngines) {
+                engine.compile(script);
+            }
+        } finally {
+            engines.addAll(idleEngines);
+        }
     }
 
     /**
@@ -66,4 +126,68 @@ public class ScriptEvaluator {
         }
         return false;
     }
+
+    /**
+     * Takes an idle engine, creates one if the pool is not full, or else waits for one.
+     *
+     * @throws ScriptException if no engine becomes idle within {@link #ENGINE_WAIT_TIMEOUT_MS}
+     */
+    private static PooledEngine acquireEngine() throws ScriptException {
+        PooledEngine engine = engines.poll();
+        if (engine != null) {
+            return engine;
+        }
+        if (engineCount.incrementAndGet() <= ENGINE_POOL_SIZE) {
+            try {
+                engine = new PooledEngine();
+            } finally {
+                // give the slot back if the engine could not be created
+                if (engine == null) {
+                    engineCount.decrementAndGet();
+                }
+            }
+            return engine;
+        }
+        engineCount.decrementAndGet();
+        try {
+            engine = engines.poll(ENGINE_WAIT_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ScriptException("Interrupted while waiting for a script engine");
+        }
+        if (engine == null) {
+            Monitors.error(ScriptEvaluator.class.getSimpleName(), "acquireEngine");
+            throw new ScriptException(
+                    "No script engine became available within " + ENGINE_WAIT_TIMEOUT_MS + " ms");
+        }
+        return engine;
+    }
+
+    /** @return a short id of the script, to tag its metrics with */
+    private static String getScriptId(String script) {
+        return Integer.toHexString(script.hashCode());
+    }
+
+    private static class PooledEngine {
+
+        private final ScriptEngine engine = new ScriptEngineManager().getEngineByName("nashorn");
+        private final Cache<String, CompiledScript> compiledScripts =
+                CacheBuilder.newBuilder().maximumSize(SCRIPT_CACHE_SIZE).build();
+
+        Object eval(String script, Object input) throws ScriptException {
+            Bindings bindings = engine.createBindings();
+            bindings.put("$", input);
+            return compile(script).eval(bindings);
+        }
+
+        CompiledScript compile(String script) throws ScriptException {
+            CompiledScript compiledScript = compiledScripts.getIfPresent(script);
+            if (compiledScript == null) {
+                compiledScript = ((Compilable) engine).compile(script);
+                compiledScripts.put(script, compiledScript);
+                LOGGER.debug("Compiled script {}: {}", getScriptId(script), script);
+            }
+            return compiledScript;
+        }
+    }
 }
@@ -13,6 +13,7 @@
 package com.netflix.conductor.core.events.queue;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -22,17 +23,18 @@ import org.springframework.stereotype.Component;
 
 import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.TaskResult;
+import com.netflix.conductor.core.dal.ExecutionDAOFacade;
 import com.netflix.conductor.core.exception.ApplicationException;
 import com.netflix.conductor.core.exception.ApplicationException.Code;
 import com.netflix.conductor.core.execution.WorkflowExecutor;
 import com.netflix.conductor.model.TaskModel;
 import com.netflix.conductor.model.TaskModel.Status;
-import com.netflix.conductor.model.WorkflowModel;
 
-import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import rx.schedulers.Schedulers;
 
 import static com.netflix.conductor.common.metadata.tasks.TaskType.TASK_TYPE_WAIT;
 
@@ -52,15 +54,20 @@ public class DefaultEventQueueProcessor {
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultEventQueueProcessor.class);
     private final Map<Status, ObservableQueue> queues;
     private final WorkflowExecutor workflowExecutor;
+    private final ExecutionDAOFacade executionDAOFacade;
     private static final TypeReference<Map<String, Object>> _mapType = new TypeReference<>() {};
+    private static final int MESSAGE_BATCH_SIZE = 100;
+    private static final long MESSAGE_BATCH_WAIT_MS = 100;
     private final ObjectMapper objectMapper;
 
     public DefaultEventQueueProcessor(
             Map<Status, ObservableQueue> queues,
             WorkflowExecutor workflowExecutor,
+            ExecutionDAOFacade executionDAOFacade,
             ObjectMapper objectMapper) {
         this.queues = queues;
         this.workflowExecutor = workflowExecutor;
+        this.executionDAOFacade = executionDAOFacade;
         this.objectMapper = objectMapper;
         queues.forEach(this::startMonitor);
         LOGGER.info(
@@ -70,106 +77,111 @@ public class DefaultEventQueueProcessor {
     private void startMonitor(Status status, ObservableQueue queue) {
 
         queue.observe()
+                .buffer(
+                        MESSAGE_BATCH_WAIT_MS,
+                        TimeUnit.MILLISECONDS,
+                        MESSAGE_BATCH_SIZE,
+                        Schedulers.io())
                 .subscribe(
-                        (Message msg) -> {
-                            try {
-                                LOGGER.debug("Got message {}", msg.getPayload());
-                                String payload = msg.getPayload();
-                                JsonNode payloadJSON = objectMapper.readTree(payload);
-                                String externalId = getValue("externalId", payloadJSON);
-                                if (externalId == null || "".equals(externalId)) {
-                                    LOGGER.error("No external Id found in the payload {}", payload);
-                                    queue.ack(Collections.singletonList(msg));
-                                    return;
-                                }
-
-                                JsonNode json = objectMapper.readTree(externalId);
-                                String workflowId = getValue("workflowId", json);
-                                String taskRefName = getValue("taskRefName", json);
-                                String taskId = getValue("taskId", json);
-                                if (workflowId == null || "".equals(workflowId)) {
-                                    // This is a bad message, we cannot process it
-                                    LOGGER.error(
-                                            "No workflow id found in the message. {}", payload);
-                                    queue.ack(Collections.singletonList(msg));
-                                    return;
-                                }
-                                WorkflowModel workflow =
-                                        workflowExecutor.getWorkflow(workflowId, true);
-                                Optional<TaskModel> optionalTaskModel;
-                                if (StringUtils.isNotEmpty(taskId)) {
-                                    optionalTaskModel =
-                                            workflow.getTasks().stream()
-                                                    .filter(
-                                                            task ->
-                                                                    !task.getStatus().isTerminal()
-                                                                            && task.getTaskId()
-                                                                                    .equals(taskId))
-                                                    .findFirst();
-                                } else if (StringUtils.isEmpty(taskRefName)) {
-                                    LOGGER.error(
-                                            "No taskRefName found in the message. If there is only one WAIT task, will mark it as completed. {}",
-                                            payload);
-                                    optionalTaskModel =
-                                            workflow.getTasks().stream()
-                                                    .filter(
-                                                            task ->
-                                                                    !task.getStatus().isTerminal()
-                                                                            && task.getTaskType()
-                                                                                    .equals(
-                                                                                            TASK_TYPE_WAIT))
-                                                    .findFirst();
-                                } else {
-                                    optionalTaskModel =
-                                            workflow.getTasks().stream()
-                                                    .filter(
-                                                            task ->
-                                                                    !task.getStatus().isTerminal()
-                                                                            && task.getReferenceTaskName()
-                                                                                    .equals(
-                                                                                            taskRefName))
-                                                    .findFirst();
-                                }
-
-                                if (optionalTaskModel.isEmpty()) {
-                                    LOGGER.error(
-                                            "No matching tasks found to be marked as completed for workflow {}, taskRefName {}, taskId {}",
-                                            workflowId,
-                                            taskRefName,
-                                            taskId);
-                                    queue.ack(Collections.singletonList(msg));
-                                    return;
-                                }
-
-                                Task task = optionalTaskModel.get().toTask();
-                                task.setStatus(TaskModel.mapToTaskStatus(status));
-                                task.getOutputData()
-                                        .putAll(objectMapper.convertValue(payloadJSON, _mapType));
-                                workflowExecutor.updateTask(new TaskResult(task));
-
-                                List<String> failures = queue.ack(Collections.singletonList(msg));
-                                if (!failures.isEmpty()) {
-                                    LOGGER.error("Not able to ack the messages {}", failures);
-                                }
-                            } catch (JsonParseException e) {
-                                LOGGER.error("Bad message? : {} ", msg, e);
-                                queue.ack(Collections.singletonList(msg));
-
-                            } catch (ApplicationException e) {
-                                if (e.getCode().equals(Code.NOT_FOUND)) {
-                                    LOGGER.error(
-                                            "Workflow ID specified is not valid for this environment");
-                                    queue.ack(Collections.singletonList(msg));
-                                }
-                                LOGGER.error("Error processing message: {}", msg, e);
-                            } catch (Exception e) {
-                                LOGGER.error("Error processing message: {}", msg, e);
-                            }
-                        },
+                        (List<Message> messages) -> handleMessages(status, queue, messages),
                         (Throwable t) -> LOGGER.error(t.getMessage(), t));
         LOGGER.info("QueueListener::STARTED...listening for " + queue.getName());
     }
 
+    /** Processes a batch of messages, and acks those that were processed at once. */
+    private void handleMessages(Status status, ObservableQueue queue, List<Message> messages) {
+        List<Message> processed = new ArrayList<>(messages.size());
+        for (Message msg : messages) {
+            if (handleMessage(status, msg)) {
+                processed.add(msg);
+            }
+        }
+        if (!processed.isEmpty()) {
+            List<String> failures = queue.ack(processed);
+            if (!failures.isEmpty()) {
+                LOGGER.error("Not able to ack the messages {}", failures);
+            }
+        }
+    }
+
+    /**
+     * Updates the task the message is about with the given status.
+     *
+     * @return true if the message is to be acked, i.e. it was processed or cannot be
+     */
+    private boolean handleMessage(Status status, Message msg) {
+        try {
+            LOGGER.debug("Got message {}", msg.getPayload());
+            String payload = msg.getPayload();
+            Map<String, Object> payloadMap = objectMapper.readValue(payload, _mapType);
+            String externalId = getExternalId(payloadMap);
+            if (externalId == null || "".equals(externalId)) {
+                LOGGER.error("No external Id found in the payload {}", payload);
+                return true;
+            }
+
+            JsonNode json = objectMapper.readTree(externalId);
+            String workflowId = getValue("workflowId", json);
+            String taskRefName = getValue("taskRefName", json);
+            String taskId = getValue("taskId", json);
+            if (workflowId == null || "".equals(workflowId)) {
+                // This is a bad message, we cannot process it
+                LOGGER.error("No workflow id found in the message. {}", payload);
+                return true;
+            }
+            TaskModel taskModel;
+            if (StringUtils.isNotEmpty(taskId)) {
+                taskModel = executionDAOFacade.getPendingTaskModel(workflowId, taskId);
+            } else if (StringUtils.isEmpty(taskRefName)) {
+                LOGGER.error(
+                        "No taskRefName found in the message. If there is only one WAIT task, will mark it as completed. {}",
+                        payload);
+                taskModel =
+                        executionDAOFacade.getPendingTaskModelByType(workflowId, TASK_TYPE_WAIT);
+            } else {
+                taskModel =
+                        executionDAOFacade.getPendingTaskModelByRefName(workflowId, taskRefName);
+            }
+
+            if (taskModel == null) {
+                LOGGER.error(
+                        "No matching tasks found to be marked as completed for workflow {}, taskRefName {}, taskId {}",
+                        workflowId,
+                        taskRefName,
+                        taskId);
+                return true;
+            }
+
+            Task task = taskModel.toTask();
+            task.setStatus(TaskModel.mapToTaskStatus(status));
+            task.getOutputData().putAll(payloadMap);
+            workflowExecutor.updateTask(new TaskResult(task));
+            return true;
+        } catch (JsonProcessingException e) {
+            LOGGER.error("Bad message? : {} ", msg, e);
+            return true;
+        } catch (ApplicationException e) {
+            LOGGER.error("Error processing message: {}", msg, e);
+            if (e.getCode().equals(Code.NOT_FOUND)) {
+                LOGGER.error("Workflow ID specified is not valid for this environment");
+                return true;
+            }
+            return false;
+        } catch (Exception e) {
+            LOGGER.error("Error processing message: {}", msg, e);
+            return false;
+        }
+    }
+
+    /** Reads the external id at the top of the payload, or nested in it otherwise. */
+    private String getExternalId(Map<String, Object> payloadMap) {
+        Object externalId = payloadMap.get("externalId");
+        if (externalId instanceof String) {
+            return (String) externalId;
+        }
+        return getValue("externalId", objectMapper.valueToTree(payloadMap));
+    }
+
     private String getValue(String fieldName, JsonNode json) {
         JsonNode node = json.findValue(fieldName);
         if (node == null) {
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.execution;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.netflix.conductor.core.dal.ExecutionDAOFacade;
+import com.netflix.conductor.model.TaskModel;
+import com.netflix.conductor.model.WorkflowModel;
+
+/**
+ * Tracks the task and workflow writes made during a single {@link
+ * WorkflowExecutor#decide(String)} pass.
+ *
+ * <p>When coalescing, the written entities are only marked as dirty, and each of them is written
+ * once by {@link #flush()}. Since the dirty entities are the same instances as the ones in the
+ * in-memory workflow, the flush always writes their latest state. Otherwise, writes go straight to
+ * the {@link ExecutionDAOFacade} and {@link #flush()} is a no-op.
+ */
+class DecideUnitOfWork {
+
+    private final ExecutionDAOFacade executionDAOFacade;
+    private final boolean coalescing;
+
+    private final Map<String, TaskModel> dirtyTasks = new LinkedHashMap<>();
+    private WorkflowModel dirtyWorkflow;
+
+    DecideUnitOfWork(ExecutionDAOFacade executionDAOFacade, boolean coalescing) {
+        this.executionDAOFacade = executionDAOFacade;
+        this.coalescing = coalescing;
+    }
+
+    boolean isCoalescing() {
+        return coalescing;
+    }
+
+    void updateTask(TaskModel task) {
+        if (coalescing) {
+            dirtyTasks.put(task.getTaskId(), task);
+        } else {
+            executionDAOFacade.updateTask(task);
+        }
+    }
+
+    void updateTasks(List<TaskModel> tasks) {
+        if (coalescing) {
+            tasks.forEach(task -> dirtyTasks.put(task.getTaskId(), task));
+        } else {
+            executionDAOFacade.updateTasks(tasks);
+        }
+    }
+
+    void updateWorkflow(WorkflowModel workflow) {
+        if (coalescing) {
+            dirtyWorkflow = workflow;
+        } else {
+            executionDAOFacade.updateWorkflow(workflow);
+        }
+    }
+
+    /**
+     * Writes the dirty tasks in a single batch, followed by the workflow. The pending writes are
+     * cleared before being written, so that a failed flush is not retried by a subsequent one.
+     */
+    void flush() {
+        List<TaskModel> tasks = new ArrayList<>(dirtyTasks.values());
+        WorkflowModel workflow = dirtyWorkflow;
+        dirtyTasks.clear();
+        dirtyWorkflow = null;
+
+        if (!tasks.isEmpty()) {
+            executionDAOFacade.updateTasks(tasks);
+        }
+        if (workflow != null) {
+            executionDAOFacade.updateWorkflow(workflow);
+        }
+    }
+}
@@ -19,6 +19,7 @@ import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 import com.netflix.conductor.annotations.Trace;
@@ -36,6 +37,7 @@ import com.netflix.conductor.core.dal.ExecutionDAOFacade;
 import com.netflix.conductor.core.exception.ApplicationException;
 import com.netflix.conductor.core.exception.ApplicationException.Code;
 import com.netflix.conductor.core.exception.TerminateWorkflowException;
+import com.netflix.conductor.core.execution.tasks.SystemTaskQueuedEvent;
 import com.netflix.conductor.core.execution.tasks.SystemTaskRegistry;
 import com.netflix.conductor.core.execution.tasks.Terminate;
 import com.netflix.conductor.core.execution.tasks.WorkflowSystemTask;
@@ -75,6 +77,7 @@ public class WorkflowExecutor {
     private final ParametersUtils parametersUtils;
     private final WorkflowStatusListener workflowStatusListener;
     private final SystemTaskRegistry systemTaskRegistry;
+    private final ApplicationEventPublisher eventPublisher;
 
     private long activeWorkerLastPollMs;
     private static final String CLASS_NAME = WorkflowExecutor.class.getSimpleName();
@@ -104,7 +107,8 @@ public class WorkflowExecutor {
             ConductorProperties properties,
             ExecutionLockService executionLockService,
             SystemTaskRegistry systemTaskRegistry,
-            ParametersUtils parametersUtils) {
+            ParametersUtils parametersUtils,
+            ApplicationEventPublisher eventPublisher) {
         this.deciderService = deciderService;
         this.metadataDAO = metadataDAO;
         this.queueDAO = queueDAO;
@@ -116,6 +120,7 @@ public class WorkflowExecutor {
         this.executionLockService = executionLockService;
         this.parametersUtils = parametersUtils;
         this.systemTaskRegistry = systemTaskRegistry;
+        this.eventPublisher = eventPublisher;
     }
 
     /** @throws ApplicationException */
@@ -1299,50 +1304,64 @@ public class WorkflowExecutor {
         // and change the workflow/task state accordingly
         adjustStateIfSubWorkflowChanged(workflow);
 
+        DecideUnitOfWork unitOfWork =
+                new DecideUnitOfWork(
+                        executionDAOFacade, properties.isDecideWriteCoalescingEnabled());
         try {
-            DeciderService.DeciderOutcome outcome = deciderService.decide(workflow);
-            if (outcome.isComplete) {
-                endExecution(workflow);
-                return true;
-            }
-
-            List<TaskModel> tasksToBeScheduled = outcome.tasksToBeScheduled;
-            setTaskDomains(tasksToBeScheduled, workflow);
-            List<TaskModel> tasksToBeUpdated = outcome.tasksToBeUpdated;
-            boolean stateChanged = false;
-
-            tasksToBeScheduled = dedupAndAddTasks(workflow, tasksToBeScheduled);
+            boolean stateChanged;
+            do {
+                DeciderService.DeciderOutcome outcome = deciderService.decide(workflow);
+                if (outcome.isComplete) {
+                    unitOfWork.flush();
+                    endExecution(workflow);
+                    return true;
+                }
 
-            for (TaskModel task : outcome.tasksToBeScheduled) {
-                if (systemTaskRegistry.isSystemTask(task.getTaskType())
-                        && NON_TERMINAL_TASK.test(task)) {
-                    WorkflowSystemTask workflowSystemTask =
-                            systemTaskRegistry.get(task.getTaskType());
-                    if (!workflowSystemTask.isAsync()
-                            && workflowSystemTask.execute(workflow, task, this)) {
-                        tasksToBeUpdated.add(task);
-                        stateChanged = true;
+                List<TaskModel> tasksToBeScheduled = outcome.tasksToBeScheduled;
+                setTaskDomains(tasksToBeScheduled, workflow);
+                List<TaskModel> tasksToBeUpdated = outcome.tasksToBeUpdated;
+                stateChanged = false;
+
+                tasksToBeScheduled = dedupAndAddTasks(workflow, tasksToBeScheduled);
+
+                for (TaskModel task : outcome.tasksToBeScheduled) {
+                    if (systemTaskRegistry.isSystemTask(task.getTaskType())
+                            && NON_TERMINAL_TASK.test(task)) {
+                        WorkflowSystemTask workflowSystemTask =
+                                systemTaskRegistry.get(task.getTaskType());
+                        if (!workflowSystemTask.isAsync()
+                                && workflowSystemTask.execute(workflow, task, this)) {
+                            tasksToBeUpdated.add(task);
+                            stateChanged = true;
+                        }
                     }
                 }
-            }
 
-            if (!outcome.tasksToBeUpdated.isEmpty() || !tasksToBeScheduled.isEmpty()) {
-                executionDAOFacade.updateTasks(tasksToBeUpdated);
-                executionDAOFacade.updateWorkflow(workflow);
-            }
+                if (!outcome.tasksToBeUpdated.isEmpty() || !tasksToBeScheduled.isEmpty()) {
+                    unitOfWork.updateTasks(tasksToBeUpdated);
+                    unitOfWork.updateWorkflow(workflow);
+                }
 
-            stateChanged = scheduleTask(workflow, tasksToBeScheduled) || stateChanged;
+                stateChanged =
+                        scheduleTask(workflow, tasksToBeScheduled, unitOfWork) || stateChanged;
 
+                // when coalescing, re-decide the in-memory workflow, it already holds every change
+                // that would otherwise be reloaded from the datastore
+            } while (stateChanged && unitOfWork.isCoalescing());
+
+            unitOfWork.flush();
             if (stateChanged) {
                 decide(workflowId);
             }
 
         } catch (TerminateWorkflowException twe) {
             LOGGER.info("Execution terminated of workflow: {}", workflowId, twe);
+            flushQuietly(unitOfWork, workflowId);
             terminate(workflow, twe);
             return true;
         } catch (RuntimeException e) {
             LOGGER.error("Error deciding workflow: {}", workflowId, e);
+            flushQuietly(unitOfWork, workflowId);
             throw e;
         } finally {
             executionLockService.releaseLock(workflowId);
@@ -1350,6 +1369,18 @@ public class WorkflowExecutor {
         return false;
     }
 
+    /**
+     * Writes the pending changes of a decide pass that failed, so that the datastore reflects the
+     * progress made until the failure, as it does when the writes are not coalesced.
+     */
+    private void flushQuietly(DecideUnitOfWork unitOfWork, String workflowId) {
+        try {
+            unitOfWork.flush();
+        } catch (Exception e) {
+            LOGGER.error("Error writing pending changes of workflow: {}", workflowId, e);
+        }
+    }
+
     private void adjustStateIfSubWorkflowChanged(WorkflowModel workflow) {
         Optional<TaskModel> changedSubWorkflowTask = findChangedSubWorkflowTask(workflow);
         if (changedSubWorkflowTask.isPresent()) {
@@ -1607,6 +1638,10 @@ public class WorkflowExecutor {
                     task.getCallbackAfterSeconds());
         } else {
             queueDAO.push(taskQueueName, task.getTaskId(), task.getWorkflowPriority(), 0);
+            if (systemTaskRegistry.isSystemTask(task.getTaskType())) {
+                // wake up the system task worker polling this queue, if any
+                eventPublisher.publishEvent(new SystemTaskQueuedEvent(this, taskQueueName));
+            }
         }
         LOGGER.debug(
                 "Added task {} with priority {} to queue {} with call back seconds {}",
@@ -1690,6 +1725,11 @@ public class WorkflowExecutor {
 
     @VisibleForTesting
     boolean scheduleTask(WorkflowModel workflow, List<TaskModel> tasks) {
+        return scheduleTask(workflow, tasks, new DecideUnitOfWork(executionDAOFacade, false));
+    }
+
+    private boolean scheduleTask(
+            WorkflowModel workflow, List<TaskModel> tasks, DecideUnitOfWork unitOfWork) {
         List<TaskModel> createdTasks;
         List<TaskModel> tasksToBeQueued;
         boolean startedSystemTasks = false;
@@ -1754,7 +1794,7 @@ public class WorkflowExecutor {
                                 ApplicationException.Code.INTERNAL_ERROR, errorMsg, e);
                     }
                     startedSystemTasks = true;
-                    executionDAOFacade.updateTask(task);
+                    unitOfWork.updateTask(task);
                 } else {
                     tasksToBeQueued.add(task);
                 }
@@ -15,25 +15,63 @@ package com.netflix.conductor.core.execution.tasks;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import com.netflix.conductor.core.utils.SemaphoreUtil;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 class ExecutionConfig {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExecutionConfig.class);
+
     private final ExecutorService executorService;
     private final SemaphoreUtil semaphoreUtil;
 
     ExecutionConfig(int threadCount, String threadNameFormat) {
+        this(threadCount, threadNameFormat, false);
+    }
 
+    /**
+     * @param threadCount the number of tasks that can be executed concurrently
+     * @param threadNameFormat the name format of the platform threads
+     * @param virtualThreadsEnabled run every task on its own virtual thread, in which case the
+     *     concurrency is bounded only by the semaphore slots. Falls back to a fixed pool of
+     *     platform threads when the runtime does not support virtual threads.
+     */
+    ExecutionConfig(int threadCount, String threadNameFormat, boolean virtualThreadsEnabled) {
+        ExecutorService virtualThreadExecutor =
+                virtualThreadsEnabled ? newVirtualThreadPerTaskExecutor() : null;
         this.executorService =
-                Executors.newFixedThreadPool(
-                        threadCount,
-                        new ThreadFactoryBuilder().setNameFormat(threadNameFormat).build());
+                virtualThreadExecutor != null
+                        ? virtualThreadExecutor
+                        : Executors.newFixedThreadPool(
+                                threadCount,
+                                new ThreadFactoryBuilder().setNameFormat(threadNameFormat).build());
 
         this.semaphoreUtil = new SemaphoreUtil(threadCount);
     }
 
+    /**
+     * Virtual threads require Java 21 while the project targets Java 11, hence the executor is
+     * looked up reflectively.
+     *
+     * @return an executor that starts a new virtual thread for each task, or null if the runtime
+     *     does not support virtual threads
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService)
+                    Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            LOGGER.warn(
+                    "Virtual threads are not supported by Java {}, using platform threads instead",
+                    Runtime.version().feature());
+            return null;
+        }
+    }
+
     public ExecutorService getExecutorService() {
         return executorService;
     }
@@ -17,12 +17,15 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 import com.netflix.conductor.core.LifecycleAwareComponent;
@@ -35,8 +38,16 @@ import com.netflix.conductor.metrics.Monitors;
 import com.netflix.conductor.service.ExecutionService;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
-/** The worker that polls and executes an async system task. */
+/**
+ * The worker that polls and executes an async system task.
+ *
+ * <p>All the system task queues, including the isolated ones, are polled from a single scheduler
+ * with a bounded number of threads. A queue that returns no tasks is polled less and less often,
+ * up to {@link ConductorProperties#getSystemTaskWorkerMaxPollBackoff()}, and is polled right away
+ * again when a {@link SystemTaskQueuedEvent} is received for it.
+ */
 @Component
 @ConditionalOnProperty(
         name = "conductor.system-task-workers.enabled",
@@ -47,7 +58,9 @@ public class SystemTaskWorker extends LifecycleAwareComponent {
     private static final Logger LOGGER = LoggerFactory.getLogger(SystemTaskWorker.class);
 
     private final long pollInterval;
+    private final long maxPollBackoff;
     private final QueueDAO queueDAO;
+    private final ScheduledExecutorService pollScheduler;
 
     ExecutionConfig defaultExecutionConfig;
     private final AsyncSystemTaskExecutor asyncSystemTaskExecutor;
@@ -56,6 +69,7 @@ public class SystemTaskWorker extends LifecycleAwareComponent {
     private final ExecutionService executionService;
 
     ConcurrentHashMap<String, ExecutionConfig> queueExecutionConfigMap = new ConcurrentHashMap<>();
+    ConcurrentHashMap<String, QueuePoller> queuePollers = new ConcurrentHashMap<>();
 
     public SystemTaskWorker(
             QueueDAO queueDAO,
@@ -64,14 +78,31 @@ public class SystemTaskWorker extends LifecycleAwareComponent {
             ExecutionService executionService) {
         this.properties = properties;
         int threadCount = properties.getSystemTaskWorkerThreadCount();
-        this.defaultExecutionConfig = new ExecutionConfig(threadCount, "system-task-worker-%d");
+        this.defaultExecutionConfig =
+                new ExecutionConfig(
+                        threadCount,
+                        "system-task-worker-%d",
+                        properties.isSystemTaskWorkerVirtualThreadsEnabled());
         this.asyncSystemTaskExecutor = asyncSystemTaskExecutor;
         this.queueDAO = queueDAO;
         this.maxPollCount = properties.getSystemTaskMaxPollCount();
         this.pollInterval = properties.getSystemTaskWorkerPollInterval().toMillis();
+        this.maxPollBackoff =
+                Math.max(pollInterval, properties.getSystemTaskWorkerMaxPollBackoff().toMillis());
         this.executionService = executionService;
+        int pollerThreadCount = properties.getSystemTaskWorkerPollerThreadCount();
+        this.pollScheduler =
+                Executors.newScheduledThreadPool(
+                        pollerThreadCount,
+                        new ThreadFactoryBuilder()
+                                .setNameFormat("system-task-poller-%d")
+                                .setDaemon(true)
+                                .build());
 
-        LOGGER.info("SystemTaskWorker initialized with {} threads", threadCount);
+        LOGGER.info(
+                "SystemTaskWorker initialized with {} threads and {} poller threads",
+                threadCount,
+                pollerThreadCount);
     }
 
     public void startPolling(WorkflowSystemTask systemTask) {
@@ -79,20 +110,42 @@ public class SystemTaskWorker extends LifecycleAwareComponent {
     }
 
     public void startPolling(WorkflowSystemTask systemTask, String queueName) {
-        Executors.newSingleThreadScheduledExecutor()
-                .scheduleWithFixedDelay(
-                        () -> this.pollAndExecute(systemTask, queueName),
-                        1000,
-                        pollInterval,
-                        TimeUnit.MILLISECONDS);
+        QueuePoller queuePoller = new QueuePoller(systemTask, queueName);
+        if (queuePollers.putIfAbsent(queueName, queuePoller) != null) {
+            LOGGER.debug("Already listening for task: {} in queue: {}", systemTask, queueName);
+            return;
+        }
+        queuePoller.schedule(1000);
         LOGGER.info("Started listening for task: {} in queue: {}", systemTask, queueName);
     }
 
-    void pollAndExecute(WorkflowSystemTask systemTask, String queueName) {
+    @EventListener
+    public void onSystemTaskQueued(SystemTaskQueuedEvent event) {
+        QueuePoller queuePoller = queuePollers.get(event.getQueueName());
+        if (queuePoller != null) {
+            queuePoller.wakeUp();
+        }
+    }
+
+    @Override
+    public void doStop() {
+        queuePollers.values().forEach(QueuePoller::cancel);
+    }
+
+    @Override
+    public void doStart() {
+        queuePollers.values().forEach(QueuePoller::wakeUp);
+    }
+
+    /**
+     * @return true if the queue has work pending or the worker is at capacity, false if the queue
+     *     was found empty
+     */
+    boolean pollAndExecute(WorkflowSystemTask systemTask, String queueName) {
         if (!isRunning()) {
             LOGGER.debug(
                     "{} stopped. Not polling for task: {}", getClass().getSimpleName(), systemTask);
-            return;
+            return false;
         }
 
         // get the remaining capacity of worker queue to prevent queue full exception
@@ -104,7 +157,7 @@ public class SystemTaskWorker extends LifecycleAwareComponent {
         if (!semaphoreUtil.acquireSlots(1)) {
             // no available permits, do not poll
             Monitors.recordSystemTaskWorkerPollingLimited(queueName);
-            return;
+            return true;
         }
 
         int acquiredSlots = 1;
@@ -119,7 +172,8 @@ public class SystemTaskWorker extends LifecycleAwareComponent {
             }
             LOGGER.debug("Polling queue: {} with {} slots acquired", queueName, acquiredSlots);
 
-            List<String> polledTaskIds = queueDAO.pop(queueName, acquiredSlots, 200);
+            // the poller threads are shared by all the queues, so do not wait on an empty queue
+            List<String> polledTaskIds = queueDAO.pop(queueName, acquiredSlots, 0);
 
             Monitors.recordTaskPoll(queueName);
             LOGGER.debug("Polling queue:{}, got {} tasks", queueName, polledTaskIds.size());
@@ -153,6 +207,7 @@ public class SystemTaskWorker extends LifecycleAwareComponent {
                         semaphoreUtil.completeProcessing(1);
                     }
                 }
+                return true;
             } else {
                 // no task polled, release permit
                 semaphoreUtil.completeProcessing(acquiredSlots);
@@ -164,6 +219,7 @@ public class SystemTaskWorker extends LifecycleAwareComponent {
             Monitors.recordTaskPollError(taskName, e.getClass().getSimpleName());
             LOGGER.error("Error polling system task in queue:{}", queueName, e);
         }
+        return false;
     }
 
     @VisibleForTesting
@@ -178,6 +234,69 @@ public class SystemTaskWorker extends LifecycleAwareComponent {
     private ExecutionConfig createExecutionConfig() {
         int threadCount = properties.getIsolatedSystemTaskWorkerThreadCount();
         String threadNameFormat = "isolated-system-task-worker-%d";
-        return new ExecutionConfig(threadCount, threadNameFormat);
+        return new ExecutionConfig(
+                threadCount,
+                threadNameFormat,
+                properties.isSystemTaskWorkerVirtualThreadsEnabled());
+    }
+
+    /**
+     * Polls a single queue on the shared scheduler. The delay before the next poll doubles after
+     * every empty poll, up to the max backoff, and is reset once the queue has work again.
+     */
+    class QueuePoller implements Runnable {
+
+        private final WorkflowSystemTask systemTask;
+        private final String queueName;
+        private long delay = pollInterval;
+        private ScheduledFuture<?> nextPoll;
+
+        QueuePoller(WorkflowSystemTask systemTask, String queueName) {
+            this.systemTask = systemTask;
+            this.queueName = queueName;
+        }
+
+        @Override
+        public void run() {
+            boolean hasWork = false;
+            try {
+                hasWork = pollAndExecute(systemTask, queueName);
+            } catch (Exception e) {
+                LOGGER.error("Unexpected error polling queue: {}", queueName, e);
+            } finally {
+                synchronized (this) {
+                    delay = hasWork ? pollInterval : Math.min(delay * 2, maxPollBackoff);
+                    if (isRunning()) {
+                        schedule(delay);
+                    }
+                }
+            }
+        }
+
+        synchronized void schedule(long delayMs) {
+            nextPoll = pollScheduler.schedule(this, delayMs, TimeUnit.MILLISECONDS);
+        }
+
+        /** Polls the queue right away, unless the next poll is already due or in progress. */
+        synchronized void wakeUp() {
+            delay = pollInterval;
+            if (nextPoll == null
+                    || nextPoll.isDone()
+                    || (nextPoll.getDelay(TimeUnit.MILLISECONDS) > pollInterval
+                            && nextPoll.cancel(false))) {
+                schedule(0);
+            }
+        }
+
+        synchronized void cancel() {
+            if (nextPoll != null) {
+                nextPoll.cancel(false);
+            }
+        }
+
+        @VisibleForTesting
+        synchronized long getDelay() {
+            return delay;
+        }
     }
 }
@@ -13,7 +13,11 @@
 package com.netflix.conductor.core.reconciliation;
 
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,6 +35,12 @@ import static com.netflix.conductor.core.utils.Utils.DECIDER_QUEUE;
 /**
  * Periodically polls all running workflows in the system and evaluates them for timeouts and/or
  * maintain consistency.
+ *
+ * <p>By default, workflows are popped from the decider queue in batches of {@code
+ * sweeperThreadCount} and the next batch is popped only after the whole batch has been swept. When
+ * {@link ConductorProperties#isSweeperContinuousModeEnabled()} is set, the reconciler instead keeps
+ * at most {@code sweeperThreadCount} sweeps in flight and pops a new workflow as soon as a slot is
+ * freed, so that a single slow sweep does not hold up the others.
  */
 @Component
 @ConditionalOnProperty(
@@ -42,6 +52,13 @@ public class WorkflowReconciler extends LifecycleAwareComponent {
     private final WorkflowSweeper workflowSweeper;
     private final QueueDAO queueDAO;
     private final int sweeperThreadCount;
+    private final boolean continuousModeEnabled;
+
+    /** Available sweep slots, used only in the continuous mode. */
+    private final Semaphore sweeperSlots;
+
+    /** Ids of the workflows currently being swept, used only in the continuous mode. */
+    private final Set<String> inFlightWorkflows = ConcurrentHashMap.newKeySet();
 
     private static final Logger LOGGER = LoggerFactory.getLogger(WorkflowReconciler.class);
 
@@ -50,9 +67,12 @@ public class WorkflowReconciler extends LifecycleAwareComponent {
         this.workflowSweeper = workflowSweeper;
         this.queueDAO = queueDAO;
         this.sweeperThreadCount = properties.getSweeperThreadCount();
+        this.continuousModeEnabled = properties.isSweeperContinuousModeEnabled();
+        this.sweeperSlots = new Semaphore(sweeperThreadCount);
         LOGGER.info(
-                "WorkflowReconciler initialized with {} sweeper threads",
-                properties.getSweeperThreadCount());
+                "WorkflowReconciler initialized with {} sweeper threads, continuous mode: {}",
+                properties.getSweeperThreadCount(),
+                continuousModeEnabled);
     }
 
     @Scheduled(
@@ -62,6 +82,8 @@ public class WorkflowReconciler extends LifecycleAwareComponent {
         try {
             if (!isRunning()) {
                 LOGGER.debug("Component stopped, skip workflow sweep");
+            } else if (continuousModeEnabled) {
+                sweepContinuously();
             } else {
                 List<String> workflowIds = queueDAO.pop(DECIDER_QUEUE, sweeperThreadCount, 2000);
                 if (workflowIds != null) {
@@ -88,6 +110,69 @@ public class WorkflowReconciler extends LifecycleAwareComponent {
         }
     }
 
+    /**
+     * Keeps the sweeper slots busy until this component is stopped. Every time a sweep completes,
+     * its slot is released and refilled with the next workflow from the decider queue, without
+     * waiting for the other in-flight sweeps.
+     */
+    private void sweepContinuously() throws InterruptedException {
+        while (isRunning()) {
+            if (!sweeperSlots.tryAcquire(1, TimeUnit.SECONDS)) {
+                recordSlotUtilization();
+                continue;
+            }
+            int slots = 1 + sweeperSlots.drainPermits();
+            int dispatched = 0;
+            try {
+                List<String> workflowIds = queueDAO.pop(DECIDER_QUEUE, slots, 2000);
+                if (workflowIds != null) {
+                    for (String workflowId : workflowIds) {
+                        if (dispatched < slots && dispatch(workflowId)) {
+                            dispatched++;
+                        }
+                    }
+                }
+            } finally {
+                sweeperSlots.release(slots - dispatched);
+            }
+            recordSlotUtilization();
+            recordQueueDepth();
+        }
+    }
+
+    /**
+     * Sweeps the given workflow asynchronously and releases its slot once done.
+     *
+     * @return false if the workflow is already being swept and was not dispatched again
+     */
+    private boolean dispatch(String workflowId) {
+        if (!inFlightWorkflows.add(workflowId)) {
+            // the in-flight sweep resets the unack timeout of this message once it is done
+            LOGGER.debug("Workflow {} is already being swept, skipping", workflowId);
+            return false;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            workflowSweeper
+                    .sweepAsync(workflowId)
+                    .whenComplete(
+                            (result, throwable) -> {
+                                inFlightWorkflows.remove(workflowId);
+                                sweeperSlots.release();
+                                Monitors.recordWorkflowSweepTime(
+                                        System.currentTimeMillis() - start);
+                            });
+        } catch (RuntimeException e) {
+            inFlightWorkflows.remove(workflowId);
+            throw e;
+        }
+        return true;
+    }
+
+    private void recordSlotUtilization() {
+        Monitors.recordSweeperSlotsInUse(inFlightWorkflows.size(), sweeperThreadCount);
+    }
+
     private void recordQueueDepth() {
         int currentQueueSize = queueDAO.getSize(DECIDER_QUEUE);
         Monitors.recordGauge(DECIDER_QUEUE, currentQueueSize);
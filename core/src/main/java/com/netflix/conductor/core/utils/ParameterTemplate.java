@@ -0,0 +1,165 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.utils;
+
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.netflix.conductor.common.utils.EnvUtils;
+
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+
+/**
+ * A string parameter of a workflow or task definition, split once into the literal parts and the
+ * {@code ${...}} expressions it is made of, so that it can be evaluated repeatedly without being
+ * parsed again.
+ */
+class ParameterTemplate {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParameterTemplate.class);
+
+    /** The first property of a path in dot notation, e.g. {@code task1} in {@code task1.output}. */
+    private static final Pattern ROOT_PROPERTY =
+            Pattern.compile("^(?:\\$\\.)?([^.\\[\\]\\s'\"*()?@$,]+)(?:[.\\[]|$)");
+
+    /** The first property of a path in bracket notation, e.g. {@code a-b} in {@code ['a-b'].c}. */
+    private static final Pattern ROOT_BRACKET_PROPERTY =
+            Pattern.compile("^\\$?\\[\\s*(?:'([^']*)'|\"([^\"]*)\")\\s*]");
+
+    /** The literal parts, as strings, and the {@link Expression}s of the parameter, in order. */
+    private final Object[] parts;
+
+    private ParameterTemplate(Object[] parts) {
+        this.parts = parts;
+    }
+
+    static ParameterTemplate compile(String paramString) {
+        String[] values = paramString.split("(?=(?<!\\$)\\$\\{)|(?<=})");
+        Object[] parts = new Object[values.length];
+        for (int i = 0; i < values.length; i++) {
+            parts[i] = values[i];
+            if (values[i].startsWith("${") && values[i].endsWith("}")) {
+                String paramPath = values[i].substring(2, values[i].length() - 1);
+                // if the paramPath is blank, meaning no value in between ${ and }
+                // like ${}, ${  } etc, set the value to empty string
+                parts[i] =
+                        StringUtils.isBlank(paramPath) ? "" : new Expression(values[i], paramPath);
+            } else if (values[i].contains("$${")) {
+                parts[i] = values[i].replaceAll("\\$\\$\\{", "\\${");
+            }
+        }
+        return new ParameterTemplate(parts);
+    }
+
+    /**
+     * Adds the first property of the paths of the expressions, i.e. the workflow or the task
+     * reference names they read from, to {@literal roots}.
+     *
+     * @return false if the first property of a path could not be told, e.g. for a deep scan
+     */
+    boolean collectRoots(Set<String> roots) {
+        boolean known = true;
+        for (Object part : parts) {
+            if (part instanceof Expression) {
+                String root = ((Expression) part).root;
+                if (root == null) {
+                    known = false;
+                } else {
+                    roots.add(root);
+                }
+            }
+        }
+        return known;
+    }
+
+    Object evaluate(DocumentContext documentContext, String taskId) {
+        if (parts.length == 1) {
+            return evaluate(parts[0], documentContext, taskId);
+        }
+        // If the parameter String was "v1 v2 v3" then make sure to stitch it back
+        StringBuilder result = new StringBuilder();
+        for (Object part : parts) {
+            Object value = evaluate(part, documentContext, taskId);
+            if (value != null) {
+                result.append(value);
+            }
+        }
+        return result.toString();
+    }
+
+    private static Object evaluate(Object part, DocumentContext documentContext, String taskId) {
+        return part instanceof Expression
+                ? ((Expression) part).evaluate(documentContext, taskId)
+                : part;
+    }
+
+    private static class Expression {
+
+        private final String source;
+        private final String paramPath;
+        private final JsonPath jsonPath;
+        private final String root;
+
+        Expression(String source, String paramPath) {
+            this.source = source;
+            this.paramPath = paramPath;
+            this.jsonPath = compilePath(paramPath);
+            this.root = getRoot(paramPath);
+        }
+
+        Object evaluate(DocumentContext documentContext, String taskId) {
+            if (EnvUtils.isEnvironmentVariable(paramPath)) {
+                String sysValue = EnvUtils.getSystemParametersValue(paramPath, taskId);
+                return sysValue != null ? sysValue : source;
+            }
+            try {
+                // an invalid path is read as is, to fail the same way as before it was compiled
+                return jsonPath != null
+                        ? documentContext.read(jsonPath)
+                        : documentContext.read(paramPath);
+            } catch (Exception e) {
+                LOGGER.warn(
+                        "Error reading documentContext for paramPath: {}. Exception: {}",
+                        paramPath,
+                        e);
+                return null;
+            }
+        }
+
+        private static JsonPath compilePath(String paramPath) {
+            try {
+                return JsonPath.compile(paramPath);
+            } catch (Exception e) {
+                return null;
+            }
+        }
+
+        private static String getRoot(String paramPath) {
+            Matcher matcher = ROOT_PROPERTY.matcher(paramPath);
+            if (matcher.find()) {
+                return matcher.group(1);
+            }
+            matcher = ROOT_BRACKET_PROPERTY.matcher(paramPath);
+            if (matcher.find()) {
+                return matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+            }
+            return null;
+        }
+    }
+}
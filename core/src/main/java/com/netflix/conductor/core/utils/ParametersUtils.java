@@ -15,19 +15,17 @@ package com.netflix.conductor.core.utils;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
-import org.apache.commons.lang3.StringUtils;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import com.netflix.conductor.common.metadata.tasks.TaskDef;
 import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
-import com.netflix.conductor.common.utils.EnvUtils;
 import com.netflix.conductor.common.utils.TaskUtils;
 import com.netflix.conductor.model.TaskModel;
 import com.netflix.conductor.model.WorkflowModel;
@@ -35,6 +33,8 @@ import com.netflix.conductor.model.WorkflowModel;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.JsonPath;
@@ -44,11 +44,15 @@ import com.jayway.jsonpath.Option;
 @Component
 public class ParametersUtils {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(ParametersUtils.class);
+    private static final int TEMPLATE_CACHE_SIZE = 10_000;
 
     private final ObjectMapper objectMapper;
     private final TypeReference<Map<String, Object>> map = new TypeReference<>() {};
 
+    /** The compiled string parameters, which recur for every task scheduled from a definition. */
+    private final Cache<String, ParameterTemplate> templates =
+            CacheBuilder.newBuilder().maximumSize(TEMPLATE_CACHE_SIZE).build();
+
     public ParametersUtils(ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
     }
@@ -69,19 +73,54 @@ public class ParametersUtils {
             WorkflowModel workflow,
             String taskId,
             TaskDef taskDefinition) {
-        Map<String, Object> inputParams;
-
-        if (input != null) {
-            inputParams = clone(input);
-        } else {
-            inputParams = new HashMap<>();
-        }
+        // The parameters are not cloned, since they are copied while being replaced
+        Map<String, Object> inputParams = input != null ? new HashMap<>(input) : new HashMap<>();
         if (taskDefinition != null && taskDefinition.getInputTemplate() != null) {
-            clone(taskDefinition.getInputTemplate()).forEach(inputParams::putIfAbsent);
+            taskDefinition.getInputTemplate().forEach(inputParams::putIfAbsent);
         }
 
+        // Only the parameters of the workflow and of the tasks that the expressions read from
+        // are gathered, unless an expression could read from any of them
+        Set<String> references = new HashSet<>();
+        boolean allReferencesKnown = collectReferences(inputParams, references);
+
         Map<String, Map<String, Object>> inputMap = new HashMap<>();
+        if (!allReferencesKnown || references.contains("workflow")) {
+            inputMap.put("workflow", getWorkflowParams(workflow));
+        }
+
+        // For new workflow being started the list of tasks will be empty
+        Map<String, String> referenceTaskNames = new HashMap<>();
+        for (TaskModel task : workflow.getTasks()) {
+            String referenceTaskName =
+                    task.isLoopOverTask()
+                            ? TaskUtils.removeIterationFromTaskRefName(task.getReferenceTaskName())
+                            : task.getReferenceTaskName();
+            if (!allReferencesKnown || references.contains(referenceTaskName)) {
+                referenceTaskNames.put(referenceTaskName, task.getReferenceTaskName());
+            }
+        }
+        referenceTaskNames.forEach(
+                (referenceTaskName, taskRefName) ->
+                        inputMap.put(
+                                referenceTaskName,
+                                getTaskParams(workflow.getTaskByRefName(taskRefName))));
+
+        Configuration option =
+                Configuration.defaultConfiguration().addOptions(Option.SUPPRESS_EXCEPTIONS);
+        DocumentContext documentContext = JsonPath.parse(inputMap, option);
+        Map<String, Object> replacedTaskInput = replace(inputParams, documentContext, taskId, true);
+        if (taskDefinition != null && taskDefinition.getInputTemplate() != null) {
+            // If input for a given key resolves to null, try replacing it with one from
+            // inputTemplate, if it exists.
+            replacedTaskInput.replaceAll(
+                    (key, value) ->
+                            (value == null) ? taskDefinition.getInputTemplate().get(key) : value);
+        }
+        return replacedTaskInput;
+    }
 
+    private Map<String, Object> getWorkflowParams(WorkflowModel workflow) {
         Map<String, Object> workflowParams = new HashMap<>();
         workflowParams.put("input", workflow.getInput());
         workflowParams.put("output", workflow.getOutput());
@@ -95,56 +134,58 @@ public class ParametersUtils {
         workflowParams.put("reasonForIncompletion", workflow.getReasonForIncompletion());
         workflowParams.put("schemaVersion", workflow.getWorkflowDefinition().getSchemaVersion());
         workflowParams.put("variables", workflow.getVariables());
+        return workflowParams;
+    }
 
-        inputMap.put("workflow", workflowParams);
-
-        // For new workflow being started the list of tasks will be empty
-        workflow.getTasks().stream()
-                .map(TaskModel::getReferenceTaskName)
-                .map(workflow::getTaskByRefName)
-                .forEach(
-                        task -> {
-                            Map<String, Object> taskParams = new HashMap<>();
-                            taskParams.put("input", task.getInputData());
-                            taskParams.put("output", task.getOutputData());
-                            taskParams.put("taskType", task.getTaskType());
-                            if (task.getStatus() != null) {
-                                taskParams.put("status", task.getStatus().toString());
-                            }
-                            taskParams.put("referenceTaskName", task.getReferenceTaskName());
-                            taskParams.put("retryCount", task.getRetryCount());
-                            taskParams.put("correlationId", task.getCorrelationId());
-                            taskParams.put("pollCount", task.getPollCount());
-                            taskParams.put("taskDefName", task.getTaskDefName());
-                            taskParams.put("scheduledTime", task.getScheduledTime());
-                            taskParams.put("startTime", task.getStartTime());
-                            taskParams.put("endTime", task.getEndTime());
-                            taskParams.put("workflowInstanceId", task.getWorkflowInstanceId());
-                            taskParams.put("taskId", task.getTaskId());
-                            taskParams.put(
-                                    "reasonForIncompletion", task.getReasonForIncompletion());
-                            taskParams.put("callbackAfterSeconds", task.getCallbackAfterSeconds());
-                            taskParams.put("workerId", task.getWorkerId());
-                            inputMap.put(
-                                    task.isLoopOverTask()
-                                            ? TaskUtils.removeIterationFromTaskRefName(
-                                                    task.getReferenceTaskName())
-                                            : task.getReferenceTaskName(),
-                                    taskParams);
-                        });
+    private Map<String, Object> getTaskParams(TaskModel task) {
+        Map<String, Object> taskParams = new HashMap<>();
+        taskParams.put("input", task.getInputData());
+        taskParams.put("output", task.getOutputData());
+        taskParams.put("taskType", task.getTaskType());
+        if (task.getStatus() != null) {
+            taskParams.put("status", task.getStatus().toString());
+        }
+        taskParams.put("referenceTaskName", task.getReferenceTaskName());
+        taskParams.put("retryCount", task.getRetryCount());
+        taskParams.put("correlationId", task.getCorrelationId());
+        taskParams.put("pollCount", task.getPollCount());
+        taskParams.put("taskDefName", task.getTaskDefName());
+        taskParams.put("scheduledTime", task.getScheduledTime());
+        taskParams.put("startTime", task.getStartTime());
+        taskParams.put("endTime", task.getEndTime());
+        taskParams.put("workflowInstanceId", task.getWorkflowInstanceId());
+        taskParams.put("taskId", task.getTaskId());
+        taskParams.put("reasonForIncompletion", task.getReasonForIncompletion());
+        taskParams.put("callbackAfterSeconds", task.getCallbackAfterSeconds());
+        taskParams.put("workerId", task.getWorkerId());
+        return taskParams;
+    }
 
-        Configuration option =
-                Configuration.defaultConfiguration().addOptions(Option.SUPPRESS_EXCEPTIONS);
-        DocumentContext documentContext = JsonPath.parse(inputMap, option);
-        Map<String, Object> replacedTaskInput = replace(inputParams, documentContext, taskId);
-        if (taskDefinition != null && taskDefinition.getInputTemplate() != null) {
-            // If input for a given key resolves to null, try replacing it with one from
-            // inputTemplate, if it exists.
-            replacedTaskInput.replaceAll(
-                    (key, value) ->
-                            (value == null) ? taskDefinition.getInputTemplate().get(key) : value);
+    /**
+     * Adds the workflow and task reference names that the expressions of {@literal value} read
+     * from to {@literal references}.
+     *
+     * @return false if an expression could read from any of them
+     */
+    @SuppressWarnings("unchecked")
+    private boolean collectReferences(Object value, Set<String> references) {
+        boolean known = true;
+        if (value instanceof String) {
+            ParameterTemplate template = getTemplate((String) value);
+            known = template == null || template.collectRoots(references);
+        } else if (value instanceof Map) {
+            for (Object entryValue : ((Map<String, Object>) value).values()) {
+                known &= collectReferences(entryValue, references);
+            }
+        } else if (value instanceof List) {
+            for (Object listVal : (List<?>) value) {
+                known &= collectReferences(listVal, references);
+            }
+        } else if (value != null && !(value instanceof Number) && !(value instanceof Boolean)) {
+            // the expressions of objects are only known once they are cloned
+            known = false;
         }
-        return replacedTaskInput;
+        return known;
     }
 
     // deep clone using json - POJO
@@ -167,7 +208,7 @@ public class ParametersUtils {
         Configuration option =
                 Configuration.defaultConfiguration().addOptions(Option.SUPPRESS_EXCEPTIONS);
         DocumentContext documentContext = JsonPath.parse(doc, option);
-        return replace(input, documentContext, null);
+        return replace(input, documentContext, null, false);
     }
 
     public Object replace(String paramString) {
@@ -177,100 +218,76 @@ public class ParametersUtils {
         return replaceVariables(paramString, documentContext, null);
     }
 
-    @SuppressWarnings("unchecked")
     private Map<String, Object> replace(
-            Map<String, Object> input, DocumentContext documentContext, String taskId) {
+            Map<String, Object> input,
+            DocumentContext documentContext,
+            String taskId,
+            boolean cloneObjects) {
         Map<String, Object> result = new HashMap<>();
         for (Entry<String, Object> e : input.entrySet()) {
-            Object newValue;
-            Object value = e.getValue();
-            if (value instanceof String) {
-                newValue = replaceVariables(value.toString(), documentContext, taskId);
-            } else if (value instanceof Map) {
-                // recursive call
-                newValue = replace((Map<String, Object>) value, documentContext, taskId);
-            } else if (value instanceof List) {
-                newValue = replaceList((List<?>) value, taskId, documentContext);
-            } else {
-                newValue = value;
-            }
-            result.put(e.getKey(), newValue);
+            result.put(
+                    e.getKey(), replaceValue(e.getValue(), documentContext, taskId, cloneObjects));
         }
         return result;
     }
 
-    @SuppressWarnings("unchecked")
-    private Object replaceList(List<?> values, String taskId, DocumentContext io) {
+    private Object replaceList(
+            List<?> values, String taskId, DocumentContext io, boolean cloneObjects) {
         List<Object> replacedList = new LinkedList<>();
         for (Object listVal : values) {
-            if (listVal instanceof String) {
-                Object replaced = replaceVariables(listVal.toString(), io, taskId);
-                replacedList.add(replaced);
-            } else if (listVal instanceof Map) {
-                Object replaced = replace((Map<String, Object>) listVal, io, taskId);
-                replacedList.add(replaced);
-            } else if (listVal instanceof List) {
-                Object replaced = replaceList((List<?>) listVal, taskId, io);
-                replacedList.add(replaced);
-            } else {
-                replacedList.add(listVal);
-            }
+            replacedList.add(replaceValue(listVal, io, taskId, cloneObjects));
         }
         return replacedList;
     }
 
+    /**
+     * @param cloneObjects whether the values that are neither maps, lists, strings, numbers nor
+     *     booleans are deep cloned into those using json, rather than returned as is
+     */
+    @SuppressWarnings("unchecked")
+    private Object replaceValue(
+            Object value, DocumentContext documentContext, String taskId, boolean cloneObjects) {
+        if (value instanceof String) {
+            return replaceVariables(value.toString(), documentContext, taskId);
+        } else if (value instanceof Map) {
+            // recursive call
+            return replace((Map<String, Object>) value, documentContext, taskId, cloneObjects);
+        } else if (value instanceof List) {
+            return replaceList((List<?>) value, taskId, documentContext, cloneObjects);
+        } else if (cloneObjects
+                && value != null
+                && !(value instanceof Number)
+                && !(value instanceof Boolean)) {
+            return replaceValue(cloneObject(value), documentContext, taskId, false);
+        }
+        return value;
+    }
+
+    private Object cloneObject(Object value) {
+        try {
+            return objectMapper.readValue(objectMapper.writeValueAsBytes(value), Object.class);
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to clone input params", e);
+        }
+    }
+
     private Object replaceVariables(
             String paramString, DocumentContext documentContext, String taskId) {
-        String[] values = paramString.split("(?=(?<!\\$)\\$\\{)|(?<=})");
-        Object[] convertedValues = new Object[values.length];
-        for (int i = 0; i < values.length; i++) {
-            convertedValues[i] = values[i];
-            if (values[i].startsWith("${") && values[i].endsWith("}")) {
-                String paramPath = values[i].substring(2, values[i].length() - 1);
-                // if the paramPath is blank, meaning no value in between ${ and }
-                // like ${}, ${  } etc, set the value to empty string
-                if (StringUtils.isBlank(paramPath)) {
-                    convertedValues[i] = "";
-                    continue;
-                }
-                if (EnvUtils.isEnvironmentVariable(paramPath)) {
-                    String sysValue = EnvUtils.getSystemParametersValue(paramPath, taskId);
-                    if (sysValue != null) {
-                        convertedValues[i] = sysValue;
-                    }
+        ParameterTemplate template = getTemplate(paramString);
+        return template != null ? template.evaluate(documentContext, taskId) : paramString;
+    }
 
-                } else {
-                    try {
-                        convertedValues[i] = documentContext.read(paramPath);
-                    } catch (Exception e) {
-                        LOGGER.warn(
-                                "Error reading documentContext for paramPath: {}. Exception: {}",
-                                paramPath,
-                                e);
-                        convertedValues[i] = null;
-                    }
-                }
-            } else if (values[i].contains("$${")) {
-                convertedValues[i] = values[i].replaceAll("\\$\\$\\{", "\\${");
-            }
+    /** @return the compiled parameter, null if it has no expression to replace */
+    private ParameterTemplate getTemplate(String paramString) {
+        if (!paramString.contains("${")) {
+            return null;
         }
-
-        Object retObj = convertedValues[0];
-        // If the parameter String was "v1 v2 v3" then make sure to stitch it back
-        if (convertedValues.length > 1) {
-            for (int i = 0; i < convertedValues.length; i++) {
-                Object val = convertedValues[i];
-                if (val == null) {
-                    val = "";
-                }
-                if (i == 0) {
-                    retObj = val;
-                } else {
-                    retObj = retObj + "" + val.toString();
-                }
-            }
+        ParameterTemplate template = templates.getIfPresent(paramString);
+        if (template == null) {
+            template = ParameterTemplate.compile(paramString);
+            templates.put(paramString, template);
         }
-        return retObj;
+        return template;
     }
 
     @Deprecated
@@ -13,6 +13,8 @@
 package com.netflix.conductor.dao;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 import com.netflix.conductor.common.metadata.events.EventExecution;
 import com.netflix.conductor.common.metadata.tasks.TaskDef;
@@ -50,6 +52,16 @@ public interface ExecutionDAO {
     /** @param task Task to be updated */
     void updateTask(TaskModel task);
 
+    /**
+     * Updates all the given tasks. Implementations may override this to write the tasks in fewer
+     * round trips, the default implementation updates them one by one.
+     *
+     * @param tasks Tasks to be updated
+     */
+    default void updateTasks(List<TaskModel> tasks) {
+        tasks.forEach(this::updateTask);
+    }
+
     /**
      * Checks if the number of tasks in progress for the given taskDef will exceed the limit if the
      * task is scheduled to be in progress (given to the worker or for system tasks start() method
@@ -143,6 +155,18 @@ public interface ExecutionDAO {
      */
     WorkflowModel getWorkflow(String workflowId, boolean includeTasks);
 
+    /**
+     * @param workflowIds workflow instance ids
+     * @return the workflows found, without their tasks, in no particular order. Workflows that do
+     *     not exist are skipped.
+     */
+    default List<WorkflowModel> getWorkflows(List<String> workflowIds) {
+        return workflowIds.stream()
+                .map(workflowId -> getWorkflow(workflowId, false))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
     /**
      * @param workflowName name of the workflow
      * @param version the workflow version
@@ -193,6 +217,15 @@ public interface ExecutionDAO {
      */
     boolean canSearchAcrossWorkflows();
 
+    /**
+     * @return true, if {@link #getPendingTasksByWorkflow(String, String)} reads only the pending
+     *     tasks of the workflow, false, if it reads all the tasks of the workflow and the callers
+     *     are better off using {@link #getTasksForWorkflow(String)} directly
+     */
+    default boolean canGetPendingTasksByWorkflow() {
+        return true;
+    }
+
     // Events
 
     /**
@@ -17,10 +17,12 @@ import java.util.concurrent.CompletableFuture;
 
 import com.netflix.conductor.common.metadata.events.EventExecution;
 import com.netflix.conductor.common.metadata.tasks.TaskExecLog;
+import com.netflix.conductor.common.run.ScrollSearchResult;
 import com.netflix.conductor.common.run.SearchResult;
 import com.netflix.conductor.common.run.TaskSummary;
 import com.netflix.conductor.common.run.WorkflowSummary;
 import com.netflix.conductor.core.events.queue.Message;
+import com.netflix.conductor.core.exception.ApplicationException;
 
 /** DAO to index the workflow and task details for searching. */
 public interface IndexDAO {
@@ -39,11 +41,27 @@ public interface IndexDAO {
      * This method should return an unique identifier of the indexed doc
      *
      * @param workflow Workflow to be indexed
-     * @return CompletableFuture of type void
+     * @return CompletableFuture of type void, which should be completed exceptionally if the
+     *     workflow could not be indexed
      */
     CompletableFuture<Void> asyncIndexWorkflow(WorkflowSummary workflow);
 
-    /** @param task Task to be indexed */
+    /**
+     * Indexes the given workflows, in a single request where supported.
+     *
+     * @param workflows Workflows to be indexed
+     */
+    default void indexWorkflows(List<WorkflowSummary> workflows) {
+        workflows.forEach(this::indexWorkflow);
+    }
+
+    /**
+     * Indexes the given task. Implementations may buffer it and index it in bulk after this method
+     * returns, in which case a failure to index it is logged rather than thrown, and only retried
+     * if the index rejected it for being overloaded.
+     *
+     * @param task Task to be indexed
+     */
     void indexTask(TaskSummary task);
 
     /**
@@ -74,6 +92,45 @@ public interface IndexDAO {
     SearchResult<String> searchTasks(
             String query, String freeText, int start, int count, List<String> sort);
 
+    /**
+     * Searches workflows page by page, each page resuming after the last workflow of the previous
+     * one, so that a page costs the same however deep it is in the results.
+     *
+     * @param query SQL like query for workflow search parameters.
+     * @param freeText Additional query in free text. Lucene syntax
+     * @param continuationToken the continuation token of the previous page, null for the first page
+     * @param count # of workflow ids to be returned
+     * @param sort sort options, which must be the same for all the pages
+     * @return the workflow ids of the page, with the continuation token of the next page
+     * @throws ApplicationException with {@link ApplicationException.Code#INVALID_INPUT} if the
+     *     index does not support scroll searches
+     */
+    default ScrollSearchResult<String> scrollWorkflows(
+            String query, String freeText, String continuationToken, int count, List<String> sort) {
+        throw new ApplicationException(
+                ApplicationException.Code.INVALID_INPUT,
+                getClass().getSimpleName()
+                        + " does not support scrollWorkflows, use search instead");
+    }
+
+    /**
+     * Searches tasks page by page, each page resuming after the last task of the previous page.
+     *
+     * @param query SQL like query for task search parameters.
+     * @param freeText Additional query in free text. Lucene syntax
+     * @param continuationToken the continuation token of the previous page, null for the first page
+     * @param count # of task ids to be returned
+     * @param sort sort options, which must be the same for all the pages
+     * @return the task ids of the page, with the continuation token of the next page
+     * @see #scrollWorkflows(String, String, String, int, List)
+     */
+    default ScrollSearchResult<String> scrollTasks(
+            String query, String freeText, String continuationToken, int count, List<String> sort) {
+        throw new ApplicationException(
+                ApplicationException.Code.INVALID_INPUT,
+                getClass().getSimpleName() + " does not support scrollTasks, use search instead");
+    }
+
     /**
      * Remove the workflow index
      *
@@ -109,6 +166,32 @@ public interface IndexDAO {
     CompletableFuture<Void> asyncUpdateWorkflow(
             String workflowInstanceId, String[] keys, Object[] values);
 
+    /**
+     * Updates the given fields of the workflow, or indexes its whole summary if it is not indexed
+     * yet. Indexes the whole summary by default.
+     *
+     * @param workflow the summary of the workflow, indexed if it is not indexed yet
+     * @param keys keys to be updated
+     * @param values values. Number of keys and values MUST match.
+     */
+    default void upsertWorkflow(WorkflowSummary workflow, String[] keys, Object[] values) {
+        indexWorkflow(workflow);
+    }
+
+    /**
+     * Updates the given fields of the workflow, or indexes its whole summary if it is not indexed
+     * yet. Indexes the whole summary by default.
+     *
+     * @param workflow the summary of the workflow, indexed if it is not indexed yet
+     * @param keys keys to be updated
+     * @param values values. Number of keys and values MUST match.
+     * @return CompletableFuture of type void, completed exceptionally if the update failed
+     */
+    default CompletableFuture<Void> asyncUpsertWorkflow(
+            WorkflowSummary workflow, String[] keys, Object[] values) {
+        return asyncIndexWorkflow(workflow);
+    }
+
     /**
      * Retrieves a specific field from the index
      *
@@ -133,7 +216,13 @@ public interface IndexDAO {
      */
     List<TaskExecLog> getTaskExecutionLogs(String taskId);
 
-    /** @param eventExecution Event Execution to be indexed */
+    /**
+     * Indexes the given event execution. Implementations may buffer it and index it in bulk after
+     * this method returns, in which case a failure to index it is logged rather than thrown, and
+     * only retried if the index rejected it for being overloaded.
+     *
+     * @param eventExecution Event Execution to be indexed
+     */
     void addEventExecution(EventExecution eventExecution);
 
     List<EventExecution> getEventExecutions(String event);
@@ -145,7 +234,9 @@ public interface IndexDAO {
     CompletableFuture<Void> asyncAddEventExecution(EventExecution eventExecution);
 
     /**
-     * Adds an incoming external message into the index
+     * Adds an incoming external message into the index. Implementations may buffer it and index it
+     * in bulk after this method returns, in which case a failure to index it is logged rather than
+     * thrown, and only retried if the index rejected it for being overloaded.
      *
      * @param queue Name of the registered queue
      * @param msg Message
@@ -28,6 +28,17 @@ public interface PollDataDAO {
      */
     void updateLastPollData(String taskDefName, String domain, String workerId);
 
+    /**
+     * Updates the {@link PollData} information of a task queue with a poll that may have happened
+     * some time ago, keeping its {@link PollData#getLastPollTime()}. The default implementation
+     * records the poll as happening now.
+     *
+     * @param pollData the poll of the task queue, as recorded when it happened
+     */
+    default void updateLastPollData(PollData pollData) {
+        updateLastPollData(pollData.getQueueName(), pollData.getDomain(), pollData.getWorkerId());
+    }
+
     /**
      * Retrieve the {@link PollData} for the given task in the given domain.
      *
@@ -520,6 +520,17 @@ public class Monitors {
                 .record(val, TimeUnit.MILLISECONDS);
     }
 
+    public static void recordESBulkRequest(String docType, int numberOfActions, long sizeInBytes) {
+        distributionSummary(
+                classQualifier, "es_bulk_request_actions", numberOfActions, "docType", docType);
+        distributionSummary(
+                classQualifier, "es_bulk_request_bytes", sizeInBytes, "docType", docType);
+    }
+
+    public static void recordESQueryCacheMiss() {
+        counter(classQualifier, "es_query_cache_miss");
+    }
+
     public static void recordWorkerQueueSize(String queueType, int val) {
         gauge(Monitors.classQualifier, "indexing_worker_queue", val, "queueType", queueType);
     }
@@ -565,4 +576,77 @@ public class Monitors {
     public static void recordQueueMessageRepushFromRepairService(String queueName) {
         counter(classQualifier, "queue_message_repushed", "queueName", queueName);
     }
+
+    public static void recordWorkflowSweepTime(long duration) {
+        getTimer(classQualifier, "workflow_sweep_time").record(duration, TimeUnit.MILLISECONDS);
+    }
+
+    public static void recordSweeperSlotsInUse(int inUse, int total) {
+        gauge(classQualifier, "workflow_sweeper_slots_in_use", inUse);
+        gauge(classQualifier, "workflow_sweeper_slots_total", total);
+    }
+
+    public static void recordPollDataCacheHit(long staleness) {
+        counter(classQualifier, "poll_data_cache_hit");
+        distributionSummary(classQualifier, "poll_data_cache_staleness", staleness);
+    }
+
+    public static void recordPollDataCacheMiss() {
+        counter(classQualifier, "poll_data_cache_miss");
+    }
+
+    public static void recordPollDataFlushSize(int count) {
+        distributionSummary(classQualifier, "poll_data_flush_size", count);
+    }
+
+    public static void recordDelayedIndexLag(long lag) {
+        getTimer(classQualifier, "delayed_index_lag").record(lag, TimeUnit.MILLISECONDS);
+    }
+
+    public static void recordIncrementalIndex(String docType, String update) {
+        counter(classQualifier, "incremental_index", "docType", docType, "update", update);
+    }
+
+    public static void recordDaoPayloadSerialization(
+            String dao, String payloadType, String action, long timeNanos) {
+        getTimer(
+                        classQualifier,
+                        "dao_payload_serialization",
+                        "dao",
+                        dao,
+                        "payloadType",
+                        payloadType,
+                        "action",
+                        action)
+                .record(timeNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public static void recordScriptEvaluation(String scriptId, long timeNanos) {
+        getTimer(classQualifier, "script_evaluation", "scriptId", scriptId)
+                .record(timeNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public static void recordPendingTaskLookupFallback() {
+        counter(classQualifier, "pending_task_lookup_fallback");
+    }
+
+    public static void recordDaoStoredPayloadSize(
+            String dao, String payloadType, int size, int storedSize) {
+        distributionSummary(
+                classQualifier,
+                "dao_payload_json_size",
+                size,
+                "dao",
+                dao,
+                "payloadType",
+                payloadType);
+        distributionSummary(
+                classQualifier,
+                "dao_payload_stored_size",
+                storedSize,
+                "dao",
+                dao,
+                "payloadType",
+                payloadType);
+    }
 }
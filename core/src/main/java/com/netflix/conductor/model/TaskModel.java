@@ -12,6 +12,9 @@
  */
 package com.netflix.conductor.model;
 
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -23,6 +26,8 @@ import org.springframework.beans.BeanUtils;
 import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.TaskDef;
 import com.netflix.conductor.common.metadata.workflow.WorkflowTask;
+import com.netflix.conductor.common.run.TaskSummary;
+import com.netflix.conductor.common.utils.SummaryUtil;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -30,6 +35,9 @@ import com.google.protobuf.Any;
 
 public class TaskModel {
 
+    private static final DateTimeFormatter SUMMARY_TIME_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'").withZone(ZoneOffset.UTC);
+
     public enum Status {
         IN_PROGRESS(false, true, true),
         CANCELED(true, false, false),
@@ -804,6 +812,51 @@ public class TaskModel {
         return task;
     }
 
+    /**
+     * @return the same summary as {@code new TaskSummary(toTask())}, without copying the task
+     */
+    public TaskSummary toTaskSummary() {
+        TaskSummary summary = new TaskSummary();
+        summary.setTaskId(taskId);
+        summary.setTaskDefName(getTaskDefName());
+        summary.setTaskType(taskType);
+        summary.setWorkflowId(workflowInstanceId);
+        summary.setWorkflowType(workflowType);
+        summary.setWorkflowPriority(workflowPriority);
+        summary.setCorrelationId(correlationId);
+        summary.setScheduledTime(formatSummaryTime(scheduledTime));
+        summary.setStartTime(formatSummaryTime(startTime));
+        summary.setUpdateTime(formatSummaryTime(updateTime));
+        summary.setEndTime(formatSummaryTime(endTime));
+        summary.setStatus(mapToTaskStatus(status));
+        summary.setReasonForIncompletion(reasonForIncompletion);
+        summary.setQueueWaitTime(getQueueWaitTime());
+        Map<String, Object> summaryInput =
+                externalInputPayloadStoragePath != null ? new HashMap<>() : inputData;
+        if (summaryInput != null) {
+            summary.setInput(SummaryUtil.serializeInputOutput(summaryInput));
+        }
+        Map<String, Object> summaryOutput =
+                externalOutputPayloadStoragePath != null ? new HashMap<>() : outputData;
+        if (summaryOutput != null) {
+            summary.setOutput(SummaryUtil.serializeInputOutput(summaryOutput));
+        }
+        if (endTime > 0) {
+            summary.setExecutionTime(endTime - startTime);
+        }
+        if (StringUtils.isNotBlank(externalInputPayloadStoragePath)) {
+            summary.setExternalInputPayloadStoragePath(externalInputPayloadStoragePath);
+        }
+        if (StringUtils.isNotBlank(externalOutputPayloadStoragePath)) {
+            summary.setExternalOutputPayloadStoragePath(externalOutputPayloadStoragePath);
+        }
+        return summary;
+    }
+
+    private static String formatSummaryTime(long time) {
+        return SUMMARY_TIME_FORMAT.format(Instant.ofEpochMilli(time));
+    }
+
     public static Task.Status mapToTaskStatus(TaskModel.Status status) {
         return Task.Status.valueOf(status.name());
     }
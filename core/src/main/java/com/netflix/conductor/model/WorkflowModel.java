@@ -12,6 +12,9 @@
  */
 package com.netflix.conductor.model;
 
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -20,6 +23,8 @@ import org.springframework.beans.BeanUtils;
 
 import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
 import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.common.run.WorkflowSummary;
+import com.netflix.conductor.common.utils.SummaryUtil;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -27,6 +32,9 @@ import com.google.common.base.Preconditions;
 
 public class WorkflowModel {
 
+    private static final DateTimeFormatter SUMMARY_TIME_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'").withZone(ZoneOffset.UTC);
+
     public enum Status {
         RUNNING(false, false),
         COMPLETED(true, true),
@@ -531,6 +539,7 @@ public class WorkflowModel {
         BeanUtils.copyProperties(this, workflow);
         workflow.setStatus(Workflow.WorkflowStatus.valueOf(this.status.name()));
         workflow.setTasks(tasks.stream().map(TaskModel::toTask).collect(Collectors.toList()));
+        workflow.setUpdateTime(updatedTime);
 
         // ensure that input/output is properly represented
         if (externalInputPayloadStoragePath != null) {
@@ -541,4 +550,48 @@ public class WorkflowModel {
         }
         return workflow;
     }
+
+    /**
+     * @return the same summary as {@code new WorkflowSummary(toWorkflow())}, without copying the
+     *     workflow and its tasks
+     */
+    public WorkflowSummary toWorkflowSummary() {
+        WorkflowSummary summary = new WorkflowSummary();
+        summary.setWorkflowType(getWorkflowName());
+        summary.setVersion(getWorkflowVersion());
+        summary.setWorkflowId(workflowId);
+        summary.setPriority(priority);
+        summary.setCorrelationId(correlationId);
+        if (createTime != null) {
+            summary.setStartTime(SUMMARY_TIME_FORMAT.format(Instant.ofEpochMilli(createTime)));
+        }
+        if (endTime > 0) {
+            summary.setEndTime(SUMMARY_TIME_FORMAT.format(Instant.ofEpochMilli(endTime)));
+            summary.setExecutionTime(endTime - createTime);
+        }
+        if (updatedTime != null) {
+            summary.setUpdateTime(SUMMARY_TIME_FORMAT.format(Instant.ofEpochMilli(updatedTime)));
+        }
+        summary.setStatus(Workflow.WorkflowStatus.valueOf(status.name()));
+        Map<String, Object> summaryInput =
+                externalInputPayloadStoragePath != null ? new HashMap<>() : input;
+        if (summaryInput != null) {
+            summary.setInput(SummaryUtil.serializeInputOutput(summaryInput));
+        }
+        Map<String, Object> summaryOutput =
+                externalOutputPayloadStoragePath != null ? new HashMap<>() : output;
+        if (summaryOutput != null) {
+            summary.setOutput(SummaryUtil.serializeInputOutput(summaryOutput));
+        }
+        summary.setReasonForIncompletion(reasonForIncompletion);
+        summary.setEvent(event);
+        summary.setFailedReferenceTaskNames(String.join(",", failedReferenceTaskNames));
+        if (StringUtils.isNotBlank(externalInputPayloadStoragePath)) {
+            summary.setExternalInputPayloadStoragePath(externalInputPayloadStoragePath);
+        }
+        if (StringUtils.isNotBlank(externalOutputPayloadStoragePath)) {
+            summary.setExternalOutputPayloadStoragePath(externalOutputPayloadStoragePath);
+        }
+        return summary;
+    }
 }
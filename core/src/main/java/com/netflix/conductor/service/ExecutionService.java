@@ -16,11 +16,14 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -35,6 +38,7 @@ import com.netflix.conductor.common.metadata.tasks.TaskDef;
 import com.netflix.conductor.common.metadata.tasks.TaskExecLog;
 import com.netflix.conductor.common.metadata.tasks.TaskResult;
 import com.netflix.conductor.common.run.ExternalStorageLocation;
+import com.netflix.conductor.common.run.ScrollSearchResult;
 import com.netflix.conductor.common.run.SearchResult;
 import com.netflix.conductor.common.run.TaskSummary;
 import com.netflix.conductor.common.run.Workflow;
@@ -131,9 +135,49 @@ public class ExecutionService {
             Monitors.recordTaskPollError(taskType, domain, e.getClass().getSimpleName());
         }
 
+        if (!taskIds.isEmpty()) {
+            tasks = startPolledTasks(taskIds, queueName, taskType, workerId, domain);
+        }
+        executionDAOFacade.updateTaskLastPoll(taskType, domain, workerId);
+        Monitors.recordTaskPoll(queueName);
+        return tasks;
+    }
+
+    /**
+     * Moves the polled tasks to IN_PROGRESS. All the tasks are loaded with a single multi-get and
+     * the tasks without a concurrency limit are written back with a single bulk update. Once a task
+     * definition has reached its concurrency or rate limit, the remaining tasks of that definition
+     * in the batch are postponed without checking the limits again.
+     */
+    private List<Task> startPolledTasks(
+            List<String> taskIds,
+            String queueName,
+            String taskType,
+            String workerId,
+            String domain) {
+        Map<String, TaskModel> taskModels;
+        try {
+            taskModels =
+                    executionDAOFacade.getTaskModels(taskIds).stream()
+                            .collect(
+                                    Collectors.toMap(
+                                            TaskModel::getTaskId, Function.identity(), (a, b) -> a));
+        } catch (Exception e) {
+            // db operation failed for dequeued messages, re-enqueue with a delay
+            LOGGER.warn("DB operation failed for tasks: {}, postponing tasks in queue", taskIds, e);
+            Monitors.recordTaskPollError(taskType, domain, e.getClass().getSimpleName());
+            taskIds.forEach(
+                    taskId -> queueDAO.postpone(queueName, taskId, 0, queueTaskMessagePostponeSecs));
+            return Collections.emptyList();
+        }
+
+        Set<String> limitedTaskDefs = new HashSet<>();
+        Map<String, Integer> startedPerTaskDef = new HashMap<>();
+        List<TaskModel> startedTasks = new ArrayList<>(taskIds.size());
+        List<Task> polledTasks = new ArrayList<>(taskIds.size());
         for (String taskId : taskIds) {
             try {
-                TaskModel taskModel = executionDAOFacade.getTaskModel(taskId);
+                TaskModel taskModel = taskModels.get(taskId);
                 if (taskModel == null || taskModel.getStatus().isTerminal()) {
                     // Remove taskId(s) without a valid Task/terminal state task from the queue
                     queueDAO.remove(queueName, taskId);
@@ -141,7 +185,11 @@ public class ExecutionService {
                     continue;
                 }
 
-                if (executionDAOFacade.exceedsInProgressLimit(taskModel)) {
+                String taskDefName = taskModel.getTaskDefName();
+                if (limitedTaskDefs.contains(taskDefName)
+                        || reachedConcurrencyLimitInBatch(taskModel, startedPerTaskDef)
+                        || executionDAOFacade.exceedsInProgressLimit(taskModel)) {
+                    limitedTaskDefs.add(taskDefName);
                     // Postpone this message, so that it would be available for poll again.
                     queueDAO.postpone(
                             queueName,
@@ -161,6 +209,7 @@ public class ExecutionService {
                                 : null;
                 if (taskModel.getRateLimitPerFrequency() > 0
                         && executionDAOFacade.exceedsRateLimitPerFrequency(taskModel, taskDef)) {
+                    limitedTaskDefs.add(taskDefName);
                     // Postpone this message, so that it would be available for poll again.
                     queueDAO.postpone(
                             queueName,
@@ -185,8 +234,15 @@ public class ExecutionService {
                         0); // reset callbackAfterSeconds when giving the task to the worker
                 taskModel.setWorkerId(workerId);
                 taskModel.incrementPollCount();
-                executionDAOFacade.updateTask(taskModel);
-                tasks.add(taskModel.toTask());
+                if (concurrencyLimit(taskModel) > 0) {
+                    // the in progress count of the datastore must reflect this task before the
+                    // limit of the next one is checked
+                    executionDAOFacade.updateTask(taskModel);
+                    polledTasks.add(taskModel.toTask());
+                } else {
+                    startedTasks.add(taskModel);
+                }
+                startedPerTaskDef.merge(taskDefName, 1, Integer::sum);
             } catch (Exception e) {
                 // db operation failed for dequeued message, re-enqueue with a delay
                 LOGGER.warn(
@@ -195,9 +251,41 @@ public class ExecutionService {
                 queueDAO.postpone(queueName, taskId, 0, queueTaskMessagePostponeSecs);
             }
         }
-        executionDAOFacade.updateTaskLastPoll(taskType, domain, workerId);
-        Monitors.recordTaskPoll(queueName);
-        return tasks;
+
+        if (startedTasks.isEmpty()) {
+            return polledTasks;
+        }
+        try {
+            executionDAOFacade.updateTasks(startedTasks);
+            startedTasks.forEach(taskModel -> polledTasks.add(taskModel.toTask()));
+        } catch (Exception e) {
+            // db operation failed for dequeued messages, re-enqueue with a delay
+            LOGGER.warn("DB operation failed for polled tasks, postponing tasks in queue", e);
+            Monitors.recordTaskPollError(taskType, domain, e.getClass().getSimpleName());
+            startedTasks.forEach(
+                    taskModel ->
+                            queueDAO.postpone(
+                                    queueName,
+                                    taskModel.getTaskId(),
+                                    0,
+                                    queueTaskMessagePostponeSecs));
+        }
+        return polledTasks;
+    }
+
+    private int concurrencyLimit(TaskModel taskModel) {
+        return taskModel.getTaskDefinition().map(TaskDef::concurrencyLimit).orElse(0);
+    }
+
+    /**
+     * @return true if the tasks started so far in this batch already fill the concurrency limit
+     *     of the task definition, in which case the datastore does not need to be checked
+     */
+    private boolean reachedConcurrencyLimitInBatch(
+            TaskModel taskModel, Map<String, Integer> startedPerTaskDef) {
+        int limit = concurrencyLimit(taskModel);
+        return limit > 0
+                && startedPerTaskDef.getOrDefault(taskModel.getTaskDefName(), 0) >= limit;
     }
 
     public Task getLastPollTask(String taskType, String workerId, String domain) {
@@ -401,20 +489,8 @@ public class ExecutionService {
         SearchResult<String> result =
                 executionDAOFacade.searchWorkflows(query, freeText, start, size, sortOptions);
         List<WorkflowSummary> workflows =
-                result.getResults().stream()
-                        .parallel()
-                        .map(
-                                workflowId -> {
-                                    try {
-                                        return new WorkflowSummary(
-                                                executionDAOFacade.getWorkflow(workflowId, false));
-                                    } catch (Exception e) {
-                                        LOGGER.error(
-                                                "Error fetching workflow by id: {}", workflowId, e);
-                                        return null;
-                                    }
-                                })
-                        .filter(Objects::nonNull)
+                executionDAOFacade.getWorkflows(result.getResults()).stream()
+                        .map(WorkflowSummary::new)
                         .collect(Collectors.toList());
         int missing = result.getResults().size() - workflows.size();
         long totalHits = result.getTotalHits() - missing;
@@ -426,21 +502,7 @@ public class ExecutionService {
 
         SearchResult<String> result =
                 executionDAOFacade.searchWorkflows(query, freeText, start, size, sortOptions);
-        List<Workflow> workflows =
-                result.getResults().stream()
-                        .parallel()
-                        .map(
-                                workflowId -> {
-                                    try {
-                                        return executionDAOFacade.getWorkflow(workflowId, false);
-                                    } catch (Exception e) {
-                                        LOGGER.error(
-                                                "Error fetching workflow by id: {}", workflowId, e);
-                                        return null;
-                                    }
-                                })
-                        .filter(Objects::nonNull)
-                        .collect(Collectors.toList());
+        List<Workflow> workflows = executionDAOFacade.getWorkflows(result.getResults());
         int missing = result.getResults().size() - workflows.size();
         long totalHits = result.getTotalHits() - missing;
         return new SearchResult<>(totalHits, workflows);
@@ -451,23 +513,8 @@ public class ExecutionService {
         SearchResult<TaskSummary> taskSummarySearchResult =
                 searchTasks(query, freeText, start, size, sortOptions);
         List<WorkflowSummary> workflowSummaries =
-                taskSummarySearchResult.getResults().stream()
-                        .parallel()
-                        .map(
-                                taskSummary -> {
-                                    try {
-                                        String workflowId = taskSummary.getWorkflowId();
-                                        return new WorkflowSummary(
-                                                executionDAOFacade.getWorkflow(workflowId, false));
-                                    } catch (Exception e) {
-                                        LOGGER.error(
-                                                "Error fetching workflow by id: {}",
-                                                taskSummary.getWorkflowId(),
-                                                e);
-                                        return null;
-                                    }
-                                })
-                        .filter(Objects::nonNull)
+                getWorkflowsOfTasks(taskSummarySearchResult.getResults()).stream()
+                        .map(WorkflowSummary::new)
                         .distinct()
                         .collect(Collectors.toList());
         int missing = taskSummarySearchResult.getResults().size() - workflowSummaries.size();
@@ -480,22 +527,7 @@ public class ExecutionService {
         SearchResult<TaskSummary> taskSummarySearchResult =
                 searchTasks(query, freeText, start, size, sortOptions);
         List<Workflow> workflows =
-                taskSummarySearchResult.getResults().stream()
-                        .parallel()
-                        .map(
-                                taskSummary -> {
-                                    try {
-                                        String workflowId = taskSummary.getWorkflowId();
-                                        return executionDAOFacade.getWorkflow(workflowId, false);
-                                    } catch (Exception e) {
-                                        LOGGER.error(
-                                                "Error fetching workflow by id: {}",
-                                                taskSummary.getWorkflowId(),
-                                                e);
-                                        return null;
-                                    }
-                                })
-                        .filter(Objects::nonNull)
+                getWorkflowsOfTasks(taskSummarySearchResult.getResults()).stream()
                         .distinct()
                         .collect(Collectors.toList());
         int missing = taskSummarySearchResult.getResults().size() - workflows.size();
@@ -503,30 +535,73 @@ public class ExecutionService {
         return new SearchResult<>(totalHits, workflows);
     }
 
+    /** @return the workflow of each task, in the order of the tasks */
+    private List<Workflow> getWorkflowsOfTasks(List<TaskSummary> taskSummaries) {
+        List<String> workflowIds =
+                taskSummaries.stream().map(TaskSummary::getWorkflowId).collect(Collectors.toList());
+        Map<String, Workflow> workflows =
+                executionDAOFacade.getWorkflows(workflowIds).stream()
+                        .collect(
+                                Collectors.toMap(
+                                        Workflow::getWorkflowId,
+                                        Function.identity(),
+                                        (a, b) -> a));
+        return workflowIds.stream()
+                .map(workflows::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
     public SearchResult<TaskSummary> searchTasks(
             String query, String freeText, int start, int size, List<String> sortOptions) {
 
         SearchResult<String> result =
                 executionDAOFacade.searchTasks(query, freeText, start, size, sortOptions);
         List<TaskSummary> workflows =
-                result.getResults().stream()
-                        .parallel()
-                        .map(
-                                task -> {
-                                    try {
-                                        return new TaskSummary(executionDAOFacade.getTask(task));
-                                    } catch (Exception e) {
-                                        LOGGER.error("Error fetching task by id: {}", task, e);
-                                        return null;
-                                    }
-                                })
-                        .filter(Objects::nonNull)
+                executionDAOFacade.getTasks(result.getResults()).stream()
+                        .map(TaskSummary::new)
                         .collect(Collectors.toList());
         int missing = result.getResults().size() - workflows.size();
         long totalHits = result.getTotalHits() - missing;
         return new SearchResult<>(totalHits, workflows);
     }
 
+    public ScrollSearchResult<WorkflowSummary> scrollWorkflows(
+            String query,
+            String freeText,
+            String continuationToken,
+            int size,
+            List<String> sortOptions) {
+        ScrollSearchResult<String> result =
+                executionDAOFacade.scrollWorkflows(
+                        query, freeText, continuationToken, size, sortOptions);
+        List<WorkflowSummary> workflows =
+                executionDAOFacade.getWorkflows(result.getResults()).stream()
+                        .map(WorkflowSummary::new)
+                        .collect(Collectors.toList());
+        int missing = result.getResults().size() - workflows.size();
+        long totalHits = result.getTotalHits() - missing;
+        return new ScrollSearchResult<>(totalHits, workflows, result.getContinuationToken());
+    }
+
+    public ScrollSearchResult<TaskSummary> scrollTasks(
+            String query,
+            String freeText,
+            String continuationToken,
+            int size,
+            List<String> sortOptions) {
+        ScrollSearchResult<String> result =
+                executionDAOFacade.scrollTasks(
+                        query, freeText, continuationToken, size, sortOptions);
+        List<TaskSummary> tasks =
+                executionDAOFacade.getTasks(result.getResults()).stream()
+                        .map(TaskSummary::new)
+                        .collect(Collectors.toList());
+        int missing = result.getResults().size() - tasks.size();
+        long totalHits = result.getTotalHits() - missing;
+        return new ScrollSearchResult<>(totalHits, tasks, result.getContinuationToken());
+    }
+
     public SearchResult<TaskSummary> getSearchTasks(
             String query,
             String freeText,
@@ -542,20 +617,7 @@ public class ExecutionService {
         SearchResult<String> result =
                 executionDAOFacade.searchTasks(
                         query, freeText, start, size, Utils.convertStringToList(sortString));
-        List<Task> tasks =
-                result.getResults().stream()
-                        .parallel()
-                        .map(
-                                task -> {
-                                    try {
-                                        return executionDAOFacade.getTask(task);
-                                    } catch (Exception e) {
-                                        LOGGER.error("Error fetching task by id: {}", task, e);
-                                        return null;
-                                    }
-                                })
-                        .filter(Objects::nonNull)
-                        .collect(Collectors.toList());
+        List<Task> tasks = executionDAOFacade.getTasks(result.getResults());
         int missing = result.getResults().size() - tasks.size();
         long totalHits = result.getTotalHits() - missing;
         return new SearchResult<>(totalHits, tasks);
@@ -23,6 +23,7 @@ import com.netflix.conductor.common.metadata.tasks.TaskDef;
 import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
 import com.netflix.conductor.core.WorkflowContext;
 import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.core.events.EventHandlerRegistry;
 import com.netflix.conductor.core.exception.ApplicationException;
 import com.netflix.conductor.core.exception.ApplicationException.Code;
 import com.netflix.conductor.dao.EventHandlerDAO;
@@ -34,6 +35,7 @@ public class MetadataServiceImpl implements MetadataService {
 
     private final MetadataDAO metadataDAO;
     private final EventHandlerDAO eventHandlerDAO;
+    private final EventHandlerRegistry eventHandlerRegistry;
 
     public MetadataServiceImpl(
             MetadataDAO metadataDAO,
@@ -41,6 +43,9 @@ public class MetadataServiceImpl implements MetadataService {
             ConductorProperties properties) {
         this.metadataDAO = metadataDAO;
         this.eventHandlerDAO = eventHandlerDAO;
+        this.eventHandlerRegistry =
+                new EventHandlerRegistry(
+                        eventHandlerDAO, properties.getEventHandlerRefreshInterval());
 
         ValidationContext.initialize(metadataDAO);
         OwnerEmailMandatoryConstraint.WorkflowTaskValidValidator.setOwnerEmailMandatory(
@@ -169,16 +174,19 @@ public class MetadataServiceImpl implements MetadataService {
      */
     public void addEventHandler(EventHandler eventHandler) {
         eventHandlerDAO.addEventHandler(eventHandler);
+        eventHandlerRegistry.invalidate();
     }
 
     /** @param eventHandler Event handler to be updated. */
     public void updateEventHandler(EventHandler eventHandler) {
         eventHandlerDAO.updateEventHandler(eventHandler);
+        eventHandlerRegistry.invalidate();
     }
 
     /** @param name Removes the event handler from the system */
     public void removeEventHandlerStatus(String name) {
         eventHandlerDAO.removeEventHandler(name);
+        eventHandlerRegistry.invalidate();
     }
 
     /** @return All the event handlers registered in the system */
@@ -192,6 +200,6 @@ public class MetadataServiceImpl implements MetadataService {
      * @return Returns the list of all the event handlers for a given event
      */
     public List<EventHandler> getEventHandlersForEvent(String event, boolean activeOnly) {
-        return eventHandlerDAO.getEventHandlersForEvent(event, activeOnly);
+        return eventHandlerRegistry.getEventHandlersForEvent(event, activeOnly);
     }
 }
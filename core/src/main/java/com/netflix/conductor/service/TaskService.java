@@ -16,6 +16,7 @@ import java.util.List;
 import java.util.Map;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
 
@@ -26,6 +27,7 @@ import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.TaskExecLog;
 import com.netflix.conductor.common.metadata.tasks.TaskResult;
 import com.netflix.conductor.common.run.ExternalStorageLocation;
+import com.netflix.conductor.common.run.ScrollSearchResult;
 import com.netflix.conductor.common.run.SearchResult;
 import com.netflix.conductor.common.run.TaskSummary;
 
@@ -217,6 +219,28 @@ public interface TaskService {
     SearchResult<TaskSummary> search(
             int start, int size, String sort, String freeText, String query);
 
+    /**
+     * Search for tasks page by page, each page resuming after the last task of the previous one,
+     * so that deep pages cost as much as the first one.
+     *
+     * @param size Number of entries
+     * @param sort Sorting type ASC|DESC, the same for all the pages
+     * @param freeText Text you want to search
+     * @param query Query you want to search
+     * @param continuationToken Token returned with the previous page, null for the first page
+     * @return instance of {@link ScrollSearchResult}
+     */
+    ScrollSearchResult<TaskSummary> scrollTasks(
+            @Max(
+                            value = 5_000,
+                            message =
+                                    "Cannot return more than {value} tasks. Please use pagination.")
+                    int size,
+            String sort,
+            String freeText,
+            String query,
+            String continuationToken);
+
     /**
      * Search for tasks based in payload and other parameters. Use sort options as ASC or DESC e.g.
      * sort=name or sort=workflowId. If order is not specified, defaults to ASC.
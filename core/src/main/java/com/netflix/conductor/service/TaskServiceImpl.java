@@ -31,10 +31,12 @@ import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.TaskExecLog;
 import com.netflix.conductor.common.metadata.tasks.TaskResult;
 import com.netflix.conductor.common.run.ExternalStorageLocation;
+import com.netflix.conductor.common.run.ScrollSearchResult;
 import com.netflix.conductor.common.run.SearchResult;
 import com.netflix.conductor.common.run.TaskSummary;
 import com.netflix.conductor.common.utils.ExternalPayloadStorage;
 import com.netflix.conductor.common.utils.RetryUtil;
+import com.netflix.conductor.core.utils.Utils;
 import com.netflix.conductor.dao.QueueDAO;
 import com.netflix.conductor.metrics.Monitors;
 
@@ -338,6 +340,23 @@ public class TaskServiceImpl implements TaskService {
         return executionService.getSearchTasks(query, freeText, start, size, sort);
     }
 
+    /**
+     * Search for tasks page by page, each page resuming after the last task of the previous one,
+     * so that deep pages cost as much as the first one.
+     *
+     * @param size Number of entries
+     * @param sort Sorting type ASC|DESC, the same for all the pages
+     * @param freeText Text you want to search
+     * @param query Query you want to search
+     * @param continuationToken Token returned with the previous page, null for the first page
+     * @return instance of {@link ScrollSearchResult}
+     */
+    public ScrollSearchResult<TaskSummary> scrollTasks(
+            int size, String sort, String freeText, String query, String continuationToken) {
+        return executionService.scrollTasks(
+                query, freeText, continuationToken, size, Utils.convertStringToList(sort));
+    }
+
     /**
      * Search for tasks based in payload and other parameters. Use sort options as ASC or DESC e.g.
      * sort=name or sort=workflowId. If order is not specified, defaults to ASC.
@@ -29,6 +29,7 @@ import com.netflix.conductor.common.metadata.workflow.SkipTaskRequest;
 import com.netflix.conductor.common.metadata.workflow.StartWorkflowRequest;
 import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
 import com.netflix.conductor.common.run.ExternalStorageLocation;
+import com.netflix.conductor.common.run.ScrollSearchResult;
 import com.netflix.conductor.common.run.SearchResult;
 import com.netflix.conductor.common.run.Workflow;
 import com.netflix.conductor.common.run.WorkflowSummary;
@@ -398,6 +399,23 @@ public class WorkflowServiceImpl implements WorkflowService {
                 query, freeText, start, size, Utils.convertStringToList(sort));
     }
 
+    /**
+     * Search for workflows page by page, each page resuming after the last workflow of the
+     * previous one, so that deep pages cost as much as the first one.
+     *
+     * @param size Number of entries
+     * @param sort Sorting type ASC|DESC, the same for all the pages
+     * @param freeText Text you want to search
+     * @param query Query you want to search
+     * @param continuationToken Token returned with the previous page, null for the first page
+     * @return instance of {@link ScrollSearchResult}
+     */
+    public ScrollSearchResult<WorkflowSummary> scrollWorkflows(
+            int size, String sort, String freeText, String query, String continuationToken) {
+        return executionService.scrollWorkflows(
+                query, freeText, continuationToken, size, Utils.convertStringToList(sort));
+    }
+
     /**
      * Search for workflows based on payload and given parameters. Use sort options as sort ASCor
      * DESC e.g. sort=name or sort=workflowId:DESC. If order is not specified, defaults to ASC.
@@ -13,6 +13,7 @@
 package com.netflix.conductor.model
 
 import com.netflix.conductor.common.config.ObjectMapperProvider
+import com.netflix.conductor.common.run.TaskSummary
 
 import com.fasterxml.jackson.databind.JsonNode
 import com.fasterxml.jackson.databind.ObjectMapper
@@ -63,4 +64,38 @@ class TaskModelSpec extends Specification {
         node.path("outputData").isEmpty()
         node.path("externalOutputPayloadStoragePath").isTextual()
     }
+
+    def "summary matches the summary of the task"() {
+        given:
+        taskModel.taskId = 'taskId'
+        taskModel.taskDefName = 'taskDefName'
+        taskModel.taskType = 'taskType'
+        taskModel.workflowInstanceId = 'workflowId'
+        taskModel.workflowType = 'workflowType'
+        taskModel.workflowPriority = 5
+        taskModel.correlationId = 'correlationId'
+        taskModel.scheduledTime = 1_000L
+        taskModel.startTime = 2_000L
+        taskModel.updateTime = 3_000L
+        taskModel.endTime = 4_000L
+        taskModel.status = TaskModel.Status.FAILED
+        taskModel.reasonForIncompletion = 'reason'
+        taskModel.addInput(['key1': 'value1'])
+        taskModel.addOutput(['key2': 'value2'])
+        if (externalized) {
+            taskModel.externalizeInput('task/input.json')
+            taskModel.externalizeOutput('task/output.json')
+        }
+
+        when:
+        def summary = taskModel.toTaskSummary()
+
+        then:
+        summary.queueWaitTime == 1_000L
+        objectMapper.valueToTree(summary) ==
+                objectMapper.valueToTree(new TaskSummary(taskModel.toTask()))
+
+        where:
+        externalized << [false, true]
+    }
 }
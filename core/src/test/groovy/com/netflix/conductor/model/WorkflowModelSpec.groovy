@@ -14,6 +14,7 @@ package com.netflix.conductor.model
 
 import com.netflix.conductor.common.config.ObjectMapperProvider
 import com.netflix.conductor.common.metadata.workflow.WorkflowDef
+import com.netflix.conductor.common.run.WorkflowSummary
 
 import com.fasterxml.jackson.databind.JsonNode
 import com.fasterxml.jackson.databind.ObjectMapper
@@ -65,4 +66,36 @@ class WorkflowModelSpec extends Specification {
         node.path("output").isEmpty()
         node.path("externalOutputPayloadStoragePath").isTextual()
     }
+
+    def "summary matches the summary of the workflow"() {
+        given:
+        workflowModel.workflowId = 'workflowId'
+        workflowModel.correlationId = 'correlationId'
+        workflowModel.priority = 5
+        workflowModel.createTime = 1_000L
+        workflowModel.updatedTime = 2_000L
+        workflowModel.endTime = 3_000L
+        workflowModel.status = WorkflowModel.Status.FAILED
+        workflowModel.input = ['key1': 'value1']
+        workflowModel.output = ['key2': 'value2']
+        workflowModel.reasonForIncompletion = 'reason'
+        workflowModel.event = 'event'
+        workflowModel.failedReferenceTaskNames = ['ref1', 'ref2'] as Set
+        workflowModel.tasks = [new TaskModel(taskId: 'taskId', status: TaskModel.Status.FAILED)]
+        if (externalized) {
+            workflowModel.externalizeInput('workflow/input.json')
+            workflowModel.externalizeOutput('workflow/output.json')
+        }
+
+        when:
+        def summary = workflowModel.toWorkflowSummary()
+
+        then:
+        summary.updateTime == '1970-01-01T00:00:02.000Z'
+        objectMapper.valueToTree(summary) ==
+                objectMapper.valueToTree(new WorkflowSummary(workflowModel.toWorkflow()))
+
+        where:
+        externalized << [false, true]
+    }
 }
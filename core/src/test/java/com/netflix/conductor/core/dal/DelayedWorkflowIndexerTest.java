@@ -0,0 +1,182 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.dal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
+import com.netflix.conductor.common.run.WorkflowSummary;
+import com.netflix.conductor.dao.ExecutionDAO;
+import com.netflix.conductor.dao.IndexDAO;
+import com.netflix.conductor.model.WorkflowModel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DelayedWorkflowIndexerTest {
+
+    private ExecutionDAO executionDAO;
+    private IndexDAO indexDAO;
+    private DelayedWorkflowIndexer delayedWorkflowIndexer;
+
+    @Before
+    public void setUp() {
+        executionDAO = mock(ExecutionDAO.class);
+        indexDAO = mock(IndexDAO.class);
+    }
+
+    @After
+    public void tearDown() {
+        delayedWorkflowIndexer.shutdown();
+    }
+
+    @Test
+    public void testPendingWorkflowsAreReadAgainAndBatched() {
+        delayedWorkflowIndexer = new DelayedWorkflowIndexer(executionDAO, indexDAO, 0, 100, 2);
+        when(executionDAO.getWorkflows(anyList()))
+                .thenAnswer(
+                        invocation -> {
+                            List<WorkflowModel> workflows = new ArrayList<>();
+                            for (Object workflowId : invocation.getArgument(0, List.class)) {
+                                // wf3 was removed in the meantime
+                                if (!"wf3".equals(workflowId)) {
+                                    workflows.add(
+                                            workflow(
+                                                    (String) workflowId,
+                                                    WorkflowModel.Status.COMPLETED));
+                                }
+                            }
+                            return workflows;
+                        });
+
+        delayedWorkflowIndexer.enqueue(summary("wf1", WorkflowModel.Status.RUNNING));
+        delayedWorkflowIndexer.enqueue(summary("wf1", WorkflowModel.Status.RUNNING));
+        delayedWorkflowIndexer.enqueue(summary("wf2", WorkflowModel.Status.RUNNING));
+        delayedWorkflowIndexer.enqueue(summary("wf3", WorkflowModel.Status.RUNNING));
+        assertEquals(3, delayedWorkflowIndexer.size());
+
+        delayedWorkflowIndexer.drainDue();
+
+        verify(executionDAO, times(2)).getWorkflows(anyList());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<WorkflowSummary>> captor = ArgumentCaptor.forClass(List.class);
+        verify(indexDAO, times(2)).indexWorkflows(captor.capture());
+        List<WorkflowSummary> indexed = new ArrayList<>(captor.getAllValues().get(0));
+        indexed.addAll(captor.getAllValues().get(1));
+        assertEquals(2, indexed.size());
+        indexed.forEach(
+                workflowSummary ->
+                        assertEquals("COMPLETED", workflowSummary.getStatus().name()));
+        assertEquals(0, delayedWorkflowIndexer.size());
+    }
+
+    @Test
+    public void testUpdatesAreDelayedUntilDue() {
+        delayedWorkflowIndexer =
+                new DelayedWorkflowIndexer(executionDAO, indexDAO, 60_000, 100, 10);
+
+        delayedWorkflowIndexer.enqueue(summary("wf1", WorkflowModel.Status.COMPLETED));
+        delayedWorkflowIndexer.drainDue();
+
+        verify(executionDAO, never()).getWorkflows(anyList());
+        verify(indexDAO, never()).indexWorkflows(anyList());
+        assertEquals(1, delayedWorkflowIndexer.size());
+    }
+
+    @Test
+    public void testWorkflowsBeyondCapacityAreIndexedRightAway() {
+        delayedWorkflowIndexer = new DelayedWorkflowIndexer(executionDAO, indexDAO, 60_000, 1, 10);
+
+        delayedWorkflowIndexer.enqueue(summary("wf1", WorkflowModel.Status.COMPLETED));
+        delayedWorkflowIndexer.enqueue(summary("wf2", WorkflowModel.Status.COMPLETED));
+
+        verify(indexDAO, times(1)).asyncIndexWorkflow(any());
+        assertEquals(1, delayedWorkflowIndexer.size());
+    }
+
+    @Test
+    public void testCapacityIsNotExceededByConcurrentWorkflows() throws Exception {
+        int capacity = 10;
+        delayedWorkflowIndexer =
+                new DelayedWorkflowIndexer(executionDAO, indexDAO, 60_000, capacity, 10);
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < 100; i++) {
+            String workflowId = "wf" + i;
+            executorService.submit(
+                    () -> {
+                        start.await();
+                        delayedWorkflowIndexer.enqueue(
+                                summary(workflowId, WorkflowModel.Status.COMPLETED));
+                        return null;
+                    });
+        }
+        start.countDown();
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(capacity, delayedWorkflowIndexer.size());
+        verify(indexDAO, times(100 - capacity)).asyncIndexWorkflow(any());
+    }
+
+    @Test
+    public void testCancelledWorkflows() {
+        delayedWorkflowIndexer = new DelayedWorkflowIndexer(executionDAO, indexDAO, 0, 100, 10);
+        when(executionDAO.getWorkflows(Arrays.asList("wf2")))
+                .thenReturn(Arrays.asList(workflow("wf2", WorkflowModel.Status.COMPLETED)));
+
+        delayedWorkflowIndexer.enqueue(summary("wf1", WorkflowModel.Status.COMPLETED));
+        delayedWorkflowIndexer.enqueue(summary("wf2", WorkflowModel.Status.COMPLETED));
+        delayedWorkflowIndexer.cancel("wf1");
+        delayedWorkflowIndexer.cancel("wf1");
+
+        assertFalse(delayedWorkflowIndexer.isPending("wf1"));
+        assertTrue(delayedWorkflowIndexer.isPending("wf2"));
+        assertEquals(1, delayedWorkflowIndexer.size());
+
+        delayedWorkflowIndexer.drainDue();
+        verify(executionDAO).getWorkflows(Arrays.asList("wf2"));
+        assertEquals(0, delayedWorkflowIndexer.size());
+    }
+
+    private WorkflowSummary summary(String workflowId, WorkflowModel.Status status) {
+        return workflow(workflowId, status).toWorkflowSummary();
+    }
+
+    private WorkflowModel workflow(String workflowId, WorkflowModel.Status status) {
+        WorkflowModel workflow = new WorkflowModel();
+        workflow.setWorkflowDefinition(new WorkflowDef());
+        workflow.setWorkflowId(workflowId);
+        workflow.setStatus(status);
+        return workflow;
+    }
+}
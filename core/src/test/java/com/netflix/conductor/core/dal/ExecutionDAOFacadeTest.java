@@ -13,29 +13,39 @@
 package com.netflix.conductor.core.dal;
 
 import java.io.InputStream;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.io.IOUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
 import com.netflix.conductor.common.metadata.events.EventExecution;
+import com.netflix.conductor.common.metadata.tasks.PollData;
+import com.netflix.conductor.common.metadata.tasks.TaskType;
+import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
+import com.netflix.conductor.common.metadata.workflow.WorkflowTask;
 import com.netflix.conductor.common.run.SearchResult;
 import com.netflix.conductor.common.run.Workflow;
 import com.netflix.conductor.core.config.ConductorProperties;
 import com.netflix.conductor.core.execution.TestDeciderService;
 import com.netflix.conductor.core.utils.ExternalPayloadStorageUtils;
 import com.netflix.conductor.dao.*;
+import com.netflix.conductor.model.TaskModel;
 import com.netflix.conductor.model.WorkflowModel;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.util.concurrent.Uninterruptibles;
 
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -47,6 +57,8 @@ public class ExecutionDAOFacadeTest {
 
     private ExecutionDAO executionDAO;
     private IndexDAO indexDAO;
+    private PollDataDAO pollDataDAO;
+    private ConductorProperties properties;
     private ExecutionDAOFacade executionDAOFacade;
     private ExternalPayloadStorageUtils externalPayloadStorageUtils;
 
@@ -60,10 +72,16 @@ public class ExecutionDAOFacadeTest {
         RateLimitingDAO rateLimitingDao = mock(RateLimitingDAO.class);
         ConcurrentExecutionLimitDAO concurrentExecutionLimitDAO =
                 mock(ConcurrentExecutionLimitDAO.class);
-        PollDataDAO pollDataDAO = mock(PollDataDAO.class);
-        ConductorProperties properties = mock(ConductorProperties.class);
+        pollDataDAO = mock(PollDataDAO.class);
+        properties = mock(ConductorProperties.class);
         when(properties.isEventExecutionIndexingEnabled()).thenReturn(true);
         when(properties.isAsyncIndexingEnabled()).thenReturn(true);
+        when(properties.getActiveDomainPollDataCacheTtl()).thenReturn(Duration.ZERO);
+        when(properties.getPollDataFlushInterval()).thenReturn(Duration.ZERO);
+        when(properties.getAsyncUpdateDelay()).thenReturn(Duration.ofSeconds(60));
+        when(properties.getAsyncUpdateDelayQueueCapacity()).thenReturn(100);
+        when(properties.getAsyncUpdateDelayBatchSize()).thenReturn(10);
+        when(properties.getSearchFetchThreadCount()).thenReturn(2);
         executionDAOFacade =
                 new ExecutionDAOFacade(
                         executionDAO,
@@ -131,6 +149,108 @@ public class ExecutionDAOFacadeTest {
         assertEquals(1, workflows.size());
     }
 
+    @Test
+    public void testGetWorkflowsInBulk() throws Exception {
+        WorkflowModel workflowModel = new WorkflowModel();
+        workflowModel.setWorkflowId("workflowId");
+        when(executionDAO.getWorkflows(Arrays.asList("archivedId", "workflowId", "missingId")))
+                .thenReturn(Collections.singletonList(workflowModel));
+        InputStream stream = ExecutionDAOFacadeTest.class.getResourceAsStream("/test.json");
+        String jsonString = new String(IOUtils.toByteArray(stream));
+        when(indexDAO.get("archivedId", "rawJSON")).thenReturn(jsonString);
+
+        List<Workflow> workflows =
+                executionDAOFacade.getWorkflows(
+                        Arrays.asList("archivedId", "workflowId", "missingId"));
+
+        assertEquals(2, workflows.size());
+        assertEquals("46e2d0d7-0809-40f2-9f22-bed9d41f6613", workflows.get(0).getWorkflowId());
+        assertEquals("workflowId", workflows.get(1).getWorkflowId());
+        verify(executionDAO, never()).getWorkflow(eq("workflowId"), anyBoolean());
+        verify(indexDAO, never()).get(eq("workflowId"), any());
+    }
+
+    @Test
+    public void testGetPendingTaskModelByRefName() {
+        WorkflowTask workflowTask = new WorkflowTask();
+        workflowTask.setName("task_def");
+        workflowTask.setTaskReferenceName("task_ref");
+        workflowTask.setType(TaskType.TASK_TYPE_SIMPLE);
+        WorkflowDef workflowDef = new WorkflowDef();
+        workflowDef.getTasks().add(workflowTask);
+        WorkflowModel workflow = new WorkflowModel();
+        workflow.setWorkflowDefinition(workflowDef);
+        when(executionDAO.canGetPendingTasksByWorkflow()).thenReturn(true);
+        when(executionDAO.getWorkflow("workflowId", false)).thenReturn(workflow);
+
+        TaskModel other = new TaskModel();
+        other.setReferenceTaskName("other_ref");
+        other.setStatus(TaskModel.Status.IN_PROGRESS);
+        TaskModel pending = new TaskModel();
+        pending.setTaskId("taskId");
+        pending.setReferenceTaskName("task_ref");
+        pending.setStatus(TaskModel.Status.SCHEDULED);
+        when(executionDAO.getPendingTasksByWorkflow("task_def", "workflowId"))
+                .thenReturn(Arrays.asList(other, pending));
+
+        TaskModel taskModel =
+                executionDAOFacade.getPendingTaskModelByRefName("workflowId", "task_ref");
+        assertEquals("taskId", taskModel.getTaskId());
+        verify(executionDAO, never()).getWorkflow("workflowId", true);
+        verify(executionDAO, never()).getTasksForWorkflow(any());
+
+        // tasks missing from the workflow definition are looked up in the tasks of the workflow
+        when(executionDAO.getTasksForWorkflow("workflowId"))
+                .thenReturn(Collections.singletonList(other));
+        assertNull(executionDAOFacade.getPendingTaskModelByRefName("workflowId", "dynamic_ref"));
+        verify(executionDAO, times(1)).getTasksForWorkflow("workflowId");
+    }
+
+    @Test
+    public void testGetPendingTaskModelByType() {
+        // WAIT tasks are indexed under the name of their workflow task
+        WorkflowTask workflowTask = new WorkflowTask();
+        workflowTask.setName("wait_task");
+        workflowTask.setTaskReferenceName("wait_ref");
+        workflowTask.setType(TaskType.TASK_TYPE_WAIT);
+        WorkflowDef workflowDef = new WorkflowDef();
+        workflowDef.getTasks().add(workflowTask);
+        WorkflowModel workflow = new WorkflowModel();
+        workflow.setWorkflowDefinition(workflowDef);
+        when(executionDAO.canGetPendingTasksByWorkflow()).thenReturn(true);
+        when(executionDAO.getWorkflow("workflowId", false)).thenReturn(workflow);
+
+        TaskModel pending = new TaskModel();
+        pending.setTaskId("taskId");
+        pending.setTaskType(TaskType.TASK_TYPE_WAIT);
+        pending.setStatus(TaskModel.Status.IN_PROGRESS);
+        when(executionDAO.getPendingTasksByWorkflow("wait_task", "workflowId"))
+                .thenReturn(Collections.singletonList(pending));
+
+        TaskModel taskModel =
+                executionDAOFacade.getPendingTaskModelByType("workflowId", TaskType.TASK_TYPE_WAIT);
+        assertEquals("taskId", taskModel.getTaskId());
+        verify(executionDAO, never()).getTasksForWorkflow(any());
+    }
+
+    @Test
+    public void testGetPendingTaskModelWithoutPendingTaskIndex() {
+        TaskModel pending = new TaskModel();
+        pending.setTaskId("taskId");
+        pending.setReferenceTaskName("task_ref");
+        pending.setStatus(TaskModel.Status.SCHEDULED);
+        when(executionDAO.canGetPendingTasksByWorkflow()).thenReturn(false);
+        when(executionDAO.getTasksForWorkflow("workflowId"))
+                .thenReturn(Collections.singletonList(pending));
+
+        TaskModel taskModel =
+                executionDAOFacade.getPendingTaskModelByRefName("workflowId", "task_ref");
+        assertEquals("taskId", taskModel.getTaskId());
+        verify(executionDAO, times(1)).getTasksForWorkflow("workflowId");
+        verify(executionDAO, never()).getWorkflow(any(), anyBoolean());
+        verify(executionDAO, never()).getPendingTasksByWorkflow(any(), any());
+    }
+
     @Test
     public void testRemoveWorkflow() {
         WorkflowModel workflow = new WorkflowModel();
@@ -164,4 +284,84 @@ public class ExecutionDAOFacadeTest {
         assertTrue(added);
         verify(indexDAO, times(1)).asyncAddEventExecution(any());
     }
+
+    @Test
+    public void testGetTaskPollDataByDomainFromCache() {
+        when(properties.getActiveDomainPollDataCacheTtl()).thenReturn(Duration.ofMinutes(1));
+        executionDAOFacade =
+                new ExecutionDAOFacade(
+                        executionDAO,
+                        mock(QueueDAO.class),
+                        indexDAO,
+                        mock(RateLimitingDAO.class),
+                        mock(ConcurrentExecutionLimitDAO.class),
+                        pollDataDAO,
+                        objectMapper,
+                        properties,
+                        externalPayloadStorageUtils);
+        PollData pollData = new PollData("task", "domain", "worker", 1L);
+        when(pollDataDAO.getPollData("task", "domain")).thenReturn(pollData);
+
+        assertEquals(pollData, executionDAOFacade.getTaskPollDataByDomain("task", "domain"));
+        assertEquals(pollData, executionDAOFacade.getTaskPollDataByDomain("task", "domain"));
+        assertNull(executionDAOFacade.getTaskPollDataByDomain("task", "other"));
+        assertNull(executionDAOFacade.getTaskPollDataByDomain("task", "other"));
+
+        verify(pollDataDAO, times(1)).getPollData("task", "domain");
+        verify(pollDataDAO, times(1)).getPollData("task", "other");
+    }
+
+    @Test
+    public void testUpdateTaskLastPollCoalesced() {
+        when(properties.getPollDataFlushInterval()).thenReturn(Duration.ofHours(1));
+        executionDAOFacade =
+                new ExecutionDAOFacade(
+                        executionDAO,
+                        mock(QueueDAO.class),
+                        indexDAO,
+                        mock(RateLimitingDAO.class),
+                        mock(ConcurrentExecutionLimitDAO.class),
+                        pollDataDAO,
+                        objectMapper,
+                        properties,
+                        externalPayloadStorageUtils);
+        when(pollDataDAO.getPollData("task"))
+                .thenReturn(
+                        Collections.singletonList(new PollData("task", "domain", "worker0", 1L)));
+
+        executionDAOFacade.updateTaskLastPoll("task", "domain", "worker1");
+        executionDAOFacade.updateTaskLastPoll("task", "domain", "worker2");
+        executionDAOFacade.updateTaskLastPoll("task", null, "worker3");
+
+        verify(pollDataDAO, never()).updateLastPollData(any());
+        assertEquals(
+                "worker2",
+                executionDAOFacade.getTaskPollDataByDomain("task", "domain").getWorkerId());
+        List<PollData> pollData = executionDAOFacade.getTaskPollData("task");
+        assertEquals(2, pollData.size());
+        assertEquals("worker2", pollData.get(0).getWorkerId());
+        verify(pollDataDAO, never()).getPollData("task", "domain");
+
+        long lastPollTime = pollData.get(0).getLastPollTime();
+        Uninterruptibles.sleepUninterruptibly(10, TimeUnit.MILLISECONDS);
+        executionDAOFacade.flushPollData();
+
+        // the polls are written with the time they happened at, not the time of the flush
+        ArgumentCaptor<PollData> flushed = ArgumentCaptor.forClass(PollData.class);
+        verify(pollDataDAO, times(2)).updateLastPollData(flushed.capture());
+        verify(pollDataDAO, never()).updateLastPollData(any(), any(), any());
+        PollData flushedPoll =
+                flushed.getAllValues().stream()
+                        .filter(poll -> "domain".equals(poll.getDomain()))
+                        .findFirst()
+                        .orElseThrow();
+        assertEquals("worker2", flushedPoll.getWorkerId());
+        assertEquals(lastPollTime, flushedPoll.getLastPollTime());
+        assertTrue(
+                flushed.getAllValues().stream()
+                        .anyMatch(
+                                poll ->
+                                        poll.getDomain() == null
+                                                && "worker3".equals(poll.getWorkerId())));
+    }
 }
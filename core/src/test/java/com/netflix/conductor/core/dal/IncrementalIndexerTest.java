@@ -0,0 +1,237 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.dal;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.netflix.conductor.common.config.ObjectMapperProvider;
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.run.TaskSummary;
+import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.common.run.WorkflowSummary;
+import com.netflix.conductor.dao.IndexDAO;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class IncrementalIndexerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapperProvider().getObjectMapper();
+
+    private IndexDAO indexDAO;
+
+    @Before
+    public void setUp() {
+        indexDAO = mock(IndexDAO.class);
+        when(indexDAO.asyncIndexWorkflow(any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(indexDAO.asyncUpsertWorkflow(any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(indexDAO.asyncIndexTask(any())).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @Test
+    public void testWholeSummariesAreIndexedWhenDisabled() {
+        IncrementalIndexer incrementalIndexer = new IncrementalIndexer(indexDAO, objectMapper, 0);
+
+        incrementalIndexer.indexWorkflow(
+                summary("wf1", Workflow.WorkflowStatus.RUNNING, null), null, 1L, true);
+        incrementalIndexer.indexWorkflow(
+                summary("wf1", Workflow.WorkflowStatus.COMPLETED, null), 1L, 2L, true);
+        incrementalIndexer.indexTask(taskSummary("t1", Task.Status.COMPLETED), false);
+        incrementalIndexer.indexTask(taskSummary("t1", Task.Status.COMPLETED), false);
+
+        verify(indexDAO, times(2)).asyncIndexWorkflow(any());
+        verify(indexDAO, never()).asyncUpsertWorkflow(any(), any(), any());
+        verify(indexDAO, times(2)).indexTask(any());
+        assertFalse(incrementalIndexer.isIndexed("wf1"));
+    }
+
+    @Test
+    public void testOnlyChangedWorkflowFieldsAreUpdated() {
+        IncrementalIndexer incrementalIndexer = new IncrementalIndexer(indexDAO, objectMapper, 10);
+
+        incrementalIndexer.indexWorkflow(
+                summary("wf1", Workflow.WorkflowStatus.RUNNING, "reason"), null, 1L, true);
+        verify(indexDAO).asyncIndexWorkflow(any());
+        assertTrue(incrementalIndexer.isIndexed("wf1"));
+
+        incrementalIndexer.indexWorkflow(
+                summary("wf1", Workflow.WorkflowStatus.COMPLETED, "reason"), 1L, 2L, true);
+        verify(indexDAO)
+                .asyncUpsertWorkflow(
+                        argThat(summary -> summary.getWorkflowId().equals("wf1")),
+                        eq(new String[] {"status"}),
+                        eq(new Object[] {"COMPLETED"}));
+
+        incrementalIndexer.indexWorkflow(
+                summary("wf1", Workflow.WorkflowStatus.COMPLETED, "reason"), 2L, 3L, true);
+        verify(indexDAO, times(1)).asyncIndexWorkflow(any());
+        verify(indexDAO, times(1)).asyncUpsertWorkflow(any(), any(), any());
+    }
+
+    @Test
+    public void testWorkflowIsIndexedWholeWhenUpdatedElsewhereOrCleared() {
+        IncrementalIndexer incrementalIndexer = new IncrementalIndexer(indexDAO, objectMapper, 10);
+
+        incrementalIndexer.indexWorkflow(
+                summary("wf1", Workflow.WorkflowStatus.RUNNING, "reason"), null, 1L, false);
+        // the workflow was updated by another instance at 2
+        incrementalIndexer.indexWorkflow(
+                summary("wf1", Workflow.WorkflowStatus.PAUSED, "reason"), 2L, 3L, false);
+        // the reason for incompletion is cleared
+        incrementalIndexer.indexWorkflow(
+                summary("wf1", Workflow.WorkflowStatus.PAUSED, null), 3L, 4L, false);
+
+        verify(indexDAO, times(3)).indexWorkflow(any());
+        verify(indexDAO, never()).upsertWorkflow(any(), any(), any());
+
+        incrementalIndexer.forget("wf1");
+        assertFalse(incrementalIndexer.isIndexed("wf1"));
+    }
+
+    @Test
+    public void testUnchangedTasksAreSkipped() {
+        IncrementalIndexer incrementalIndexer = new IncrementalIndexer(indexDAO, objectMapper, 10);
+
+        incrementalIndexer.indexTask(taskSummary("t1", Task.Status.IN_PROGRESS), true);
+        incrementalIndexer.indexTask(taskSummary("t1", Task.Status.IN_PROGRESS), true);
+        verify(indexDAO, times(1)).asyncIndexTask(any());
+
+        TaskSummary completed = taskSummary("t1", Task.Status.IN_PROGRESS);
+        completed.setOutput("{result=1}");
+        incrementalIndexer.indexTask(completed, true);
+        verify(indexDAO, times(2)).asyncIndexTask(any());
+    }
+
+    @Test
+    public void testWorkflowIsIndexedWholeAfterFailedIndex() {
+        when(indexDAO.asyncIndexWorkflow(any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("unavailable")));
+        IncrementalIndexer incrementalIndexer = new IncrementalIndexer(indexDAO, objectMapper, 10);
+
+        incrementalIndexer.indexWorkflow(
+                summary("wf1", Workflow.WorkflowStatus.RUNNING, null), null, 1L, true);
+        incrementalIndexer.indexWorkflow(
+                summary("wf1", Workflow.WorkflowStatus.COMPLETED, null), 1L, 2L, true);
+
+        verify(indexDAO, times(2)).asyncIndexWorkflow(any());
+        verify(indexDAO, never()).asyncUpsertWorkflow(any(), any(), any());
+        assertFalse(incrementalIndexer.isIndexed("wf1"));
+    }
+
+    @Test
+    public void testFailedSyncUpdateIsNotThrown() {
+        doThrow(new RuntimeException("unavailable"))
+                .when(indexDAO)
+                .upsertWorkflow(any(), any(), any());
+        IncrementalIndexer incrementalIndexer = new IncrementalIndexer(indexDAO, objectMapper, 10);
+
+        incrementalIndexer.indexWorkflow(
+                summary("wf1", Workflow.WorkflowStatus.RUNNING, null), null, 1L, true);
+        incrementalIndexer.indexWorkflow(
+                summary("wf1", Workflow.WorkflowStatus.COMPLETED, null), 1L, 2L, false);
+        assertFalse(incrementalIndexer.isIndexed("wf1"));
+
+        // the next update indexes the whole summary again
+        incrementalIndexer.indexWorkflow(
+                summary("wf1", Workflow.WorkflowStatus.COMPLETED, null), 2L, 3L, false);
+        verify(indexDAO, times(1)).indexWorkflow(any());
+        verify(indexDAO, times(1)).upsertWorkflow(any(), any(), any());
+    }
+
+    @Test
+    public void testWorkflowIndexedWholeSynchronouslyIsNotRemembered() {
+        IncrementalIndexer incrementalIndexer = new IncrementalIndexer(indexDAO, objectMapper, 10);
+
+        // indexWorkflow does not tell whether the workflow was indexed
+        incrementalIndexer.indexWorkflow(
+                summary("wf1", Workflow.WorkflowStatus.RUNNING, null), null, 1L, false);
+        assertFalse(incrementalIndexer.isIndexed("wf1"));
+
+        incrementalIndexer.indexWorkflow(
+                summary("wf1", Workflow.WorkflowStatus.COMPLETED, null), 1L, 2L, true);
+        verify(indexDAO).asyncIndexWorkflow(any());
+        verify(indexDAO, never()).asyncUpsertWorkflow(any(), any(), any());
+    }
+
+    @Test
+    public void testTasksAreIndexedAgainAfterFailedIndex() {
+        when(indexDAO.asyncIndexTask(any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("rejected")));
+        IncrementalIndexer incrementalIndexer = new IncrementalIndexer(indexDAO, objectMapper, 10);
+
+        incrementalIndexer.indexTask(taskSummary("t1", Task.Status.COMPLETED), true);
+        incrementalIndexer.indexTask(taskSummary("t1", Task.Status.COMPLETED), true);
+
+        verify(indexDAO, times(2)).asyncIndexTask(any());
+        assertFalse(incrementalIndexer.isIndexed("t1"));
+    }
+
+    @Test
+    public void testTasksIndexedSynchronouslyAreNotSkipped() {
+        IncrementalIndexer incrementalIndexer = new IncrementalIndexer(indexDAO, objectMapper, 10);
+
+        incrementalIndexer.indexTask(taskSummary("t1", Task.Status.COMPLETED), false);
+        incrementalIndexer.indexTask(taskSummary("t1", Task.Status.COMPLETED), false);
+
+        verify(indexDAO, times(2)).indexTask(any());
+        assertFalse(incrementalIndexer.isIndexed("t1"));
+    }
+
+    @Test
+    public void testWorkflowIsNotRememberedUntilIndexed() {
+        CompletableFuture<Void> pending = new CompletableFuture<>();
+        when(indexDAO.asyncIndexWorkflow(any())).thenReturn(pending);
+        IncrementalIndexer incrementalIndexer = new IncrementalIndexer(indexDAO, objectMapper, 10);
+
+        incrementalIndexer.indexWorkflow(
+                summary("wf1", Workflow.WorkflowStatus.RUNNING, null), null, 1L, true);
+        assertFalse(incrementalIndexer.isIndexed("wf1"));
+
+        pending.complete(null);
+        assertTrue(incrementalIndexer.isIndexed("wf1"));
+    }
+
+    private WorkflowSummary summary(
+            String workflowId, Workflow.WorkflowStatus status, String reasonForIncompletion) {
+        WorkflowSummary workflowSummary = new WorkflowSummary();
+        workflowSummary.setWorkflowId(workflowId);
+        workflowSummary.setWorkflowType("workflow");
+        workflowSummary.setStatus(status);
+        workflowSummary.setReasonForIncompletion(reasonForIncompletion);
+        return workflowSummary;
+    }
+
+    private TaskSummary taskSummary(String taskId, Task.Status status) {
+        TaskSummary taskSummary = new TaskSummary();
+        taskSummary.setTaskId(taskId);
+        taskSummary.setTaskType("task");
+        taskSummary.setStatus(status);
+        return taskSummary;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.events;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.netflix.conductor.common.metadata.events.EventHandler;
+import com.netflix.conductor.dao.EventHandlerDAO;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class EventHandlerRegistryTest {
+
+    private EventHandlerDAO eventHandlerDAO;
+
+    @Before
+    public void setUp() {
+        eventHandlerDAO = mock(EventHandlerDAO.class);
+    }
+
+    @Test
+    public void testLookupsReadTheDatastoreWhenDisabled() {
+        EventHandler eventHandler = eventHandler("handler", "sqs:queue", true);
+        when(eventHandlerDAO.getEventHandlersForEvent("sqs:queue", true))
+                .thenReturn(Collections.singletonList(eventHandler));
+        EventHandlerRegistry registry = new EventHandlerRegistry(eventHandlerDAO, Duration.ZERO);
+
+        assertEquals(
+                Collections.singletonList(eventHandler),
+                registry.getEventHandlersForEvent("sqs:queue", true));
+        verify(eventHandlerDAO, never()).getAllEventHandlers();
+    }
+
+    @Test
+    public void testEventHandlersAreLoadedOnceUntilInvalidated() {
+        EventHandler active = eventHandler("active", "sqs:queue", true);
+        EventHandler inactive = eventHandler("inactive", "sqs:queue", false);
+        EventHandler other = eventHandler("other", "sqs:other", true);
+        active.setCondition("$.type == 'order'");
+        when(eventHandlerDAO.getAllEventHandlers())
+                .thenReturn(Arrays.asList(active, inactive, other));
+        EventHandlerRegistry registry =
+                new EventHandlerRegistry(eventHandlerDAO, Duration.ofHours(1));
+
+        assertEquals(
+                Collections.singletonList(active),
+                registry.getEventHandlersForEvent("sqs:queue", true));
+        assertEquals(
+                Arrays.asList(active, inactive),
+                registry.getEventHandlersForEvent("sqs:queue", false));
+        assertTrue(registry.getEventHandlersForEvent("sqs:unknown", true).isEmpty());
+        verify(eventHandlerDAO, times(1)).getAllEventHandlers();
+
+        EventHandler added = eventHandler("added", "sqs:queue", true);
+        when(eventHandlerDAO.getAllEventHandlers())
+                .thenReturn(Arrays.asList(active, inactive, other, added));
+        registry.invalidate();
+
+        List<EventHandler> eventHandlers = registry.getEventHandlersForEvent("sqs:queue", true);
+        assertEquals(Arrays.asList(active, added), eventHandlers);
+        verify(eventHandlerDAO, times(2)).getAllEventHandlers();
+        verify(eventHandlerDAO, never()).getEventHandlersForEvent("sqs:queue", true);
+    }
+
+    @Test
+    public void testConcurrentLookupsShareOneLoad() throws Exception {
+        EventHandler eventHandler = eventHandler("handler", "sqs:queue", true);
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch loadReleased = new CountDownLatch(1);
+        when(eventHandlerDAO.getAllEventHandlers())
+                .thenAnswer(
+                        invocation -> {
+                            loadStarted.countDown();
+                            loadReleased.await();
+                            return Collections.singletonList(eventHandler);
+                        });
+        EventHandlerRegistry registry =
+                new EventHandlerRegistry(eventHandlerDAO, Duration.ofHours(1));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<EventHandler>>> lookups = new ArrayList<>();
+            lookups.add(
+                    executor.submit(() -> registry.getEventHandlersForEvent("sqs:queue", true)));
+            assertTrue(loadStarted.await(1, TimeUnit.SECONDS));
+            for (int i = 0; i < 3; i++) {
+                lookups.add(
+                        executor.submit(
+                                () -> registry.getEventHandlersForEvent("sqs:queue", true)));
+            }
+            loadReleased.countDown();
+
+            for (Future<List<EventHandler>> lookup : lookups) {
+                assertEquals(
+                        Collections.singletonList(eventHandler), lookup.get(1, TimeUnit.SECONDS));
+            }
+            verify(eventHandlerDAO, times(1)).getAllEventHandlers();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private EventHandler eventHandler(String name, String event, boolean active) {
+        EventHandler eventHandler = new EventHandler();
+        eventHandler.setName(name);
+        eventHandler.setEvent(event);
+        eventHandler.setActive(active);
+        return eventHandler;
+    }
+}
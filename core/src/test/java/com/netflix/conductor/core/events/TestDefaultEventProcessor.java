@@ -12,11 +12,15 @@
  */
 package com.netflix.conductor.core.events;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -413,6 +417,53 @@ public class TestDefaultEventProcessor {
         verify(queue, never()).publish(any());
     }
 
+    @Test
+    public void testEventProcessorWithMessagesInFlight() {
+        List<EventHandler> eventHandlers = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            EventHandler eventHandler = new EventHandler();
+            eventHandler.setName("handler_" + i);
+            eventHandler.setActive(true);
+            eventHandler.setEvent(event);
+            Action completeTaskAction = new Action();
+            completeTaskAction.setAction(Type.complete_task);
+            completeTaskAction.setComplete_task(new TaskDetails());
+            completeTaskAction.getComplete_task().setTaskRefName("task_" + i);
+            eventHandler.getActions().add(completeTaskAction);
+            eventHandlers.add(eventHandler);
+        }
+
+        when(metadataService.getEventHandlersForEvent(event, true)).thenReturn(eventHandlers);
+        when(executionService.addEventExecution(any())).thenReturn(true);
+        CountDownLatch bothHandlersStarted = new CountDownLatch(2);
+        when(actionProcessor.execute(any(), any(), any(), any()))
+                .thenAnswer(
+                        invocation -> {
+                            // the actions of both handlers run concurrently
+                            bothHandlersStarted.countDown();
+                            assertTrue(bothHandlersStarted.await(5, TimeUnit.SECONDS));
+                            return new HashMap<>();
+                        });
+        when(properties.getEventProcessorMaxInFlightMessages()).thenReturn(4);
+        when(properties.getEventProcessorAckBatchSize()).thenReturn(10);
+
+        DefaultEventProcessor eventProcessor =
+                new DefaultEventProcessor(
+                        executionService,
+                        metadataService,
+                        actionProcessor,
+                        jsonUtils,
+                        properties,
+                        objectMapper,
+                        evaluators);
+        eventProcessor.handle(queue, message);
+
+        // the message is acked as soon as no other message of the queue is in flight
+        verify(queue, timeout(5_000)).ack(Collections.singletonList(message));
+        verify(executionService, times(2)).updateEventExecution(any());
+        verify(queue, never()).publish(any());
+    }
+
     @Test
     public void testExecuteInvalidAction() {
         AtomicInteger executeInvoked = new AtomicInteger(0);
@@ -12,11 +12,17 @@
  */
 package com.netflix.conductor.core.events;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -44,4 +50,26 @@ public class TestScriptEval {
         assertTrue(ScriptEvaluator.evalBool(script3, payload));
         assertFalse(ScriptEvaluator.evalBool(script4, payload));
     }
+
+    @Test
+    public void testCompiledScriptConcurrent() throws Exception {
+        String script = "var total = $.base + $.increment; total";
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                Map<String, Object> input = new HashMap<>();
+                input.put("base", i);
+                input.put("increment", 1);
+                results.add(executorService.submit(() -> ScriptEvaluator.eval(script, input)));
+            }
+            for (int i = 0; i < 100; i++) {
+                assertEquals(i + 1, ((Number) results.get(i).get()).intValue());
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        // variables declared by a script do not leak into the next evaluations
+        assertEquals("undefined", ScriptEvaluator.eval("typeof total", new HashMap<>()));
+    }
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.execution;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.netflix.conductor.core.dal.ExecutionDAOFacade;
+import com.netflix.conductor.model.TaskModel;
+import com.netflix.conductor.model.WorkflowModel;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+public class TestDecideUnitOfWork {
+
+    private ExecutionDAOFacade executionDAOFacade;
+    private WorkflowModel workflow;
+    private TaskModel task1;
+    private TaskModel task2;
+
+    @Before
+    public void setUp() {
+        executionDAOFacade = mock(ExecutionDAOFacade.class);
+        workflow = new WorkflowModel();
+        workflow.setWorkflowId("workflowId");
+        task1 = new TaskModel();
+        task1.setTaskId("task1");
+        task2 = new TaskModel();
+        task2.setTaskId("task2");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCoalescedWritesAreFlushedOnce() {
+        DecideUnitOfWork unitOfWork = new DecideUnitOfWork(executionDAOFacade, true);
+
+        unitOfWork.updateTasks(Arrays.asList(task1, task2));
+        unitOfWork.updateWorkflow(workflow);
+        unitOfWork.updateTask(task1);
+        unitOfWork.updateWorkflow(workflow);
+        verify(executionDAOFacade, never()).updateTasks(any());
+        verify(executionDAOFacade, never()).updateWorkflow(any());
+
+        unitOfWork.flush();
+        ArgumentCaptor<List<TaskModel>> captor = ArgumentCaptor.forClass(List.class);
+        verify(executionDAOFacade, times(1)).updateTasks(captor.capture());
+        assertEquals(Arrays.asList(task1, task2), captor.getValue());
+        verify(executionDAOFacade, times(1)).updateWorkflow(workflow);
+
+        // nothing is left to be written
+        unitOfWork.flush();
+        verifyNoMoreInteractions(executionDAOFacade);
+    }
+
+    @Test
+    public void testWritesGoThroughWhenNotCoalescing() {
+        DecideUnitOfWork unitOfWork = new DecideUnitOfWork(executionDAOFacade, false);
+
+        List<TaskModel> tasks = Collections.singletonList(task2);
+        unitOfWork.updateTask(task1);
+        unitOfWork.updateTasks(tasks);
+        unitOfWork.updateWorkflow(workflow);
+
+        verify(executionDAOFacade, times(1)).updateTask(task1);
+        verify(executionDAOFacade, times(1)).updateTasks(tasks);
+        verify(executionDAOFacade, times(1)).updateWorkflow(workflow);
+
+        unitOfWork.flush();
+        verifyNoMoreInteractions(executionDAOFacade);
+    }
+}
@@ -25,6 +25,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.stubbing.Answer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
@@ -85,6 +86,7 @@ public class TestWorkflowExecutor {
     private WorkflowStatusListener workflowStatusListener;
     private ExecutionLockService executionLockService;
     private ExternalPayloadStorageUtils externalPayloadStorageUtils;
+    private ConductorProperties properties;
 
     @Configuration
     @ComponentScan(basePackageClasses = {Evaluator.class}) // load all Evaluator beans.
@@ -187,7 +189,7 @@ public class TestWorkflowExecutor {
                         Duration.ofMinutes(60));
         MetadataMapperService metadataMapperService = new MetadataMapperService(metadataDAO);
 
-        ConductorProperties properties = mock(ConductorProperties.class);
+        properties = mock(ConductorProperties.class);
         when(properties.getActiveWorkerLastPollTimeout()).thenReturn(Duration.ofSeconds(100));
         when(properties.getTaskExecutionPostponeDuration()).thenReturn(Duration.ofSeconds(60));
         when(properties.getWorkflowOffsetTimeout()).thenReturn(Duration.ofSeconds(30));
@@ -203,7 +205,8 @@ public class TestWorkflowExecutor {
                         properties,
                         executionLockService,
                         systemTaskRegistry,
-                        parametersUtils);
+                        parametersUtils,
+                        mock(ApplicationEventPublisher.class));
     }
 
     @Test
@@ -2091,6 +2094,97 @@ public class TestWorkflowExecutor {
                 argumentCaptor.getAllValues().get(0).getInput().get("failureTaskId"));
     }
 
+    @Test
+    public void testDecideWithWriteCoalescing() {
+        Map<String, String> written = decideAndRecordWrites(false, false);
+        assertEquals("COMPLETED", written.get("sync_task"));
+        assertEquals("SCHEDULED", written.get("simple_task"));
+        assertEquals("RUNNING", written.get("workflow"));
+
+        assertEquals(written, decideAndRecordWrites(true, false));
+    }
+
+    @Test
+    public void testDecideWithWriteCoalescingFailingPartway() {
+        Map<String, String> written = decideAndRecordWrites(false, true);
+        assertEquals("COMPLETED", written.get("sync_task"));
+        assertEquals("FAILED", written.get("workflow"));
+
+        assertEquals(written, decideAndRecordWrites(true, true));
+    }
+
+    /**
+     * Decides a workflow made of a sync system task followed by a simple task, recording the last
+     * state written for each task, by reference name, and for the workflow. When failing, the
+     * creation of the simple task fails, after the sync task was completed.
+     */
+    private Map<String, String> decideAndRecordWrites(boolean coalescing, boolean failing) {
+        when(properties.isDecideWriteCoalescingEnabled()).thenReturn(coalescing);
+        when(executionLockService.acquireLock(anyString())).thenReturn(true);
+        when(metadataDAO.getTaskDef(anyString()))
+                .thenAnswer(invocation -> new TaskDef((String) invocation.getArgument(0)));
+
+        WorkflowTask syncTask = new WorkflowTask();
+        syncTask.setName("sync_task");
+        syncTask.setTaskReferenceName("sync_task");
+        syncTask.setType("HTTP2");
+        WorkflowTask simpleTask = new WorkflowTask();
+        simpleTask.setName("simple_task");
+        simpleTask.setTaskReferenceName("simple_task");
+        simpleTask.setType(TASK_TYPE_SIMPLE);
+        WorkflowDef workflowDef = new WorkflowDef();
+        workflowDef.setName("write_coalescing");
+        workflowDef.setVersion(1);
+        workflowDef.getTasks().addAll(Arrays.asList(syncTask, simpleTask));
+
+        WorkflowModel workflow = new WorkflowModel();
+        workflow.setWorkflowId("write_coalescing_workflow");
+        workflow.setWorkflowDefinition(workflowDef);
+        workflow.setStatus(WorkflowModel.Status.RUNNING);
+        workflow.setOwnerApp("junit_test");
+        when(executionDAOFacade.getWorkflowModel(workflow.getWorkflowId(), true))
+                .thenReturn(workflow);
+
+        Map<String, String> written = new HashMap<>();
+        Answer<List<TaskModel>> recordTasks =
+                invocation -> {
+                    List<TaskModel> tasks = invocation.getArgument(0);
+                    tasks.forEach(
+                            task ->
+                                    written.put(
+                                            task.getReferenceTaskName(), task.getStatus().name()));
+                    return tasks;
+                };
+        if (failing) {
+            doAnswer(recordTasks)
+                    .doThrow(new RuntimeException("datastore unavailable"))
+                    .when(executionDAOFacade)
+                    .createTasks(anyList());
+        } else {
+            doAnswer(recordTasks).when(executionDAOFacade).createTasks(anyList());
+        }
+        doAnswer(recordTasks).when(executionDAOFacade).updateTasks(anyList());
+        doAnswer(
+                        invocation -> {
+                            TaskModel task = invocation.getArgument(0);
+                            written.put(task.getReferenceTaskName(), task.getStatus().name());
+                            return null;
+                        })
+                .when(executionDAOFacade)
+                .updateTask(any());
+        doAnswer(
+                        invocation -> {
+                            WorkflowModel updated = invocation.getArgument(0);
+                            written.put("workflow", updated.getStatus().name());
+                            return updated.getWorkflowId();
+                        })
+                .when(executionDAOFacade)
+                .updateWorkflow(any());
+
+        workflowExecutor.decide(workflow.getWorkflowId());
+        return written;
+    }
+
     private WorkflowModel generateSampleWorkflow() {
         // setup
         WorkflowModel workflow = new WorkflowModel();
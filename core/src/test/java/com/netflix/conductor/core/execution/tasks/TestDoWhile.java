@@ -19,6 +19,7 @@ import java.util.Map;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.springframework.context.ApplicationEventPublisher;
 
 import com.netflix.conductor.common.metadata.tasks.TaskDef;
 import com.netflix.conductor.common.metadata.tasks.TaskType;
@@ -100,7 +101,8 @@ public class TestDoWhile {
                                 properties,
                                 executionLockService,
                                 systemTaskRegistry,
-                                parametersUtils));
+                                parametersUtils,
+                                mock(ApplicationEventPublisher.class)));
         WorkflowTask loopWorkflowTask1 = new WorkflowTask();
         loopWorkflowTask1.setTaskReferenceName("task1");
         loopWorkflowTask1.setName("task1");
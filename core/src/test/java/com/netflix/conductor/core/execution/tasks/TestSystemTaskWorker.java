@@ -16,6 +16,7 @@ import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.junit.After;
 import org.junit.Before;
@@ -34,6 +35,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -61,6 +63,8 @@ public class TestSystemTaskWorker {
         when(properties.getSystemTaskWorkerCallbackDuration()).thenReturn(Duration.ofSeconds(30));
         when(properties.getSystemTaskMaxPollCount()).thenReturn(1);
         when(properties.getSystemTaskWorkerPollInterval()).thenReturn(Duration.ofSeconds(30));
+        when(properties.getSystemTaskWorkerPollerThreadCount()).thenReturn(1);
+        when(properties.getSystemTaskWorkerMaxPollBackoff()).thenReturn(Duration.ofMinutes(2));
 
         systemTaskWorker =
                 new SystemTaskWorker(
@@ -72,6 +76,7 @@ public class TestSystemTaskWorker {
     public void tearDown() {
         systemTaskWorker.queueExecutionConfigMap.clear();
         systemTaskWorker.stop();
+        systemTaskWorker.queuePollers.clear();
     }
 
     @Test
@@ -95,6 +100,23 @@ public class TestSystemTaskWorker {
                 7);
     }
 
+    @Test
+    public void testGetExecutionConfigWithVirtualThreads() throws Exception {
+        when(properties.getSystemTaskWorkerThreadCount()).thenReturn(3);
+        when(properties.isSystemTaskWorkerVirtualThreadsEnabled()).thenReturn(true);
+        systemTaskWorker =
+                new SystemTaskWorker(
+                        queueDAO, asyncSystemTaskExecutor, properties, executionService);
+        ExecutionConfig executionConfig = systemTaskWorker.getExecutionConfig("");
+
+        assertEquals(3, executionConfig.getSemaphoreUtil().availableSlots());
+        // falls back to platform threads on runtimes without virtual threads
+        assertEquals(
+                Runtime.version().feature() < 21,
+                executionConfig.getExecutorService() instanceof ThreadPoolExecutor);
+        assertEquals("done", executionConfig.getExecutorService().submit(() -> "done").get());
+    }
+
     @Test
     public void testPollAndExecuteSystemTask() throws Exception {
         when(queueDAO.pop(anyString(), anyInt(), anyInt()))
@@ -178,6 +200,44 @@ public class TestSystemTaskWorker {
         verify(asyncSystemTaskExecutor, Mockito.never()).execute(any(), anyString());
     }
 
+    @Test
+    public void testEmptyPollsBackOff() {
+        when(queueDAO.pop(anyString(), anyInt(), anyInt()))
+                .thenReturn(Collections.emptyList())
+                .thenReturn(Collections.emptyList())
+                .thenReturn(Collections.emptyList())
+                .thenReturn(List.of("taskId"));
+        SystemTaskWorker.QueuePoller queuePoller =
+                systemTaskWorker.new QueuePoller(new TestTask(), TEST_TASK);
+
+        queuePoller.run();
+        assertEquals(60_000, queuePoller.getDelay());
+        queuePoller.run();
+        assertEquals(120_000, queuePoller.getDelay());
+        queuePoller.run();
+        assertEquals(120_000, queuePoller.getDelay());
+        queuePoller.run();
+        assertEquals(30_000, queuePoller.getDelay());
+        queuePoller.cancel();
+    }
+
+    @Test
+    public void testQueuedTaskWakesUpPoller() {
+        when(properties.getSystemTaskWorkerPollInterval()).thenReturn(Duration.ofMillis(50));
+        when(queueDAO.pop(anyString(), anyInt(), anyInt())).thenReturn(Collections.emptyList());
+        systemTaskWorker.stop();
+        systemTaskWorker =
+                new SystemTaskWorker(
+                        queueDAO, asyncSystemTaskExecutor, properties, executionService);
+        systemTaskWorker.start();
+        systemTaskWorker.startPolling(new TestTask(), TEST_TASK);
+
+        systemTaskWorker.onSystemTaskQueued(new SystemTaskQueuedEvent(this, TEST_TASK));
+
+        // the first scheduled poll is 1s away, so this poll comes from the wake-up
+        verify(queueDAO, timeout(500)).pop(eq(TEST_TASK), anyInt(), anyInt());
+    }
+
     static class TestTask extends WorkflowSystemTask {
         public TestTask() {
             super(TEST_TASK);
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.reconciliation;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.dao.QueueDAO;
+
+import static com.netflix.conductor.core.utils.Utils.DECIDER_QUEUE;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TestWorkflowReconciler {
+
+    private WorkflowSweeper workflowSweeper;
+    private QueueDAO queueDAO;
+    private ConductorProperties properties;
+
+    @Before
+    public void setUp() {
+        workflowSweeper = mock(WorkflowSweeper.class);
+        queueDAO = mock(QueueDAO.class);
+        properties = mock(ConductorProperties.class);
+        when(properties.getSweeperThreadCount()).thenReturn(2);
+        when(workflowSweeper.sweepAsync(anyString()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @Test
+    public void testBatchSweep() {
+        when(queueDAO.pop(DECIDER_QUEUE, 2, 2000)).thenReturn(Arrays.asList("w1", "w2"));
+
+        WorkflowReconciler reconciler =
+                new WorkflowReconciler(workflowSweeper, queueDAO, properties);
+        reconciler.start();
+        reconciler.pollAndSweep();
+
+        verify(workflowSweeper, times(1)).sweepAsync("w1");
+        verify(workflowSweeper, times(1)).sweepAsync("w2");
+    }
+
+    @Test
+    public void testContinuousSweepSkipsInFlightWorkflows() {
+        when(properties.isSweeperContinuousModeEnabled()).thenReturn(true);
+        // w1 stays in flight for the duration of the test
+        when(workflowSweeper.sweepAsync("w1")).thenReturn(new CompletableFuture<>());
+
+        WorkflowReconciler reconciler =
+                new WorkflowReconciler(workflowSweeper, queueDAO, properties);
+        when(queueDAO.pop(DECIDER_QUEUE, 2, 2000)).thenReturn(Collections.singletonList("w1"));
+        when(queueDAO.pop(DECIDER_QUEUE, 1, 2000))
+                .thenReturn(Collections.singletonList("w1"))
+                .thenReturn(Collections.singletonList("w2"))
+                .thenAnswer(
+                        invocation -> {
+                            reconciler.stop();
+                            return Collections.emptyList();
+                        });
+
+        reconciler.start();
+        reconciler.pollAndSweep();
+
+        verify(workflowSweeper, times(1)).sweepAsync("w1");
+        verify(workflowSweeper, times(1)).sweepAsync("w2");
+        // the slot held by w1 is never handed out again, the other one is refilled after each sweep
+        verify(queueDAO, times(1)).pop(eq(DECIDER_QUEUE), eq(2), anyInt());
+        verify(queueDAO, times(3)).pop(eq(DECIDER_QUEUE), eq(1), anyInt());
+    }
+}
@@ -32,6 +32,8 @@ import org.springframework.test.context.junit4.SpringRunner;
 
 import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
 import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
+import com.netflix.conductor.model.TaskModel;
+import com.netflix.conductor.model.WorkflowModel;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -297,6 +299,52 @@ public class ParametersUtilsTest {
         assertEquals("${someString} $${someNumber}", inputList.get(2));
     }
 
+    @Test
+    public void testGetTaskInputV2ReadsOnlyReferencedTasks() {
+        WorkflowDef workflowDef = new WorkflowDef();
+        workflowDef.setSchemaVersion(2);
+        WorkflowModel workflow = new WorkflowModel();
+        workflow.setWorkflowDefinition(workflowDef);
+        workflow.setInput(Map.of("requestId", "request-1"));
+        workflow.getTasks().add(createTask("task-1", 0, Map.of("result", "first")));
+        workflow.getTasks().add(createTask("loop_task__1", 1, Map.of("result", "iteration 1")));
+        workflow.getTasks().add(createTask("loop_task__2", 2, Map.of("result", "iteration 2")));
+
+        Map<String, Object> input = new HashMap<>();
+        input.put("requestId", "${workflow.input.requestId}");
+        input.put("bracketed", "${['task-1'].output.result}");
+        input.put("loop", "${loop_task.output.result}");
+        input.put("missing", "${task_2.output.result}");
+        input.put("list", List.of("${$.task-1.output.result}", 1));
+
+        Map<String, Object> taskInput =
+                parametersUtils.getTaskInputV2(input, workflow, "taskId", null);
+        assertEquals("request-1", taskInput.get("requestId"));
+        assertEquals("first", taskInput.get("bracketed"));
+        assertEquals("iteration 2", taskInput.get("loop"));
+        assertNull(taskInput.get("missing"));
+        assertEquals(List.of("first", 1), taskInput.get("list"));
+
+        // a deep scan reads from all the tasks
+        Map<String, Object> deepScanInput = Map.of("results", "${..result}");
+        taskInput = parametersUtils.getTaskInputV2(deepScanInput, workflow, "taskId", null);
+        assertEquals(2, ((List) taskInput.get("results")).size());
+
+        // the input parameters are not mutated
+        assertEquals(List.of("${$.task-1.output.result}", 1), input.get("list"));
+    }
+
+    private TaskModel createTask(
+            String referenceTaskName, int iteration, Map<String, Object> output) {
+        TaskModel task = new TaskModel();
+        task.setTaskId(referenceTaskName);
+        task.setReferenceTaskName(referenceTaskName);
+        task.setIteration(iteration);
+        task.setStatus(TaskModel.Status.COMPLETED);
+        task.setOutputData(new HashMap<>(output));
+        return task;
+    }
+
     @Test
     public void getWorkflowInputHandlesNullInputTemplate() {
         WorkflowDef workflowDef = new WorkflowDef();
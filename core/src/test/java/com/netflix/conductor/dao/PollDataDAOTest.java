@@ -51,4 +51,13 @@ public abstract class PollDataDAOTest {
         pollData = getPollDataDAO().getPollData("taskDef", "domain2");
         assertNull(pollData);
     }
+
+    @Test
+    public void testPollDataKeepsLastPollTime() {
+        getPollDataDAO().updateLastPollData(new PollData("taskDef2", "domain1", "workerId1", 42L));
+        PollData pollData = getPollDataDAO().getPollData("taskDef2", "domain1");
+        assertNotNull(pollData);
+        assertEquals(42L, pollData.getLastPollTime());
+        assertEquals("workerId1", pollData.getWorkerId());
+    }
 }
@@ -35,8 +35,19 @@ import com.netflix.conductor.core.dal.ExecutionDAOFacade;
 import com.netflix.conductor.core.execution.WorkflowExecutor;
 import com.netflix.conductor.core.execution.tasks.SystemTaskRegistry;
 import com.netflix.conductor.dao.QueueDAO;
+import com.netflix.conductor.model.TaskModel;
 
 import static junit.framework.TestCase.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(SpringRunner.class)
@@ -92,10 +103,9 @@ public class ExecutionServiceTest {
                                 2,
                                 Arrays.asList(
                                         workflow1.getWorkflowId(), workflow2.getWorkflowId())));
-        when(executionDAOFacade.getWorkflow(workflow1.getWorkflowId(), false))
-                .thenReturn(workflow1);
-        when(executionDAOFacade.getWorkflow(workflow2.getWorkflowId(), false))
-                .thenReturn(workflow2);
+        when(executionDAOFacade.getWorkflows(
+                        Arrays.asList(workflow1.getWorkflowId(), workflow2.getWorkflowId())))
+                .thenReturn(Arrays.asList(workflow1, workflow2));
         SearchResult<WorkflowSummary> searchResult =
                 executionService.search("query", "*", 0, 2, sort);
         assertEquals(2, searchResult.getTotalHits());
@@ -112,10 +122,9 @@ public class ExecutionServiceTest {
                                 2,
                                 Arrays.asList(
                                         workflow1.getWorkflowId(), workflow2.getWorkflowId())));
-        when(executionDAOFacade.getWorkflow(workflow1.getWorkflowId(), false))
-                .thenReturn(workflow1);
-        when(executionDAOFacade.getWorkflow(workflow2.getWorkflowId(), false))
-                .thenThrow(new RuntimeException());
+        when(executionDAOFacade.getWorkflows(
+                        Arrays.asList(workflow1.getWorkflowId(), workflow2.getWorkflowId())))
+                .thenReturn(Collections.singletonList(workflow1));
         SearchResult<WorkflowSummary> searchResult =
                 executionService.search("query", "*", 0, 2, sort);
         assertEquals(1, searchResult.getTotalHits());
@@ -131,10 +140,9 @@ public class ExecutionServiceTest {
                                 2,
                                 Arrays.asList(
                                         workflow1.getWorkflowId(), workflow2.getWorkflowId())));
-        when(executionDAOFacade.getWorkflow(workflow1.getWorkflowId(), false))
-                .thenReturn(workflow1);
-        when(executionDAOFacade.getWorkflow(workflow2.getWorkflowId(), false))
-                .thenReturn(workflow2);
+        when(executionDAOFacade.getWorkflows(
+                        Arrays.asList(workflow1.getWorkflowId(), workflow2.getWorkflowId())))
+                .thenReturn(Arrays.asList(workflow1, workflow2));
         SearchResult<Workflow> searchResult = executionService.searchV2("query", "*", 0, 2, sort);
         assertEquals(2, searchResult.getTotalHits());
         assertEquals(Arrays.asList(workflow1, workflow2), searchResult.getResults());
@@ -148,10 +156,9 @@ public class ExecutionServiceTest {
                                 2,
                                 Arrays.asList(
                                         workflow1.getWorkflowId(), workflow2.getWorkflowId())));
-        when(executionDAOFacade.getWorkflow(workflow1.getWorkflowId(), false))
-                .thenReturn(workflow1);
-        when(executionDAOFacade.getWorkflow(workflow2.getWorkflowId(), false))
-                .thenThrow(new RuntimeException());
+        when(executionDAOFacade.getWorkflows(
+                        Arrays.asList(workflow1.getWorkflowId(), workflow2.getWorkflowId())))
+                .thenReturn(Collections.singletonList(workflow1));
         SearchResult<Workflow> searchResult = executionService.searchV2("query", "*", 0, 2, sort);
         assertEquals(1, searchResult.getTotalHits());
         assertEquals(Collections.singletonList(workflow1), searchResult.getResults());
@@ -165,12 +172,12 @@ public class ExecutionServiceTest {
                                 2,
                                 Arrays.asList(
                                         taskWorkflow1.getTaskId(), taskWorkflow2.getTaskId())));
-        when(executionDAOFacade.getTask(taskWorkflow1.getTaskId())).thenReturn(taskWorkflow1);
-        when(executionDAOFacade.getTask(taskWorkflow2.getTaskId())).thenReturn(taskWorkflow2);
-        when(executionDAOFacade.getWorkflow(workflow1.getWorkflowId(), false))
-                .thenReturn(workflow1);
-        when(executionDAOFacade.getWorkflow(workflow2.getWorkflowId(), false))
-                .thenReturn(workflow2);
+        when(executionDAOFacade.getTasks(
+                        Arrays.asList(taskWorkflow1.getTaskId(), taskWorkflow2.getTaskId())))
+                .thenReturn(Arrays.asList(taskWorkflow1, taskWorkflow2));
+        when(executionDAOFacade.getWorkflows(
+                        Arrays.asList(workflow1.getWorkflowId(), workflow2.getWorkflowId())))
+                .thenReturn(Arrays.asList(workflow1, workflow2));
         SearchResult<WorkflowSummary> searchResult =
                 executionService.searchWorkflowByTasks("query", "*", 0, 2, sort);
         assertEquals(2, searchResult.getTotalHits());
@@ -187,11 +194,12 @@ public class ExecutionServiceTest {
                                 2,
                                 Arrays.asList(
                                         taskWorkflow1.getTaskId(), taskWorkflow2.getTaskId())));
-        when(executionDAOFacade.getTask(taskWorkflow1.getTaskId())).thenReturn(taskWorkflow1);
-        when(executionDAOFacade.getTask(taskWorkflow2.getTaskId()))
-                .thenThrow(new RuntimeException());
-        when(executionDAOFacade.getWorkflow(workflow1.getWorkflowId(), false))
-                .thenReturn(workflow1);
+        when(executionDAOFacade.getTasks(
+                        Arrays.asList(taskWorkflow1.getTaskId(), taskWorkflow2.getTaskId())))
+                .thenReturn(Collections.singletonList(taskWorkflow1));
+        when(executionDAOFacade.getWorkflows(
+                        Collections.singletonList(workflow1.getWorkflowId())))
+                .thenReturn(Collections.singletonList(workflow1));
         SearchResult<WorkflowSummary> searchResult =
                 executionService.searchWorkflowByTasks("query", "*", 0, 2, sort);
         assertEquals(1, searchResult.getTotalHits());
@@ -207,12 +215,12 @@ public class ExecutionServiceTest {
                                 2,
                                 Arrays.asList(
                                         taskWorkflow1.getTaskId(), taskWorkflow2.getTaskId())));
-        when(executionDAOFacade.getTask(taskWorkflow1.getTaskId())).thenReturn(taskWorkflow1);
-        when(executionDAOFacade.getTask(taskWorkflow2.getTaskId())).thenReturn(taskWorkflow2);
-        when(executionDAOFacade.getWorkflow(workflow1.getWorkflowId(), false))
-                .thenReturn(workflow1);
-        when(executionDAOFacade.getWorkflow(workflow2.getWorkflowId(), false))
-                .thenReturn(workflow2);
+        when(executionDAOFacade.getTasks(
+                        Arrays.asList(taskWorkflow1.getTaskId(), taskWorkflow2.getTaskId())))
+                .thenReturn(Arrays.asList(taskWorkflow1, taskWorkflow2));
+        when(executionDAOFacade.getWorkflows(
+                        Arrays.asList(workflow1.getWorkflowId(), workflow2.getWorkflowId())))
+                .thenReturn(Arrays.asList(workflow1, workflow2));
         SearchResult<Workflow> searchResult =
                 executionService.searchWorkflowByTasksV2("query", "*", 0, 2, sort);
         assertEquals(2, searchResult.getTotalHits());
@@ -227,11 +235,12 @@ public class ExecutionServiceTest {
                                 2,
                                 Arrays.asList(
                                         taskWorkflow1.getTaskId(), taskWorkflow2.getTaskId())));
-        when(executionDAOFacade.getTask(taskWorkflow1.getTaskId())).thenReturn(taskWorkflow1);
-        when(executionDAOFacade.getTask(taskWorkflow2.getTaskId()))
-                .thenThrow(new RuntimeException());
-        when(executionDAOFacade.getWorkflow(workflow1.getWorkflowId(), false))
-                .thenReturn(workflow1);
+        when(executionDAOFacade.getTasks(
+                        Arrays.asList(taskWorkflow1.getTaskId(), taskWorkflow2.getTaskId())))
+                .thenReturn(Collections.singletonList(taskWorkflow1));
+        when(executionDAOFacade.getWorkflows(
+                        Collections.singletonList(workflow1.getWorkflowId())))
+                .thenReturn(Collections.singletonList(workflow1));
         SearchResult<Workflow> searchResult =
                 executionService.searchWorkflowByTasksV2("query", "*", 0, 2, sort);
         assertEquals(1, searchResult.getTotalHits());
@@ -243,8 +252,9 @@ public class ExecutionServiceTest {
         List<String> taskList = Arrays.asList(taskWorkflow1.getTaskId(), taskWorkflow2.getTaskId());
         when(executionDAOFacade.searchTasks("query", "*", 0, 2, sort))
                 .thenReturn(new SearchResult<>(2, taskList));
-        when(executionDAOFacade.getTask(taskWorkflow1.getTaskId())).thenReturn(taskWorkflow1);
-        when(executionDAOFacade.getTask(taskWorkflow2.getTaskId())).thenReturn(taskWorkflow2);
+        when(executionDAOFacade.getTasks(
+                        Arrays.asList(taskWorkflow1.getTaskId(), taskWorkflow2.getTaskId())))
+                .thenReturn(Arrays.asList(taskWorkflow1, taskWorkflow2));
         SearchResult<TaskSummary> searchResult =
                 executionService.getSearchTasks("query", "*", 0, 2, "Sort");
         assertEquals(2, searchResult.getTotalHits());
@@ -258,9 +268,9 @@ public class ExecutionServiceTest {
         List<String> taskList = Arrays.asList(taskWorkflow1.getTaskId(), taskWorkflow2.getTaskId());
         when(executionDAOFacade.searchTasks("query", "*", 0, 2, sort))
                 .thenReturn(new SearchResult<>(2, taskList));
-        when(executionDAOFacade.getTask(taskWorkflow1.getTaskId())).thenReturn(taskWorkflow1);
-        when(executionDAOFacade.getTask(taskWorkflow2.getTaskId()))
-                .thenThrow(new RuntimeException());
+        when(executionDAOFacade.getTasks(
+                        Arrays.asList(taskWorkflow1.getTaskId(), taskWorkflow2.getTaskId())))
+                .thenReturn(Collections.singletonList(taskWorkflow1));
         SearchResult<TaskSummary> searchResult =
                 executionService.getSearchTasks("query", "*", 0, 2, "Sort");
         assertEquals(1, searchResult.getTotalHits());
@@ -276,8 +286,9 @@ public class ExecutionServiceTest {
                                 2,
                                 Arrays.asList(
                                         taskWorkflow1.getTaskId(), taskWorkflow2.getTaskId())));
-        when(executionDAOFacade.getTask(taskWorkflow1.getTaskId())).thenReturn(taskWorkflow1);
-        when(executionDAOFacade.getTask(taskWorkflow2.getTaskId())).thenReturn(taskWorkflow2);
+        when(executionDAOFacade.getTasks(
+                        Arrays.asList(taskWorkflow1.getTaskId(), taskWorkflow2.getTaskId())))
+                .thenReturn(Arrays.asList(taskWorkflow1, taskWorkflow2));
         SearchResult<Task> searchResult =
                 executionService.getSearchTasksV2("query", "*", 0, 2, "Sort");
         assertEquals(2, searchResult.getTotalHits());
@@ -292,12 +303,81 @@ public class ExecutionServiceTest {
                                 2,
                                 Arrays.asList(
                                         taskWorkflow1.getTaskId(), taskWorkflow2.getTaskId())));
-        when(executionDAOFacade.getTask(taskWorkflow1.getTaskId())).thenReturn(taskWorkflow1);
-        when(executionDAOFacade.getTask(taskWorkflow2.getTaskId()))
-                .thenThrow(new RuntimeException());
+        when(executionDAOFacade.getTasks(
+                        Arrays.asList(taskWorkflow1.getTaskId(), taskWorkflow2.getTaskId())))
+                .thenReturn(Collections.singletonList(taskWorkflow1));
         SearchResult<Task> searchResult =
                 executionService.getSearchTasksV2("query", "*", 0, 2, "Sort");
         assertEquals(1, searchResult.getTotalHits());
         assertEquals(Collections.singletonList(taskWorkflow1), searchResult.getResults());
     }
+
+    @Test
+    public void pollLoadsAndUpdatesTasksInBulk() {
+        List<String> taskIds = Arrays.asList("task1", "task2", "task3");
+        when(queueDAO.pop("taskType", 3, 100)).thenReturn(taskIds);
+        when(executionDAOFacade.getTaskModels(taskIds))
+                .thenReturn(
+                        Arrays.asList(
+                                scheduledTaskModel("task1", "taskType"),
+                                scheduledTaskModel("task2", "taskType")));
+
+        List<Task> tasks = executionService.poll("taskType", "worker", null, 3, 100);
+
+        assertEquals(2, tasks.size());
+        assertEquals(Task.Status.IN_PROGRESS, tasks.get(0).getStatus());
+        assertEquals("worker", tasks.get(1).getWorkerId());
+        verify(queueDAO).remove("taskType", "task3");
+        verify(executionDAOFacade, times(1)).updateTasks(anyList());
+        verify(executionDAOFacade, never()).getTaskModel(anyString());
+        verify(executionDAOFacade, never()).updateTask(any(TaskModel.class));
+        verify(executionDAOFacade).updateTaskLastPoll("taskType", null, "worker");
+    }
+
+    @Test
+    public void pollPostponesRemainingTasksOfLimitedTaskDef() {
+        List<String> taskIds = Arrays.asList("task1", "task2", "task3");
+        when(queueDAO.pop("taskType", 3, 100)).thenReturn(taskIds);
+        when(executionDAOFacade.getTaskModels(taskIds))
+                .thenReturn(
+                        Arrays.asList(
+                                scheduledTaskModel("task1", "taskType"),
+                                scheduledTaskModel("task2", "taskType"),
+                                scheduledTaskModel("task3", "taskType")));
+        when(executionDAOFacade.exceedsInProgressLimit(any())).thenReturn(true);
+
+        List<Task> tasks = executionService.poll("taskType", "worker", null, 3, 100);
+
+        assertEquals(0, tasks.size());
+        verify(executionDAOFacade, times(1)).exceedsInProgressLimit(any());
+        verify(queueDAO, times(3)).postpone(eq("taskType"), anyString(), anyInt(), anyLong());
+        verify(executionDAOFacade, never()).updateTasks(anyList());
+    }
+
+    @Test
+    public void pollPostponesTasksWhenBulkUpdateFails() {
+        List<String> taskIds = Arrays.asList("task1", "task2");
+        when(queueDAO.pop("taskType", 2, 100)).thenReturn(taskIds);
+        when(executionDAOFacade.getTaskModels(taskIds))
+                .thenReturn(
+                        Arrays.asList(
+                                scheduledTaskModel("task1", "taskType"),
+                                scheduledTaskModel("task2", "taskType")));
+        doThrow(new RuntimeException()).when(executionDAOFacade).updateTasks(anyList());
+
+        List<Task> tasks = executionService.poll("taskType", "worker", null, 2, 100);
+
+        assertEquals(0, tasks.size());
+        verify(queueDAO).postpone("taskType", "task1", 0, 60);
+        verify(queueDAO).postpone("taskType", "task2", 0, 60);
+    }
+
+    private TaskModel scheduledTaskModel(String taskId, String taskDefName) {
+        TaskModel taskModel = new TaskModel();
+        taskModel.setTaskId(taskId);
+        taskModel.setTaskType(taskDefName);
+        taskModel.setTaskDefName(taskDefName);
+        taskModel.setStatus(TaskModel.Status.SCHEDULED);
+        return taskModel;
+    }
 }
@@ -12,6 +12,7 @@
  */
 package com.netflix.conductor.service;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -64,6 +65,7 @@ public class MetadataServiceTest {
         public ConductorProperties properties() {
             ConductorProperties properties = mock(ConductorProperties.class);
             when(properties.isOwnerEmailMandatory()).thenReturn(true);
+            when(properties.getEventHandlerRefreshInterval()).thenReturn(Duration.ZERO);
             return properties;
         }
 
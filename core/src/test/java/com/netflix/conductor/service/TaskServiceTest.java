@@ -235,6 +235,20 @@ public class TaskServiceTest {
         assertEquals(searchResult, taskService.search(0, 2, "Sort", "*", "query"));
     }
 
+    @Test(expected = ConstraintViolationException.class)
+    public void testInvalidSizeScrollTasks() {
+        try {
+            taskService.scrollTasks(6000, "Sort", "*", "query", null);
+        } catch (ConstraintViolationException ex) {
+            assertEquals(1, ex.getConstraintViolations().size());
+            Set<String> messages = getConstraintViolationMessages(ex.getConstraintViolations());
+            assertTrue(
+                    messages.contains(
+                            "Cannot return more than 5000 tasks. Please use pagination."));
+            throw ex;
+        }
+    }
+
     @Test
     public void testSearchV2() {
         SearchResult<Task> searchResult =
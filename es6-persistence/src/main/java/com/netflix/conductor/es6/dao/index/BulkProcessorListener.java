@@ -0,0 +1,85 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.es6.dao.index;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.elasticsearch.action.bulk.BulkProcessor;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.netflix.conductor.metrics.Monitors;
+
+/**
+ * Records the size and latency of the bulk requests sent by the {@link BulkProcessor} of a
+ * document type, and logs the documents which failed to be indexed.
+ */
+class BulkProcessorListener implements BulkProcessor.Listener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkProcessorListener.class);
+
+    private final String className;
+    private final String docType;
+    private final Map<Long, Long> startTimes = new ConcurrentHashMap<>();
+
+    /**
+     * @param className the name of the DAO class, used to record the errors
+     * @param docType the type of the documents indexed by the bulk processor
+     */
+    BulkProcessorListener(String className, String docType) {
+        this.className = className;
+        this.docType = docType;
+    }
+
+    @Override
+    public void beforeBulk(long executionId, BulkRequest request) {
+        startTimes.put(executionId, System.currentTimeMillis());
+        Monitors.recordESBulkRequest(
+                docType, request.numberOfActions(), request.estimatedSizeInBytes());
+    }
+
+    @Override
+    public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {
+        recordIndexTime(executionId);
+        if (response.hasFailures()) {
+            Monitors.error(className, "index");
+            LOGGER.error(
+                    "Failed to index documents of type: {}, {}",
+                    docType,
+                    response.buildFailureMessage());
+        }
+    }
+
+    @Override
+    public void afterBulk(long executionId, BulkRequest request, Throwable failure) {
+        recordIndexTime(executionId);
+        Monitors.error(className, "index");
+        LOGGER.error(
+                "Failed to index {} documents of type: {}",
+                request.numberOfActions(),
+                docType,
+                failure);
+    }
+
+    private void recordIndexTime(long executionId) {
+        Long startTime = startTimes.remove(executionId);
+        if (startTime != null) {
+            long time = System.currentTimeMillis() - startTime;
+            LOGGER.debug("Time taken {} for indexing object of type: {}", time, docType);
+            Monitors.recordESIndexTime("index_object", docType, time);
+        }
+    }
+}
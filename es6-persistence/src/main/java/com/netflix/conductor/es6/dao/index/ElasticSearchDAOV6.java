@@ -30,7 +30,7 @@ import org.elasticsearch.action.DocWriteResponse;
 import org.elasticsearch.action.admin.indices.create.CreateIndexRequest;
 import org.elasticsearch.action.admin.indices.mapping.get.GetMappingsResponse;
 import org.elasticsearch.action.admin.indices.template.get.GetIndexTemplatesResponse;
-import org.elasticsearch.action.bulk.BulkRequestBuilder;
+import org.elasticsearch.action.bulk.BulkProcessor;
 import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.delete.DeleteResponse;
@@ -44,6 +44,8 @@ import org.elasticsearch.action.update.UpdateResponse;
 import org.elasticsearch.client.Client;
 import org.elasticsearch.common.Strings;
 import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.common.xcontent.XContentType;
 import org.elasticsearch.index.IndexNotFoundException;
 import org.elasticsearch.index.query.BoolQueryBuilder;
@@ -112,9 +114,7 @@ public class ElasticSearchDAOV6 extends ElasticSearchBaseDAO implements IndexDAO
     private final ExecutorService executorService;
     private final ExecutorService logExecutorService;
 
-    private final ConcurrentHashMap<String, BulkRequests> bulkRequests;
-    private final int indexBatchSize;
-    private final long asyncBufferFlushTimeout;
+    private final ConcurrentHashMap<String, BulkProcessor> bulkProcessors;
     private final ElasticSearchProperties properties;
 
     static {
@@ -135,9 +135,7 @@ public class ElasticSearchDAOV6 extends ElasticSearchBaseDAO implements IndexDAO
         this.eventIndexPrefix = this.indexPrefix + "_" + EVENT_DOC_TYPE;
         int workerQueueSize = properties.getAsyncWorkerQueueSize();
         int maximumPoolSize = properties.getAsyncMaxPoolSize();
-        this.bulkRequests = new ConcurrentHashMap<>();
-        this.indexBatchSize = properties.getIndexBatchSize();
-        this.asyncBufferFlushTimeout = properties.getAsyncBufferFlushTimeout().toMillis();
+        this.bulkProcessors = new ConcurrentHashMap<>();
         this.properties = properties;
 
         if (!properties.isAutoIndexManagementEnabled()
@@ -179,9 +177,6 @@ public class ElasticSearchDAOV6 extends ElasticSearchBaseDAO implements IndexDAO
                                     executor);
                             Monitors.recordDiscardedIndexingCount("logQueue");
                         });
-
-        Executors.newSingleThreadScheduledExecutor()
-                .scheduleAtFixedRate(this::flushBulkRequests, 60, 30, TimeUnit.SECONDS);
     }
 
     @PreDestroy
@@ -189,6 +184,18 @@ public class ElasticSearchDAOV6 extends ElasticSearchBaseDAO implements IndexDAO
         LOGGER.info("Starting graceful shutdown of executor service");
         shutdownExecutorService(logExecutorService);
         shutdownExecutorService(executorService);
+        bulkProcessors.values().forEach(this::closeBulkProcessor);
+    }
+
+    private void closeBulkProcessor(BulkProcessor bulkProcessor) {
+        try {
+            if (!bulkProcessor.awaitClose(30, TimeUnit.SECONDS)) {
+                LOGGER.warn("Closing bulk processor after waiting for 30 seconds");
+            }
+        } catch (InterruptedException ie) {
+            LOGGER.warn("Closing bulk processor interrupted");
+            Thread.currentThread().interrupt();
+        }
     }
 
     private void shutdownExecutorService(ExecutorService execService) {
@@ -420,28 +427,7 @@ public class ElasticSearchDAOV6 extends ElasticSearchBaseDAO implements IndexDAO
     }
 
     private void indexObject(UpdateRequest req, String docType) {
-        if (bulkRequests.get(docType) == null) {
-            bulkRequests.put(
-                    docType,
-                    new BulkRequests(
-                            System.currentTimeMillis(), elasticSearchClient.prepareBulk()));
-        }
-        bulkRequests.get(docType).getBulkRequestBuilder().add(req);
-        if (bulkRequests.get(docType).getBulkRequestBuilder().numberOfActions()
-                >= this.indexBatchSize) {
-            indexBulkRequest(docType);
-        }
-    }
-
-    private synchronized void indexBulkRequest(String docType) {
-        if (bulkRequests.get(docType).getBulkRequestBuilder() != null
-                && bulkRequests.get(docType).getBulkRequestBuilder().numberOfActions() > 0) {
-            updateWithRetry(bulkRequests.get(docType).getBulkRequestBuilder(), docType);
-            bulkRequests.put(
-                    docType,
-                    new BulkRequests(
-                            System.currentTimeMillis(), elasticSearchClient.prepareBulk()));
-        }
+        bulkProcessors.computeIfAbsent(docType, this::createBulkProcessor).add(req);
     }
 
     @Override
@@ -653,27 +639,6 @@ public class ElasticSearchDAOV6 extends ElasticSearchBaseDAO implements IndexDAO
         return executions;
     }
 
-    private void updateWithRetry(BulkRequestBuilderWrapper request, String docType) {
-        try {
-            long startTime = Instant.now().toEpochMilli();
-            new RetryUtil<BulkResponse>()
-                    .retryOnException(
-                            () -> request.execute().actionGet(5, TimeUnit.SECONDS),
-                            null,
-                            BulkResponse::hasFailures,
-                            RETRY_COUNT,
-                            "Bulk Indexing " + docType,
-                            "updateWithRetry");
-            long endTime = Instant.now().toEpochMilli();
-            LOGGER.debug(
-                    "Time taken {} for indexing object of type: {}", endTime - startTime, docType);
-            Monitors.recordESIndexTime("index_object", docType, endTime - startTime);
-        } catch (Exception e) {
-            Monitors.error(CLASS_NAME, "index");
-            LOGGER.error("Failed to index {} for requests", request.numberOfActions(), e);
-        }
-    }
-
     @Override
     public SearchResult<String> searchWorkflows(
             String query, String freeText, int start, int count, List<String> sort) {
@@ -905,58 +870,15 @@ public class ElasticSearchDAOV6 extends ElasticSearchBaseDAO implements IndexDAO
         return ids;
     }
 
-    /**
-     * Flush the buffers if bulk requests have not been indexed for the past {@link
-     * ElasticSearchProperties#getAsyncBufferFlushTimeout()} seconds. This is to prevent data loss
-     * in case the instance is terminated, while the buffer still holds documents to be indexed.
-     */
-    private void flushBulkRequests() {
-        bulkRequests.entrySet().stream()
-                .filter(
-                        entry ->
-                                (System.currentTimeMillis() - entry.getValue().getLastFlushTime())
-                                        >= asyncBufferFlushTimeout)
-                .filter(
-                        entry ->
-                                entry.getValue().getBulkRequestBuilder() != null
-                                        && entry.getValue()
-                                                        .getBulkRequestBuilder()
-                                                        .numberOfActions()
-                                                > 0)
-                .forEach(
-                        entry -> {
-                            LOGGER.debug(
-                                    "Flushing bulk request buffer for type {}, size: {}",
-                                    entry.getKey(),
-                                    entry.getValue().getBulkRequestBuilder().numberOfActions());
-                            indexBulkRequest(entry.getKey());
-                        });
-    }
-
-    private static class BulkRequests {
-
-        private long lastFlushTime;
-        private BulkRequestBuilderWrapper bulkRequestBuilder;
-
-        public long getLastFlushTime() {
-            return lastFlushTime;
-        }
-
-        public void setLastFlushTime(long lastFlushTime) {
-            this.lastFlushTime = lastFlushTime;
-        }
-
-        public BulkRequestBuilderWrapper getBulkRequestBuilder() {
-            return bulkRequestBuilder;
-        }
-
-        public void setBulkRequestBuilder(BulkRequestBuilder bulkRequestBuilder) {
-            this.bulkRequestBuilder = new BulkRequestBuilderWrapper(bulkRequestBuilder);
-        }
-
-        BulkRequests(long lastFlushTime, BulkRequestBuilder bulkRequestBuilder) {
-            this.lastFlushTime = lastFlushTime;
-            this.bulkRequestBuilder = new BulkRequestBuilderWrapper(bulkRequestBuilder);
-        }
+    private BulkProcessor createBulkProcessor(String docType) {
+        return BulkProcessor.builder(
+                        elasticSearchClient, new BulkProcessorListener(CLASS_NAME, docType))
+                .setBulkActions(properties.getIndexBatchSize())
+                .setBulkSize(new ByteSizeValue(properties.getIndexBatchMaxSize().toBytes()))
+                .setConcurrentRequests(properties.getIndexBatchConcurrentRequests())
+                .setFlushInterval(
+                        TimeValue.timeValueMillis(
+                                properties.getAsyncBufferFlushTimeout().toMillis()))
+                .build();
     }
 }
@@ -34,6 +34,7 @@ import org.apache.http.nio.entity.NByteArrayEntity;
 import org.apache.http.nio.entity.NStringEntity;
 import org.apache.http.util.EntityUtils;
 import org.elasticsearch.action.DocWriteResponse;
+import org.elasticsearch.action.bulk.BulkProcessor;
 import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
@@ -49,6 +50,8 @@ import org.elasticsearch.action.update.UpdateResponse;
 import org.elasticsearch.client.*;
 import org.elasticsearch.client.core.CountRequest;
 import org.elasticsearch.client.core.CountResponse;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.common.xcontent.XContentType;
 import org.elasticsearch.index.query.BoolQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilder;
@@ -125,9 +128,7 @@ public class ElasticSearchRestDAOV6 extends ElasticSearchBaseDAO implements Inde
     private final RestClient elasticSearchAdminClient;
     private final ExecutorService executorService;
     private final ExecutorService logExecutorService;
-    private final ConcurrentHashMap<String, BulkRequests> bulkRequests;
-    private final int indexBatchSize;
-    private final long asyncBufferFlushTimeout;
+    private final ConcurrentHashMap<String, BulkProcessor> bulkProcessors;
     private final ElasticSearchProperties properties;
 
     static {
@@ -143,9 +144,7 @@ public class ElasticSearchRestDAOV6 extends ElasticSearchBaseDAO implements Inde
         this.elasticSearchAdminClient = restClientBuilder.build();
         this.elasticSearchClient = new RestHighLevelClient(restClientBuilder);
         this.clusterHealthColor = properties.getClusterHealthColor();
-        this.bulkRequests = new ConcurrentHashMap<>();
-        this.indexBatchSize = properties.getIndexBatchSize();
-        this.asyncBufferFlushTimeout = properties.getAsyncBufferFlushTimeout().toMillis();
+        this.bulkProcessors = new ConcurrentHashMap<>();
         this.properties = properties;
 
         this.indexPrefix = properties.getIndexPrefix();
@@ -199,9 +198,6 @@ public class ElasticSearchRestDAOV6 extends ElasticSearchBaseDAO implements Inde
                                     executor);
                             Monitors.recordDiscardedIndexingCount("logQueue");
                         });
-
-        Executors.newSingleThreadScheduledExecutor()
-                .scheduleAtFixedRate(this::flushBulkRequests, 60, 30, TimeUnit.SECONDS);
     }
 
     @PreDestroy
@@ -209,6 +205,18 @@ public class ElasticSearchRestDAOV6 extends ElasticSearchBaseDAO implements Inde
         LOGGER.info("Gracefully shutdown executor service");
         shutdownExecutorService(logExecutorService);
         shutdownExecutorService(executorService);
+        bulkProcessors.values().forEach(this::closeBulkProcessor);
+    }
+
+    private void closeBulkProcessor(BulkProcessor bulkProcessor) {
+        try {
+            if (!bulkProcessor.awaitClose(30, TimeUnit.SECONDS)) {
+                LOGGER.warn("Closing bulk processor after waiting for 30 seconds");
+            }
+        } catch (InterruptedException ie) {
+            LOGGER.warn("Closing bulk processor interrupted");
+            Thread.currentThread().interrupt();
+        }
     }
 
     private void shutdownExecutorService(ExecutorService execService) {
@@ -1021,111 +1029,30 @@ public class ElasticSearchRestDAOV6 extends ElasticSearchBaseDAO implements Inde
 
         IndexRequest request = new IndexRequest(index, docType, docId);
         request.source(docBytes, XContentType.JSON);
-
-        if (bulkRequests.get(docType) == null) {
-            bulkRequests.put(
-                    docType, new BulkRequests(System.currentTimeMillis(), new BulkRequest()));
-        }
-
-        bulkRequests.get(docType).getBulkRequest().add(request);
-        if (bulkRequests.get(docType).getBulkRequest().numberOfActions() >= this.indexBatchSize) {
-            indexBulkRequest(docType);
-        }
-    }
-
-    private synchronized void indexBulkRequest(String docType) {
-        if (bulkRequests.get(docType).getBulkRequest() != null
-                && bulkRequests.get(docType).getBulkRequest().numberOfActions() > 0) {
-            synchronized (bulkRequests.get(docType).getBulkRequest()) {
-                indexWithRetry(
-                        bulkRequests.get(docType).getBulkRequest().get(),
-                        "Bulk Indexing " + docType,
-                        docType);
-                bulkRequests.put(
-                        docType, new BulkRequests(System.currentTimeMillis(), new BulkRequest()));
-            }
-        }
-    }
-
-    /**
-     * Performs an index operation with a retry.
-     *
-     * @param request The index request that we want to perform.
-     * @param operationDescription The type of operation that we are performing.
-     */
-    private void indexWithRetry(
-            final BulkRequest request, final String operationDescription, String docType) {
-        try {
-            long startTime = Instant.now().toEpochMilli();
-            new RetryUtil<BulkResponse>()
-                    .retryOnException(
-                            () -> {
-                                try {
-                                    return elasticSearchClient.bulk(request);
-                                } catch (IOException e) {
-                                    throw new RuntimeException(e);
-                                }
-                            },
-                            null,
-                            null,
-                            RETRY_COUNT,
-                            operationDescription,
-                            "indexWithRetry");
-            long endTime = Instant.now().toEpochMilli();
-            LOGGER.debug(
-                    "Time taken {} for indexing object of type: {}", endTime - startTime, docType);
-            Monitors.recordESIndexTime("index_object", docType, endTime - startTime);
-            Monitors.recordWorkerQueueSize(
-                    "indexQueue", ((ThreadPoolExecutor) executorService).getQueue().size());
-            Monitors.recordWorkerQueueSize(
-                    "logQueue", ((ThreadPoolExecutor) logExecutorService).getQueue().size());
-        } catch (Exception e) {
-            Monitors.error(className, "index");
-            LOGGER.error("Failed to index {} for request type: {}", request, docType, e);
-        }
+        bulkProcessors.computeIfAbsent(docType, this::createBulkProcessor).add(request);
     }
 
     /**
-     * Flush the buffers if bulk requests have not been indexed for the past {@link
-     * ElasticSearchProperties#getAsyncBufferFlushTimeout()} seconds. This is to prevent data loss
-     * in case the instance is terminated, while the buffer still holds documents to be indexed.
+     * Creates the processor buffering the bulk requests of a document type. The buffer is flushed
+     * when it holds {@link ElasticSearchProperties#getIndexBatchSize()} documents, {@link
+     * ElasticSearchProperties#getIndexBatchMaxSize()} bytes, or every {@link
+     * ElasticSearchProperties#getAsyncBufferFlushTimeout()}, to prevent data loss in case the
+     * instance is terminated while the buffer still holds documents to be indexed. Adding documents
+     * blocks while {@link ElasticSearchProperties#getIndexBatchConcurrentRequests()} bulk requests
+     * are in flight.
      */
-    private void flushBulkRequests() {
-        bulkRequests.entrySet().stream()
-                .filter(
-                        entry ->
-                                (System.currentTimeMillis() - entry.getValue().getLastFlushTime())
-                                        >= asyncBufferFlushTimeout)
-                .filter(
-                        entry ->
-                                entry.getValue().getBulkRequest() != null
-                                        && entry.getValue().getBulkRequest().numberOfActions() > 0)
-                .forEach(
-                        entry -> {
-                            LOGGER.debug(
-                                    "Flushing bulk request buffer for type {}, size: {}",
-                                    entry.getKey(),
-                                    entry.getValue().getBulkRequest().numberOfActions());
-                            indexBulkRequest(entry.getKey());
-                        });
-    }
-
-    private static class BulkRequests {
-
-        private final long lastFlushTime;
-        private final BulkRequestWrapper bulkRequest;
-
-        long getLastFlushTime() {
-            return lastFlushTime;
-        }
-
-        BulkRequestWrapper getBulkRequest() {
-            return bulkRequest;
-        }
-
-        BulkRequests(long lastFlushTime, BulkRequest bulkRequest) {
-            this.lastFlushTime = lastFlushTime;
-            this.bulkRequest = new BulkRequestWrapper(bulkRequest);
-        }
+    private BulkProcessor createBulkProcessor(String docType) {
+        return BulkProcessor.builder(
+                        (request, listener) ->
+                                elasticSearchClient.bulkAsync(
+                                        request, RequestOptions.DEFAULT, listener),
+                        new BulkProcessorListener(className, docType))
+                .setBulkActions(properties.getIndexBatchSize())
+                .setBulkSize(new ByteSizeValue(properties.getIndexBatchMaxSize().toBytes()))
+                .setConcurrentRequests(properties.getIndexBatchConcurrentRequests())
+                .setFlushInterval(
+                        TimeValue.timeValueMillis(
+                                properties.getAsyncBufferFlushTimeout().toMillis()))
+                .build();
     }
 }
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.es6.dao.index;
+
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.netflix.spectator.api.Counter;
+import com.netflix.spectator.api.DefaultRegistry;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.Spectator;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestBulkProcessorListener {
+
+    private static final String CLASS_NAME = "TestBulkProcessorListener";
+
+    private static Registry registry;
+
+    private final BulkProcessorListener listener = new BulkProcessorListener(CLASS_NAME, "task");
+
+    @BeforeClass
+    public static void init() {
+        registry = new DefaultRegistry();
+        Spectator.globalRegistry().add(registry);
+    }
+
+    @Test
+    public void testFailedItemIsReported() {
+        BulkRequest request = bulkRequest("task1", "task2");
+        BulkItemResponse[] items = {
+            new BulkItemResponse(
+                    0,
+                    DocWriteRequest.OpType.INDEX,
+                    new BulkItemResponse.Failure(
+                            "conductor_task", "task", "task1", new RuntimeException("failed"))),
+        };
+        long errors = errors().count();
+
+        listener.beforeBulk(1, request);
+        listener.afterBulk(1, request, new BulkResponse(items, 10));
+
+        assertEquals(errors + 1, errors().count());
+    }
+
+    @Test
+    public void testSuccessfulBulkIsNotReported() {
+        BulkRequest request = bulkRequest("task1");
+        long errors = errors().count();
+
+        listener.beforeBulk(2, request);
+        listener.afterBulk(2, request, new BulkResponse(new BulkItemResponse[0], 10));
+
+        assertEquals(errors, errors().count());
+    }
+
+    @Test
+    public void testFailedBulkIsReported() {
+        BulkRequest request = bulkRequest("task1", "task2");
+        long errors = errors().count();
+
+        listener.beforeBulk(3, request);
+        listener.afterBulk(3, request, new RuntimeException("unavailable"));
+
+        assertEquals(errors + 1, errors().count());
+    }
+
+    private BulkRequest bulkRequest(String... taskIds) {
+        BulkRequest request = new BulkRequest();
+        for (String taskId : taskIds) {
+            request.add(
+                    new IndexRequest("conductor_task", "task", taskId)
+                            .source("{\"taskId\":\"" + taskId + "\"}", XContentType.JSON));
+        }
+        return request;
+    }
+
+    private Counter errors() {
+        return registry.counter(
+                "workflow_server_error", "class", CLASS_NAME, "methodName", "index");
+    }
+}
@@ -12,9 +12,12 @@
  */
 package com.netflix.conductor.es6.dao.index;
 
+import java.time.Duration;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.concurrent.TimeUnit;
 
+import org.junit.Before;
 import org.junit.Test;
 import org.springframework.test.context.TestPropertySource;
 
@@ -31,6 +34,16 @@ import static org.junit.Assert.assertTrue;
 @TestPropertySource(properties = "conductor.elasticsearch.indexBatchSize=2")
 public class TestElasticSearchRestDAOV6Batch extends ElasticSearchRestDaoBaseTest {
 
+    /**
+     * The properties are not bound in these tests, and the bulk processors are created when they
+     * are first used, so setting them here applies to the whole test.
+     */
+    @Before
+    public void setBatchProperties() {
+        properties.setIndexBatchSize(2);
+        properties.setAsyncBufferFlushTimeout(Duration.ofSeconds(1));
+    }
+
     @Test
     public void indexTaskWithBatchSizeTwo() {
         String correlationId = "some-correlation-id";
@@ -77,4 +90,33 @@ public class TestElasticSearchRestDAOV6Batch extends ElasticSearchRestDaoBaseTes
                                     result.getResults().get(0));
                         });
     }
+
+    @Test
+    public void indexTaskFlushedAfterFlushTimeout() {
+        String correlationId = "lone-correlation-id";
+        TaskSummary taskSummary = new TaskSummary();
+        taskSummary.setTaskId("lone-task-id");
+        taskSummary.setWorkflowId("some-workflow-instance-id");
+        taskSummary.setTaskType("some-task-type");
+        taskSummary.setStatus(Status.COMPLETED);
+        taskSummary.setCorrelationId(correlationId);
+
+        // a single task does not fill the batch, it is indexed by the timed flush
+        indexDAO.indexTask(taskSummary);
+
+        await().atMost(5, TimeUnit.SECONDS)
+                .untilAsserted(
+                        () -> {
+                            SearchResult<String> result =
+                                    indexDAO.searchTasks(
+                                            "correlationId='" + correlationId + "'",
+                                            "*",
+                                            0,
+                                            10,
+                                            null);
+                            assertEquals(
+                                    Collections.singletonList("lone-task-id"),
+                                    result.getResults());
+                        });
+    }
 }
@@ -22,6 +22,7 @@ import java.util.stream.Collectors;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.convert.DurationUnit;
+import org.springframework.util.unit.DataSize;
 
 @ConfigurationProperties("conductor.elasticsearch")
 public class ElasticSearchProperties {
@@ -41,6 +42,15 @@ public class ElasticSearchProperties {
     /** The size of the batch to be used for bulk indexing in async mode */
     private int indexBatchSize = 1;
 
+    /** The maximum size of the batch used for bulk indexing, beyond which it is flushed */
+    private DataSize indexBatchMaxSize = DataSize.ofMegabytes(5);
+
+    /**
+     * The maximum number of bulk indexing requests in flight for a document type, beyond which
+     * indexing blocks until one of them completes
+     */
+    private int indexBatchConcurrentRequests = 4;
+
     /** The size of the queue used for holding async indexing tasks */
     private int asyncWorkerQueueSize = 100;
 
@@ -48,8 +58,8 @@ public class ElasticSearchProperties {
     private int asyncMaxPoolSize = 12;
 
     /**
-     * The time in seconds after which the async buffers will be flushed (if no activity) to prevent
-     * data loss
+     * The time in seconds after which the async buffers will be flushed, whatever their size, to
+     * prevent data loss
      */
     @DurationUnit(ChronoUnit.SECONDS)
     private Duration asyncBufferFlushTimeout = Duration.ofSeconds(10);
@@ -63,6 +73,9 @@ public class ElasticSearchProperties {
     /** The number of task log results that will be returned in the response */
     private int taskLogResultLimit = 10;
 
+    /** The maximum number of parsed search queries to be cached, 0 to disable the cache */
+    private int queryCacheSize = 1000;
+
     /** The timeout in milliseconds used when requesting a connection from the connection manager */
     private int restClientConnectionRequestTimeout = -1;
 
@@ -118,6 +131,22 @@ public class ElasticSearchProperties {
         this.indexBatchSize = indexBatchSize;
     }
 
+    public DataSize getIndexBatchMaxSize() {
+        return indexBatchMaxSize;
+    }
+
+    public void setIndexBatchMaxSize(DataSize indexBatchMaxSize) {
+        this.indexBatchMaxSize = indexBatchMaxSize;
+    }
+
+    public int getIndexBatchConcurrentRequests() {
+        return indexBatchConcurrentRequests;
+    }
+
+    public void setIndexBatchConcurrentRequests(int indexBatchConcurrentRequests) {
+        this.indexBatchConcurrentRequests = indexBatchConcurrentRequests;
+    }
+
     public int getAsyncWorkerQueueSize() {
         return asyncWorkerQueueSize;
     }
@@ -166,6 +195,14 @@ public class ElasticSearchProperties {
         this.taskLogResultLimit = taskLogResultLimit;
     }
 
+    public int getQueryCacheSize() {
+        return queryCacheSize;
+    }
+
+    public void setQueryCacheSize(int queryCacheSize) {
+        this.queryCacheSize = queryCacheSize;
+    }
+
     public int getRestClientConnectionRequestTimeout() {
         return restClientConnectionRequestTimeout;
     }
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.es7.dao.index;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkProcessor;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.netflix.conductor.metrics.Monitors;
+
+/**
+ * Records the size and latency of the bulk requests sent by the {@link BulkProcessor} of a
+ * document type, logs the documents which failed to be indexed, and completes the futures of the
+ * requests that have one.
+ */
+class BulkProcessorListener implements BulkProcessor.Listener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkProcessorListener.class);
+
+    private final String className;
+    private final String docType;
+    private final Map<DocWriteRequest<?>, CompletableFuture<Void>> pendingRequests;
+    private final Map<Long, Long> startTimes = new ConcurrentHashMap<>();
+
+    /**
+     * @param className the name of the DAO class, used to record the errors
+     * @param docType the type of the documents indexed by the bulk processor
+     * @param pendingRequests the futures of the requests added to the bulk processor, removed and
+     *     completed once their bulk request is
+     */
+    BulkProcessorListener(
+            String className,
+            String docType,
+            Map<DocWriteRequest<?>, CompletableFuture<Void>> pendingRequests) {
+        this.className = className;
+        this.docType = docType;
+        this.pendingRequests = pendingRequests;
+    }
+
+    @Override
+    public void beforeBulk(long executionId, BulkRequest request) {
+        startTimes.put(executionId, System.currentTimeMillis());
+        Monitors.recordESBulkRequest(
+                docType, request.numberOfActions(), request.estimatedSizeInBytes());
+    }
+
+    @Override
+    public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {
+        recordIndexTime(executionId);
+        if (response.hasFailures()) {
+            Monitors.error(className, "index");
+            LOGGER.error(
+                    "Failed to index documents of type: {}, {}",
+                    docType,
+                    response.buildFailureMessage());
+        }
+        List<DocWriteRequest<?>> requests = request.requests();
+        BulkItemResponse[] items = response.getItems();
+        for (int i = 0; i < requests.size() && i < items.length; i++) {
+            CompletableFuture<Void> future = pendingRequests.remove(requests.get(i));
+            if (future == null) {
+                continue;
+            }
+            if (items[i].isFailed()) {
+                future.completeExceptionally(items[i].getFailure().getCause());
+            } else {
+                future.complete(null);
+            }
+        }
+    }
+
+    @Override
+    public void afterBulk(long executionId, BulkRequest request, Throwable failure) {
+        recordIndexTime(executionId);
+        Monitors.error(className, "index");
+        LOGGER.error(
+                "Failed to index {} documents of type: {}",
+                request.numberOfActions(),
+                docType,
+                failure);
+        for (DocWriteRequest<?> docWriteRequest : request.requests()) {
+            CompletableFuture<Void> future = pendingRequests.remove(docWriteRequest);
+            if (future != null) {
+                future.completeExceptionally(failure);
+            }
+        }
+    }
+
+    private void recordIndexTime(long executionId) {
+        Long startTime = startTimes.remove(executionId);
+        if (startTime != null) {
+            long time = System.currentTimeMillis() - startTime;
+            LOGGER.debug("Time taken {} for indexing object of type: {}", time, docType);
+            Monitors.recordESIndexTime("index_object", docType, time);
+        }
+    }
+}
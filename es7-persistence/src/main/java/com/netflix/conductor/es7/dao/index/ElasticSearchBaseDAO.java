@@ -25,16 +25,20 @@ import org.elasticsearch.index.query.QueryStringQueryBuilder;
 import com.netflix.conductor.dao.IndexDAO;
 import com.netflix.conductor.es7.dao.query.parser.Expression;
 import com.netflix.conductor.es7.dao.query.parser.internal.ParserException;
+import com.netflix.conductor.metrics.Monitors;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 abstract class ElasticSearchBaseDAO implements IndexDAO {
 
     String indexPrefix;
     ObjectMapper objectMapper;
+    Cache<String, Expression> expressionCache;
 
     String loadTypeMappingSource(String path) throws IOException {
         return applyIndexPrefixToTemplate(
@@ -76,14 +80,31 @@ abstract class ElasticSearchBaseDAO implements IndexDAO {
             throws ParserException {
         QueryBuilder queryBuilder = QueryBuilders.matchAllQuery();
         if (StringUtils.isNotEmpty(expression)) {
-            Expression exp = Expression.fromString(expression);
-            queryBuilder = exp.getFilterBuilder();
+            queryBuilder = parseExpression(expression).getFilterBuilder();
         }
         BoolQueryBuilder filterQuery = QueryBuilders.boolQuery().must(queryBuilder);
         QueryStringQueryBuilder stringQuery = QueryBuilders.queryStringQuery(queryString);
         return QueryBuilders.boolQuery().must(stringQuery).must(filterQuery);
     }
 
+    /**
+     * Parsed expressions are immutable and only used to create new query builders, so they are
+     * cached by query string, as the same queries tend to be searched repeatedly.
+     */
+    Cache<String, Expression> createExpressionCache(int maximumSize) {
+        return CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    private Expression parseExpression(String expression) throws ParserException {
+        Expression exp = expressionCache.getIfPresent(expression);
+        if (exp == null) {
+            Monitors.recordESQueryCacheMiss();
+            exp = Expression.fromString(expression);
+            expressionCache.put(expression, exp);
+        }
+        return exp;
+    }
+
     protected String getIndexName(String documentType) {
         return indexPrefix + "_" + documentType;
     }
@@ -32,7 +32,9 @@ import org.apache.http.entity.ContentType;
 import org.apache.http.nio.entity.NByteArrayEntity;
 import org.apache.http.nio.entity.NStringEntity;
 import org.apache.http.util.EntityUtils;
+import org.elasticsearch.action.DocWriteRequest;
 import org.elasticsearch.action.DocWriteResponse;
+import org.elasticsearch.action.bulk.BulkProcessor;
 import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
@@ -48,8 +50,9 @@ import org.elasticsearch.action.update.UpdateResponse;
 import org.elasticsearch.client.*;
 import org.elasticsearch.client.core.CountRequest;
 import org.elasticsearch.client.core.CountResponse;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.common.xcontent.XContentType;
-import org.elasticsearch.index.query.BoolQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.search.SearchHit;
@@ -63,6 +66,7 @@ import org.slf4j.LoggerFactory;
 import com.netflix.conductor.annotations.Trace;
 import com.netflix.conductor.common.metadata.events.EventExecution;
 import com.netflix.conductor.common.metadata.tasks.TaskExecLog;
+import com.netflix.conductor.common.run.ScrollSearchResult;
 import com.netflix.conductor.common.run.SearchResult;
 import com.netflix.conductor.common.run.TaskSummary;
 import com.netflix.conductor.common.run.WorkflowSummary;
@@ -123,9 +127,10 @@ public class ElasticSearchRestDAOV7 extends ElasticSearchBaseDAO implements Inde
     private final RestClient elasticSearchAdminClient;
     private final ExecutorService executorService;
     private final ExecutorService logExecutorService;
-    private final ConcurrentHashMap<String, BulkRequests> bulkRequests;
-    private final int indexBatchSize;
-    private final int asyncBufferFlushTimeout;
+    private final ConcurrentHashMap<String, BulkProcessor> bulkProcessors;
+    /** The futures of the requests added to the bulk processors, completed with their bulk. */
+    private final Map<DocWriteRequest<?>, CompletableFuture<Void>> pendingIndexRequests =
+            new ConcurrentHashMap<>();
     private final ElasticSearchProperties properties;
 
     static {
@@ -141,12 +146,11 @@ public class ElasticSearchRestDAOV7 extends ElasticSearchBaseDAO implements Inde
         this.elasticSearchAdminClient = restClientBuilder.build();
         this.elasticSearchClient = new RestHighLevelClient(restClientBuilder);
         this.clusterHealthColor = properties.getClusterHealthColor();
-        this.bulkRequests = new ConcurrentHashMap<>();
-        this.indexBatchSize = properties.getIndexBatchSize();
-        this.asyncBufferFlushTimeout = (int) properties.getAsyncBufferFlushTimeout().getSeconds();
+        this.bulkProcessors = new ConcurrentHashMap<>();
         this.properties = properties;
 
         this.indexPrefix = properties.getIndexPrefix();
+        this.expressionCache = createExpressionCache(properties.getQueryCacheSize());
 
         this.workflowIndexName = getIndexName(WORKFLOW_DOC_TYPE);
         this.taskIndexName = getIndexName(TASK_DOC_TYPE);
@@ -191,9 +195,6 @@ public class ElasticSearchRestDAOV7 extends ElasticSearchBaseDAO implements Inde
                                     executor);
                             Monitors.recordDiscardedIndexingCount("logQueue");
                         });
-
-        Executors.newSingleThreadScheduledExecutor()
-                .scheduleAtFixedRate(this::flushBulkRequests, 60, 30, TimeUnit.SECONDS);
     }
 
     @PreDestroy
@@ -201,6 +202,18 @@ public class ElasticSearchRestDAOV7 extends ElasticSearchBaseDAO implements Inde
         logger.info("Gracefully shutdown executor service");
         shutdownExecutorService(logExecutorService);
         shutdownExecutorService(executorService);
+        bulkProcessors.values().forEach(this::closeBulkProcessor);
+    }
+
+    private void closeBulkProcessor(BulkProcessor bulkProcessor) {
+        try {
+            if (!bulkProcessor.awaitClose(30, TimeUnit.SECONDS)) {
+                logger.warn("Closing bulk processor after waiting for 30 seconds");
+            }
+        } catch (InterruptedException ie) {
+            logger.warn("Closing bulk processor interrupted");
+            Thread.currentThread().interrupt();
+        }
     }
 
     private void shutdownExecutorService(ExecutorService execService) {
@@ -484,6 +497,14 @@ public class ElasticSearchRestDAOV7 extends ElasticSearchBaseDAO implements Inde
 
     @Override
     public void indexWorkflow(WorkflowSummary workflow) {
+        indexWorkflow(workflow, null);
+    }
+
+    /**
+     * @param indexed completed once the workflow is indexed, or exceptionally if it could not be,
+     *     null if not needed
+     */
+    private void indexWorkflow(WorkflowSummary workflow, CompletableFuture<Void> indexed) {
         try {
             long startTime = Instant.now().toEpochMilli();
             String workflowId = workflow.getWorkflowId();
@@ -515,24 +536,96 @@ public class ElasticSearchRestDAOV7 extends ElasticSearchBaseDAO implements Inde
             Monitors.recordESIndexTime("index_workflow", WORKFLOW_DOC_TYPE, endTime - startTime);
             Monitors.recordWorkerQueueSize(
                     "indexQueue", ((ThreadPoolExecutor) executorService).getQueue().size());
+            if (indexed != null) {
+                indexed.complete(null);
+            }
         } catch (Exception e) {
             Monitors.error(className, "indexWorkflow");
             logger.error("Failed to index workflow: {}", workflow.getWorkflowId(), e);
+            if (indexed != null) {
+                indexed.completeExceptionally(e);
+            }
         }
     }
 
+    /**
+     * The returned future is completed exceptionally if the workflow could not be indexed, rather
+     * than the failure being only logged as by {@link #indexWorkflow(WorkflowSummary)}.
+     */
     @Override
     public CompletableFuture<Void> asyncIndexWorkflow(WorkflowSummary workflow) {
-        return CompletableFuture.runAsync(() -> indexWorkflow(workflow), executorService);
+        CompletableFuture<Void> indexed = new CompletableFuture<>();
+        CompletableFuture.runAsync(() -> indexWorkflow(workflow, indexed), executorService);
+        return indexed;
+    }
+
+    @Override
+    public void indexWorkflows(List<WorkflowSummary> workflows) {
+        if (workflows.isEmpty()) {
+            return;
+        }
+
+        long startTime = Instant.now().toEpochMilli();
+        BulkRequest bulkRequest = new BulkRequest();
+        for (WorkflowSummary workflow : workflows) {
+            try {
+                byte[] docBytes = objectMapper.writeValueAsBytes(workflow);
+                bulkRequest.add(
+                        new IndexRequest(workflowIndexName)
+                                .id(workflow.getWorkflowId())
+                                .source(docBytes, XContentType.JSON));
+            } catch (JsonProcessingException e) {
+                logger.error("Failed to convert workflow {} to JSON", workflow.getWorkflowId(), e);
+            }
+        }
+
+        try {
+            new RetryUtil<BulkResponse>()
+                    .retryOnException(
+                            () -> {
+                                try {
+                                    return elasticSearchClient.bulk(
+                                            bulkRequest, RequestOptions.DEFAULT);
+                                } catch (IOException e) {
+                                    throw new RuntimeException(e);
+                                }
+                            },
+                            null,
+                            BulkResponse::hasFailures,
+                            RETRY_COUNT,
+                            "Indexing workflow documents",
+                            "indexWorkflows");
+            long endTime = Instant.now().toEpochMilli();
+            logger.debug(
+                    "Time taken {} for indexing {} workflows",
+                    endTime - startTime,
+                    workflows.size());
+            Monitors.recordESIndexTime("index_workflows", WORKFLOW_DOC_TYPE, endTime - startTime);
+        } catch (Exception e) {
+            Monitors.error(className, "indexWorkflows");
+            List<String> workflowIds =
+                    workflows.stream()
+                            .map(WorkflowSummary::getWorkflowId)
+                            .collect(Collectors.toList());
+            logger.error("Failed to index workflows: {}", workflowIds, e);
+        }
     }
 
     @Override
     public void indexTask(TaskSummary task) {
+        indexTask(task, null);
+    }
+
+    /**
+     * @param indexed completed once the bulk request holding the task is, or exceptionally if the
+     *     task could not be indexed, null if not needed
+     */
+    private void indexTask(TaskSummary task, CompletableFuture<Void> indexed) {
         try {
             long startTime = Instant.now().toEpochMilli();
             String taskId = task.getTaskId();
 
-            indexObject(taskIndexName, TASK_DOC_TYPE, taskId, task);
+            indexObject(taskIndexName, TASK_DOC_TYPE, taskId, task, indexed);
             long endTime = Instant.now().toEpochMilli();
             logger.debug(
                     "Time taken {} for  indexing task:{} in workflow: {}",
@@ -544,12 +637,21 @@ public class ElasticSearchRestDAOV7 extends ElasticSearchBaseDAO implements Inde
                     "indexQueue", ((ThreadPoolExecutor) executorService).getQueue().size());
         } catch (Exception e) {
             logger.error("Failed to index task: {}", task.getTaskId(), e);
+            if (indexed != null) {
+                indexed.completeExceptionally(e);
+            }
         }
     }
 
+    /**
+     * Adds the task to the bulk request of the tasks. The returned future is completed once the
+     * bulk request is, so that it tells whether the task was indexed.
+     */
     @Override
     public CompletableFuture<Void> asyncIndexTask(TaskSummary task) {
-        return CompletableFuture.runAsync(() -> indexTask(task), executorService);
+        CompletableFuture<Void> indexed = new CompletableFuture<>();
+        CompletableFuture.runAsync(() -> indexTask(task, indexed), executorService);
+        return indexed;
     }
 
     @Override
@@ -612,7 +714,7 @@ public class ElasticSearchRestDAOV7 extends ElasticSearchBaseDAO implements Inde
     @Override
     public List<TaskExecLog> getTaskExecutionLogs(String taskId) {
         try {
-            BoolQueryBuilder query = boolQueryBuilder("taskId='" + taskId + "'", "*");
+            QueryBuilder query = QueryBuilders.termQuery("taskId", taskId);
 
             // Create the searchObjectIdsViaExpression source
             SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
@@ -648,7 +750,7 @@ public class ElasticSearchRestDAOV7 extends ElasticSearchBaseDAO implements Inde
     @Override
     public List<Message> getMessages(String queue) {
         try {
-            BoolQueryBuilder query = boolQueryBuilder("queue='" + queue + "'", "*");
+            QueryBuilder query = QueryBuilders.termQuery("queue", queue);
 
             // Create the searchObjectIdsViaExpression source
             SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
@@ -685,7 +787,7 @@ public class ElasticSearchRestDAOV7 extends ElasticSearchBaseDAO implements Inde
     @Override
     public List<EventExecution> getEventExecutions(String event) {
         try {
-            BoolQueryBuilder query = boolQueryBuilder("event='" + event + "'", "*");
+            QueryBuilder query = QueryBuilders.termQuery("event", event);
 
             // Create the searchObjectIdsViaExpression source
             SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
@@ -801,6 +903,32 @@ public class ElasticSearchRestDAOV7 extends ElasticSearchBaseDAO implements Inde
         }
     }
 
+    @Override
+    public ScrollSearchResult<String> scrollWorkflows(
+            String query, String freeText, String continuationToken, int count, List<String> sort) {
+        Object[] searchAfter = decodeContinuationToken(continuationToken);
+        try {
+            return scrollObjectIdsViaExpression(
+                    query, freeText, searchAfter, count, sort, WORKFLOW_DOC_TYPE, "workflowId");
+        } catch (Exception e) {
+            throw new ApplicationException(
+                    ApplicationException.Code.BACKEND_ERROR, e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public ScrollSearchResult<String> scrollTasks(
+            String query, String freeText, String continuationToken, int count, List<String> sort) {
+        Object[] searchAfter = decodeContinuationToken(continuationToken);
+        try {
+            return scrollObjectIdsViaExpression(
+                    query, freeText, searchAfter, count, sort, TASK_DOC_TYPE, "taskId");
+        } catch (Exception e) {
+            throw new ApplicationException(
+                    ApplicationException.Code.BACKEND_ERROR, e.getMessage(), e);
+        }
+    }
+
     @Override
     public void removeWorkflow(String workflowId) {
         long startTime = Instant.now().toEpochMilli();
@@ -831,6 +959,31 @@ public class ElasticSearchRestDAOV7 extends ElasticSearchBaseDAO implements Inde
 
     @Override
     public void updateWorkflow(String workflowInstanceId, String[] keys, Object[] values) {
+        updateWorkflow(workflowInstanceId, keys, values, null);
+    }
+
+    @Override
+    public CompletableFuture<Void> asyncUpdateWorkflow(
+            String workflowInstanceId, String[] keys, Object[] values) {
+        return CompletableFuture.runAsync(
+                () -> updateWorkflow(workflowInstanceId, keys, values), executorService);
+    }
+
+    @Override
+    public void upsertWorkflow(WorkflowSummary workflow, String[] keys, Object[] values) {
+        updateWorkflow(workflow.getWorkflowId(), keys, values, workflow);
+    }
+
+    @Override
+    public CompletableFuture<Void> asyncUpsertWorkflow(
+            WorkflowSummary workflow, String[] keys, Object[] values) {
+        return CompletableFuture.runAsync(
+                () -> upsertWorkflow(workflow, keys, values), executorService);
+    }
+
+    /** @param upsert the summary indexed if the workflow is not indexed yet, null to fail then */
+    private void updateWorkflow(
+            String workflowInstanceId, String[] keys, Object[] values, WorkflowSummary upsert) {
         if (keys.length != values.length) {
             throw new ApplicationException(
                     ApplicationException.Code.INVALID_INPUT,
@@ -844,6 +997,16 @@ public class ElasticSearchRestDAOV7 extends ElasticSearchBaseDAO implements Inde
                         .boxed()
                         .collect(Collectors.toMap(i -> keys[i], i -> values[i]));
         request.doc(source);
+        if (upsert != null) {
+            try {
+                request.upsert(objectMapper.writeValueAsBytes(upsert), XContentType.JSON);
+            } catch (JsonProcessingException e) {
+                throw new ApplicationException(
+                        ApplicationException.Code.INTERNAL_ERROR,
+                        "Failed to convert workflow " + workflowInstanceId + " to JSON",
+                        e);
+            }
+        }
 
         logger.debug("Updating workflow {} with {}", workflowInstanceId, source);
 
@@ -869,13 +1032,6 @@ public class ElasticSearchRestDAOV7 extends ElasticSearchBaseDAO implements Inde
                 "indexQueue", ((ThreadPoolExecutor) executorService).getQueue().size());
     }
 
-    @Override
-    public CompletableFuture<Void> asyncUpdateWorkflow(
-            String workflowInstanceId, String[] keys, Object[] values) {
-        return CompletableFuture.runAsync(
-                () -> updateWorkflow(workflowInstanceId, keys, values), executorService);
-    }
-
     @Override
     public String get(String workflowInstanceId, String fieldToGet) {
         GetRequest request = new GetRequest(workflowIndexName, workflowInstanceId);
@@ -949,7 +1105,69 @@ public class ElasticSearchRestDAOV7 extends ElasticSearchBaseDAO implements Inde
         searchSourceBuilder.query(queryBuilder);
         searchSourceBuilder.from(start);
         searchSourceBuilder.size(size);
+        addSortOptions(searchSourceBuilder, sortOptions);
 
+        // Generate the actual request to send to ES.
+        SearchRequest searchRequest = new SearchRequest(indexName);
+        searchRequest.source(searchSourceBuilder);
+
+        SearchResponse response = elasticSearchClient.search(searchRequest, RequestOptions.DEFAULT);
+
+        List<String> result = new LinkedList<>();
+        response.getHits().forEach(hit -> result.add(hit.getId()));
+        long count = response.getHits().getTotalHits().value;
+        return new SearchResult<>(count, result);
+    }
+
+    /**
+     * Finds the object ids of a page of the results of the given query, using search_after rather
+     * than from and size so that deep pages do not get more expensive, nor hit the result window
+     * limit of the index.
+     *
+     * @param searchAfter The sort values of the last hit of the previous page, null for the first
+     *     page.
+     * @param idField The field holding the object id, which breaks ties between hits sorted
+     *     equally so that the pages resume after a unique hit.
+     * @return The SearchResults which includes the count, the IDs that were found and the
+     *     continuation token of the next page, null if this page is the last one.
+     */
+    private ScrollSearchResult<String> scrollObjectIdsViaExpression(
+            String structuredQuery,
+            String freeTextQuery,
+            Object[] searchAfter,
+            int size,
+            List<String> sortOptions,
+            String docType,
+            String idField)
+            throws ParserException, IOException {
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
+        searchSourceBuilder.query(boolQueryBuilder(structuredQuery, freeTextQuery));
+        searchSourceBuilder.size(size);
+        addSortOptions(searchSourceBuilder, sortOptions);
+        searchSourceBuilder.sort(new FieldSortBuilder(idField).order(SortOrder.ASC));
+        if (searchAfter != null) {
+            searchSourceBuilder.searchAfter(searchAfter);
+        }
+
+        SearchRequest searchRequest = new SearchRequest(getIndexName(docType));
+        searchRequest.source(searchSourceBuilder);
+
+        SearchResponse response = elasticSearchClient.search(searchRequest, RequestOptions.DEFAULT);
+
+        SearchHit[] hits = response.getHits().getHits();
+        List<String> result = new ArrayList<>(hits.length);
+        for (SearchHit hit : hits) {
+            result.add(hit.getId());
+        }
+        String continuationToken = null;
+        if (hits.length > 0 && hits.length == size) {
+            continuationToken = encodeContinuationToken(hits[hits.length - 1].getSortValues());
+        }
+        long count = response.getHits().getTotalHits().value;
+        return new ScrollSearchResult<>(count, result, continuationToken);
+    }
+
+    private void addSortOptions(SearchSourceBuilder searchSourceBuilder, List<String> sortOptions) {
         if (sortOptions != null && !sortOptions.isEmpty()) {
 
             for (String sortOption : sortOptions) {
@@ -963,17 +1181,26 @@ public class ElasticSearchRestDAOV7 extends ElasticSearchBaseDAO implements Inde
                 searchSourceBuilder.sort(new FieldSortBuilder(field).order(order));
             }
         }
+    }
 
-        // Generate the actual request to send to ES.
-        SearchRequest searchRequest = new SearchRequest(indexName);
-        searchRequest.source(searchSourceBuilder);
-
-        SearchResponse response = elasticSearchClient.search(searchRequest, RequestOptions.DEFAULT);
+    private String encodeContinuationToken(Object[] sortValues) throws JsonProcessingException {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(objectMapper.writeValueAsBytes(sortValues));
+    }
 
-        List<String> result = new LinkedList<>();
-        response.getHits().forEach(hit -> result.add(hit.getId()));
-        long count = response.getHits().getTotalHits().value;
-        return new SearchResult<>(count, result);
+    private Object[] decodeContinuationToken(String continuationToken) {
+        if (continuationToken == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(
+                    Base64.getUrlDecoder().decode(continuationToken), Object[].class);
+        } catch (IllegalArgumentException | IOException e) {
+            throw new ApplicationException(
+                    ApplicationException.Code.INVALID_INPUT,
+                    "Invalid continuation token: " + continuationToken);
+        }
     }
 
     @Override
@@ -1064,122 +1291,60 @@ public class ElasticSearchRestDAOV7 extends ElasticSearchBaseDAO implements Inde
 
     private void indexObject(
             final String index, final String docType, final String docId, final Object doc) {
+        indexObject(index, docType, docId, doc, null);
+    }
+
+    private void indexObject(
+            final String index,
+            final String docType,
+            final String docId,
+            final Object doc,
+            final CompletableFuture<Void> indexed) {
 
         byte[] docBytes;
         try {
             docBytes = objectMapper.writeValueAsBytes(doc);
         } catch (JsonProcessingException e) {
             logger.error("Failed to convert {} '{}' to byte string", docType, docId);
+            if (indexed != null) {
+                indexed.completeExceptionally(e);
+            }
             return;
         }
         IndexRequest request = new IndexRequest(index);
         request.id(docId).source(docBytes, XContentType.JSON);
-
-        if (bulkRequests.get(docType) == null) {
-            bulkRequests.put(
-                    docType, new BulkRequests(System.currentTimeMillis(), new BulkRequest()));
-        }
-
-        bulkRequests.get(docType).getBulkRequest().add(request);
-        if (bulkRequests.get(docType).getBulkRequest().numberOfActions() >= this.indexBatchSize) {
-            indexBulkRequest(docType);
-        }
-    }
-
-    private synchronized void indexBulkRequest(String docType) {
-        if (bulkRequests.get(docType).getBulkRequest() != null
-                && bulkRequests.get(docType).getBulkRequest().numberOfActions() > 0) {
-            synchronized (bulkRequests.get(docType).getBulkRequest()) {
-                indexWithRetry(
-                        bulkRequests.get(docType).getBulkRequest().get(),
-                        "Bulk Indexing " + docType,
-                        docType);
-                bulkRequests.put(
-                        docType, new BulkRequests(System.currentTimeMillis(), new BulkRequest()));
-            }
+        if (indexed != null) {
+            pendingIndexRequests.put(request, indexed);
         }
-    }
-
-    /**
-     * Performs an index operation with a retry.
-     *
-     * @param request The index request that we want to perform.
-     * @param operationDescription The type of operation that we are performing.
-     */
-    private void indexWithRetry(
-            final BulkRequest request, final String operationDescription, String docType) {
         try {
-            long startTime = Instant.now().toEpochMilli();
-            new RetryUtil<BulkResponse>()
-                    .retryOnException(
-                            () -> {
-                                try {
-                                    return elasticSearchClient.bulk(
-                                            request, RequestOptions.DEFAULT);
-                                } catch (IOException e) {
-                                    throw new RuntimeException(e);
-                                }
-                            },
-                            null,
-                            null,
-                            RETRY_COUNT,
-                            operationDescription,
-                            "indexWithRetry");
-            long endTime = Instant.now().toEpochMilli();
-            logger.debug(
-                    "Time taken {} for indexing object of type: {}", endTime - startTime, docType);
-            Monitors.recordESIndexTime("index_object", docType, endTime - startTime);
-            Monitors.recordWorkerQueueSize(
-                    "indexQueue", ((ThreadPoolExecutor) executorService).getQueue().size());
-            Monitors.recordWorkerQueueSize(
-                    "logQueue", ((ThreadPoolExecutor) logExecutorService).getQueue().size());
-        } catch (Exception e) {
-            Monitors.error(className, "index");
-            logger.error("Failed to index {} for request type: {}", request, docType, e);
+            bulkProcessors.computeIfAbsent(docType, this::createBulkProcessor).add(request);
+        } catch (RuntimeException e) {
+            pendingIndexRequests.remove(request);
+            throw e;
         }
     }
 
     /**
-     * Flush the buffers if bulk requests have not been indexed for the past {@link
-     * ElasticSearchProperties#getAsyncBufferFlushTimeout()} seconds This is to prevent data loss in
-     * case the instance is terminated, while the buffer still holds documents to be indexed.
+     * Creates the processor buffering the bulk requests of a document type. The buffer is flushed
+     * when it holds {@link ElasticSearchProperties#getIndexBatchSize()} documents, {@link
+     * ElasticSearchProperties#getIndexBatchMaxSize()} bytes, or every {@link
+     * ElasticSearchProperties#getAsyncBufferFlushTimeout()}, to prevent data loss in case the
+     * instance is terminated while the buffer still holds documents to be indexed. Adding documents
+     * blocks while {@link ElasticSearchProperties#getIndexBatchConcurrentRequests()} bulk requests
+     * are in flight.
      */
-    private void flushBulkRequests() {
-        bulkRequests.entrySet().stream()
-                .filter(
-                        entry ->
-                                (System.currentTimeMillis() - entry.getValue().getLastFlushTime())
-                                        >= asyncBufferFlushTimeout * 1000)
-                .filter(
-                        entry ->
-                                entry.getValue().getBulkRequest() != null
-                                        && entry.getValue().getBulkRequest().numberOfActions() > 0)
-                .forEach(
-                        entry -> {
-                            logger.debug(
-                                    "Flushing bulk request buffer for type {}, size: {}",
-                                    entry.getKey(),
-                                    entry.getValue().getBulkRequest().numberOfActions());
-                            indexBulkRequest(entry.getKey());
-                        });
-    }
-
-    private static class BulkRequests {
-
-        private final long lastFlushTime;
-        private final BulkRequestWrapper bulkRequest;
-
-        long getLastFlushTime() {
-            return lastFlushTime;
-        }
-
-        BulkRequestWrapper getBulkRequest() {
-            return bulkRequest;
-        }
-
-        BulkRequests(long lastFlushTime, BulkRequest bulkRequest) {
-            this.lastFlushTime = lastFlushTime;
-            this.bulkRequest = new BulkRequestWrapper(bulkRequest);
-        }
+    private BulkProcessor createBulkProcessor(String docType) {
+        return BulkProcessor.builder(
+                        (request, listener) ->
+                                elasticSearchClient.bulkAsync(
+                                        request, RequestOptions.DEFAULT, listener),
+                        new BulkProcessorListener(className, docType, pendingIndexRequests))
+                .setBulkActions(properties.getIndexBatchSize())
+                .setBulkSize(new ByteSizeValue(properties.getIndexBatchMaxSize().toBytes()))
+                .setConcurrentRequests(properties.getIndexBatchConcurrentRequests())
+                .setFlushInterval(
+                        TimeValue.timeValueMillis(
+                                properties.getAsyncBufferFlushTimeout().toMillis()))
+                .build();
     }
 }
@@ -15,14 +15,18 @@ package com.netflix.conductor.es7.dao.index;
 import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
+import org.elasticsearch.client.Request;
 import org.joda.time.DateTime;
 import org.junit.Test;
 
 import com.netflix.conductor.common.metadata.events.EventExecution;
 import com.netflix.conductor.common.metadata.events.EventHandler;
 import com.netflix.conductor.common.metadata.tasks.TaskExecLog;
+import com.netflix.conductor.common.run.ScrollSearchResult;
 import com.netflix.conductor.common.run.TaskSummary;
 import com.netflix.conductor.common.run.Workflow.WorkflowStatus;
 import com.netflix.conductor.common.run.WorkflowSummary;
@@ -104,6 +108,16 @@ public class TestElasticSearchRestDAOV7 extends ElasticSearchRestDaoBaseTest {
         assertWorkflowSummary(workflowSummary.getWorkflowId(), workflowSummary);
     }
 
+    @Test(expected = ExecutionException.class)
+    public void shouldFailAsyncIndexWorkflowWhenNotIndexed() throws Exception {
+        restClient.performRequest(
+                new Request("POST", "/" + INDEX_PREFIX + "_" + WORKFLOW_DOC_TYPE + "/_close"));
+        WorkflowSummary workflowSummary =
+                TestUtils.loadWorkflowSnapshot(objectMapper, "workflow_summary");
+
+        indexDAO.asyncIndexWorkflow(workflowSummary).get();
+    }
+
     @Test
     public void shouldRemoveWorkflow() {
         WorkflowSummary workflowSummary =
@@ -191,6 +205,15 @@ public class TestElasticSearchRestDAOV7 extends ElasticSearchRestDaoBaseTest {
         assertEquals(taskSummary.getTaskId(), tasks.get(0));
     }
 
+    @Test(expected = ExecutionException.class)
+    public void shouldFailAsyncIndexTaskWhenBulkItemFails() throws Exception {
+        restClient.performRequest(
+                new Request("POST", "/" + INDEX_PREFIX + "_" + TASK_DOC_TYPE + "/_close"));
+        TaskSummary taskSummary = TestUtils.loadTaskSnapshot(objectMapper, "task_summary");
+
+        indexDAO.asyncIndexTask(taskSummary).get(10, TimeUnit.SECONDS);
+    }
+
     @Test
     public void shouldAddTaskExecutionLogs() {
         List<TaskExecLog> logs = new ArrayList<>();
@@ -334,6 +357,43 @@ public class TestElasticSearchRestDAOV7 extends ElasticSearchRestDaoBaseTest {
         assertEquals(counts, result);
     }
 
+    @Test
+    public void shouldScrollWorkflows() {
+        String correlationId = uuid();
+        Set<String> workflowIds = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            WorkflowSummary workflowSummary =
+                    TestUtils.loadWorkflowSnapshot(objectMapper, "workflow_summary");
+            workflowSummary.setWorkflowId(uuid());
+            workflowSummary.setCorrelationId(correlationId);
+            indexDAO.indexWorkflow(workflowSummary);
+            workflowIds.add(workflowSummary.getWorkflowId());
+        }
+        String freeText = "correlationId:\"" + correlationId + "\"";
+        tryGetCount(() -> indexDAO.getWorkflowCount("", freeText), 5);
+
+        List<String> scrolled = new ArrayList<>();
+        String continuationToken = null;
+        int pages = 0;
+        do {
+            ScrollSearchResult<String> page =
+                    indexDAO.scrollWorkflows(
+                            "",
+                            freeText,
+                            continuationToken,
+                            2,
+                            Collections.singletonList("startTime:DESC"));
+            assertEquals(5, page.getTotalHits());
+            scrolled.addAll(page.getResults());
+            continuationToken = page.getContinuationToken();
+            pages++;
+        } while (continuationToken != null);
+
+        assertEquals(3, pages);
+        assertEquals(5, scrolled.size());
+        assertEquals(workflowIds, new HashSet<>(scrolled));
+    }
+
     private long tryGetCount(Supplier<Long> countFunction, int resultsCount) {
         long result = 0;
         for (int i = 0; i < 20; i++) {
@@ -45,8 +45,9 @@ public class MySQLConfiguration {
 
     @Bean
     @DependsOn({"flyway", "flywayInitializer"})
-    public MySQLExecutionDAO mySqlExecutionDAO(ObjectMapper objectMapper, DataSource dataSource) {
-        return new MySQLExecutionDAO(objectMapper, dataSource);
+    public MySQLExecutionDAO mySqlExecutionDAO(
+            ObjectMapper objectMapper, DataSource dataSource, MySQLProperties properties) {
+        return new MySQLExecutionDAO(objectMapper, dataSource, properties);
     }
 
     @Bean
@@ -22,6 +22,12 @@ public class MySQLProperties {
     /** The time (in seconds) after which the in-memory task definitions cache will be refreshed */
     private Duration taskDefCacheRefreshInterval = Duration.ofSeconds(60);
 
+    /**
+     * Used to enable/disable the gzip compression of the task and workflow payloads. Rows written
+     * with either setting remain readable after it is changed.
+     */
+    private boolean payloadCompressionEnabled = false;
+
     public Duration getTaskDefCacheRefreshInterval() {
         return taskDefCacheRefreshInterval;
     }
@@ -29,4 +35,12 @@ public class MySQLProperties {
     public void setTaskDefCacheRefreshInterval(Duration taskDefCacheRefreshInterval) {
         this.taskDefCacheRefreshInterval = taskDefCacheRefreshInterval;
     }
+
+    public boolean isPayloadCompressionEnabled() {
+        return payloadCompressionEnabled;
+    }
+
+    public void setPayloadCompressionEnabled(boolean payloadCompressionEnabled) {
+        this.payloadCompressionEnabled = payloadCompressionEnabled;
+    }
 }
@@ -28,6 +28,7 @@ import com.netflix.conductor.dao.QueueDAO;
 import com.netflix.conductor.mysql.util.Query;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 import com.google.common.util.concurrent.Uninterruptibles;
@@ -36,9 +37,17 @@ public class MySQLQueueDAO extends MySQLBaseDAO implements QueueDAO {
 
     private static final Long UNACK_SCHEDULE_MS = 60_000L;
 
+    /**
+     * Whether the server supports {@code SKIP LOCKED}, which was added in MySQL 8.0 and MariaDB
+     * 10.6.
+     */
+    private final boolean skipLockedSupported;
+
     public MySQLQueueDAO(ObjectMapper objectMapper, DataSource dataSource) {
         super(objectMapper, dataSource);
 
+        this.skipLockedSupported = probeSkipLocked();
+
         Executors.newSingleThreadScheduledExecutor()
                 .scheduleAtFixedRate(
                         this::processAllUnacks,
@@ -48,6 +57,29 @@ public class MySQLQueueDAO extends MySQLBaseDAO implements QueueDAO {
         logger.debug(MySQLQueueDAO.class.getName() + " is ready to serve");
     }
 
+    /**
+     * Runs a query with {@code SKIP LOCKED} once, rather than relying on the server version, which
+     * does not tell MySQL and MariaDB apart.
+     */
+    private boolean probeSkipLocked() {
+        final String SKIP_LOCKED_QUERY =
+                "SELECT message_id FROM queue_message LIMIT 1 FOR UPDATE SKIP LOCKED";
+        try {
+            getWithRetriedTransactions(tx -> query(tx, SKIP_LOCKED_QUERY, Query::exists));
+            return true;
+        } catch (Exception e) {
+            logger.info(
+                    "SKIP LOCKED is not supported, messages will be popped one by one: {}",
+                    e.getMessage());
+            return false;
+        }
+    }
+
+    @VisibleForTesting
+    boolean isSkipLockedSupported() {
+        return skipLockedSupported;
+    }
+
     @Override
     public void push(String queueName, String messageId, long offsetTimeInSecond) {
         push(queueName, messageId, 0, offsetTimeInSecond);
@@ -311,12 +343,22 @@ public class MySQLQueueDAO extends MySQLBaseDAO implements QueueDAO {
     }
 
     private List<Message> peekMessages(Connection connection, String queueName, int count) {
+        return peekMessages(connection, queueName, count, false);
+    }
+
+    /**
+     * @param lock whether to lock the peeked messages, skipping those locked by concurrent pollers,
+     *     so that they can be popped with a single statement
+     */
+    private List<Message> peekMessages(
+            Connection connection, String queueName, int count, boolean lock) {
         if (count < 1) {
             return Collections.emptyList();
         }
 
         final String PEEK_MESSAGES =
-                "SELECT message_id, priority, payload FROM queue_message use index(combo_queue_message) WHERE queue_name = ? AND popped = false AND deliver_on <= TIMESTAMPADD(MICROSECOND, 1000, CURRENT_TIMESTAMP) ORDER BY priority DESC, deliver_on, created_on LIMIT ?";
+                "SELECT message_id, priority, payload FROM queue_message use index(combo_queue_message) WHERE queue_name = ? AND popped = false AND deliver_on <= TIMESTAMPADD(MICROSECOND, 1000, CURRENT_TIMESTAMP) ORDER BY priority DESC, deliver_on, created_on LIMIT ?"
+                        + (lock ? " FOR UPDATE SKIP LOCKED" : "");
 
         return query(
                 connection,
@@ -352,6 +394,16 @@ public class MySQLQueueDAO extends MySQLBaseDAO implements QueueDAO {
             return messages;
         }
 
+        if (skipLockedSupported) {
+            // the messages are only locked now, so that the ones peeked while waiting are not
+            // held for the whole timeout, while concurrent pollers skip them
+            messages = peekMessages(connection, queueName, count, true);
+            if (messages.isEmpty()) {
+                return messages;
+            }
+            return popLockedMessages(connection, queueName, messages);
+        }
+
         List<Message> poppedMessages = new ArrayList<>();
         for (Message message : messages) {
             final String POP_MESSAGE =
@@ -372,6 +424,22 @@ public class MySQLQueueDAO extends MySQLBaseDAO implements QueueDAO {
         return poppedMessages;
     }
 
+    /** Pops messages peeked with {@code FOR UPDATE SKIP LOCKED}, with a single statement. */
+    private List<Message> popLockedMessages(
+            Connection connection, String queueName, List<Message> messages) {
+        List<String> messageIds =
+                messages.stream().map(Message::getId).collect(Collectors.toList());
+        final String POP_MESSAGES =
+                String.format(
+                        "UPDATE queue_message SET popped = true WHERE queue_name = ? AND message_id IN (%s) AND popped = false",
+                        Query.generateInBindings(messageIds.size()));
+        query(
+                connection,
+                POP_MESSAGES,
+                q -> q.addParameter(queueName).addParameters(messageIds).executeUpdate());
+        return messages;
+    }
+
     private void createQueueIfNotExists(Connection connection, String queueName) {
         logger.trace("Creating new queue '{}'", queueName);
         final String EXISTS_QUEUE = "SELECT EXISTS(SELECT 1 FROM queue WHERE queue_name = ?)";
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.mysql.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.netflix.conductor.core.exception.ApplicationException;
+import com.netflix.conductor.metrics.Monitors;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import static com.netflix.conductor.core.exception.ApplicationException.Code.INTERNAL_ERROR;
+
+/**
+ * Serializes the payloads of the task and workflow tables, either as JSON text in the {@code
+ * json_data} column or, when compression is enabled, as gzipped JSON in the {@code
+ * compressed_data} column. Rows are read from whichever of the two columns is set, so that rows
+ * written before compression was enabled, or after it was disabled, remain readable.
+ */
+public class PayloadCodec {
+
+    private static final String DAO_NAME = "mysql";
+
+    private final ObjectMapper objectMapper;
+    private final boolean compressionEnabled;
+
+    public PayloadCodec(ObjectMapper objectMapper, boolean compressionEnabled) {
+        this.objectMapper = objectMapper;
+        this.compressionEnabled = compressionEnabled;
+    }
+
+    /**
+     * Binds {@literal value} to the {@code json_data} and {@code compressed_data} parameters of
+     * {@literal query}, in that order.
+     *
+     * @param query The query to bind the parameters of.
+     * @param value The value to serialize.
+     * @return {@literal query}
+     */
+    public Query addPayloadParameters(Query query, Object value) {
+        String payloadType = value.getClass().getSimpleName();
+        long start = System.nanoTime();
+        try {
+            if (!compressionEnabled) {
+                String json = objectMapper.writeValueAsString(value);
+                Monitors.recordDaoStoredPayloadSize(
+                        DAO_NAME, payloadType, json.length(), json.length());
+                return query.addParameter(json).addParameter((byte[]) null);
+            }
+            byte[] json = objectMapper.writeValueAsBytes(value);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(json);
+            }
+            Monitors.recordDaoStoredPayloadSize(
+                    DAO_NAME, payloadType, json.length, compressed.size());
+            return query.addParameter((String) null).addParameter(compressed.toByteArray());
+        } catch (IOException e) {
+            throw new ApplicationException(INTERNAL_ERROR, e);
+        } finally {
+            Monitors.recordDaoPayloadSerialization(
+                    DAO_NAME, payloadType, "serialize", System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Reads the payload of the current row of {@literal resultSet}, which must have the {@code
+     * json_data} and {@code compressed_data} columns.
+     *
+     * @return The deserialized payload, or null if neither column is set.
+     */
+    public <T> T read(ResultSet resultSet, Class<T> type) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            byte[] compressed = resultSet.getBytes("compressed_data");
+            if (compressed != null) {
+                try (InputStream json = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+                    return objectMapper.readValue(json, type);
+                }
+            }
+            String json = resultSet.getString("json_data");
+            return json == null ? null : objectMapper.readValue(json, type);
+        } catch (IOException e) {
+            throw new ApplicationException(INTERNAL_ERROR, e);
+        } finally {
+            Monitors.recordDaoPayloadSerialization(
+                    DAO_NAME, type.getSimpleName(), "deserialize", System.nanoTime() - start);
+        }
+    }
+
+    /** Reads the payload of the first row of {@literal resultSet}, null if there is none. */
+    public <T> T readFirst(ResultSet resultSet, Class<T> type) throws SQLException {
+        return resultSet.next() ? read(resultSet, type) : null;
+    }
+
+    /** Reads the payloads of all the rows of {@literal resultSet}, skipping the empty ones. */
+    public <T> List<T> readAll(ResultSet resultSet, Class<T> type) throws SQLException {
+        List<T> results = new ArrayList<>();
+        while (resultSet.next()) {
+            T result = read(resultSet, type);
+            if (result != null) {
+                results.add(result);
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,4 @@
+# Payloads are stored either as JSON text in json_data or gzipped in compressed_data
+ALTER TABLE task ADD COLUMN compressed_data LONGBLOB, MODIFY json_data mediumtext NULL;
+
+ALTER TABLE workflow ADD COLUMN compressed_data LONGBLOB, MODIFY json_data mediumtext NULL;
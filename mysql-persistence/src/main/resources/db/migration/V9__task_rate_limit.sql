@@ -0,0 +1,7 @@
+# Fixed window counters used to rate limit tasks by rateLimitPerFrequency
+CREATE TABLE task_rate_limit (
+  task_def_name varchar(255) NOT NULL,
+  window_start BIGINT NOT NULL,
+  window_count INT NOT NULL,
+  PRIMARY KEY (task_def_name)
+);
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.mysql.dao;
+
+import org.junit.Test;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the {@link MySQLQueueDAOTest} suite against MySQL 8, which supports {@code SKIP LOCKED},
+ * so that messages are popped in batches rather than one by one as with MySQL 5.7.
+ */
+@TestPropertySource(properties = "spring.datasource.url=jdbc:tc:mysql:8.0.27:///conductor")
+public class MySQL8QueueDAOTest extends MySQLQueueDAOTest {
+
+    @Test
+    public void skipLockedSupportedTest() {
+        assertTrue(queueDAO.isSkipLockedSupported());
+    }
+}
@@ -14,6 +14,8 @@ package com.netflix.conductor.mysql.dao;
 
 import java.util.List;
 
+import javax.sql.DataSource;
+
 import org.flywaydb.core.Flyway;
 import org.junit.Before;
 import org.junit.Test;
@@ -25,14 +27,21 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
+import com.netflix.conductor.common.metadata.tasks.TaskDef;
 import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
 import com.netflix.conductor.dao.ExecutionDAO;
 import com.netflix.conductor.dao.ExecutionDAOTest;
+import com.netflix.conductor.model.TaskModel;
 import com.netflix.conductor.model.WorkflowModel;
 import com.netflix.conductor.mysql.config.MySQLConfiguration;
+import com.netflix.conductor.mysql.config.MySQLProperties;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 @ContextConfiguration(
         classes = {
@@ -46,6 +55,10 @@ public class MySQLExecutionDAOTest extends ExecutionDAOTest {
 
     @Autowired private MySQLExecutionDAO executionDAO;
 
+    @Autowired private ObjectMapper objectMapper;
+
+    @Autowired private DataSource dataSource;
+
     @Autowired Flyway flyway;
 
     // clean the database between tests.
@@ -74,6 +87,52 @@ public class MySQLExecutionDAOTest extends ExecutionDAOTest {
         assertEquals(10, bycorrelationId.size());
     }
 
+    @Test
+    public void testExceedsRateLimitPerFrequency() {
+        TaskDef taskDef = new TaskDef("rate_limited_task");
+        taskDef.setRateLimitPerFrequency(2);
+        taskDef.setRateLimitFrequencyInSeconds(3600);
+        TaskModel task = new TaskModel();
+        task.setTaskId("task1");
+        task.setTaskDefName(taskDef.getName());
+
+        assertFalse(executionDAO.exceedsRateLimitPerFrequency(task, taskDef));
+        assertFalse(executionDAO.exceedsRateLimitPerFrequency(task, taskDef));
+        assertTrue(executionDAO.exceedsRateLimitPerFrequency(task, taskDef));
+        assertTrue(executionDAO.exceedsRateLimitPerFrequency(task, taskDef));
+
+        taskDef.setRateLimitPerFrequency(0);
+        assertFalse(executionDAO.exceedsRateLimitPerFrequency(task, taskDef));
+    }
+
+    @Test
+    public void testCompressedPayloads() {
+        MySQLProperties properties = new MySQLProperties();
+        properties.setPayloadCompressionEnabled(true);
+        MySQLExecutionDAO compressedDAO =
+                new MySQLExecutionDAO(objectMapper, dataSource, properties);
+
+        WorkflowModel compressed = createTestWorkflow();
+        compressedDAO.createWorkflow(compressed);
+        compressedDAO.createTasks(compressed.getTasks());
+        WorkflowModel uncompressed = createTestWorkflow();
+        executionDAO.createWorkflow(uncompressed);
+        executionDAO.createTasks(uncompressed.getTasks());
+
+        // rows written with either setting are readable with both
+        for (MySQLExecutionDAO dao : List.of(executionDAO, compressedDAO)) {
+            for (WorkflowModel workflow : List.of(compressed, uncompressed)) {
+                WorkflowModel found = dao.getWorkflow(workflow.getWorkflowId(), true);
+                assertEquals(workflow.getInput(), found.getInput());
+                assertEquals(workflow.getOutput(), found.getOutput());
+                assertEquals(3, found.getTasks().size());
+                assertEquals(
+                        workflow.getTasks().get(0).getTaskId(),
+                        dao.getTask(workflow.getTasks().get(0).getTaskId()).getTaskId());
+            }
+        }
+    }
+
     @Override
     public ExecutionDAO getExecutionDAO() {
         return executionDAO;
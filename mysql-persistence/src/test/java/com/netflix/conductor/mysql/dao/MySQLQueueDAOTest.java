@@ -17,6 +17,13 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import javax.sql.DataSource;
@@ -60,7 +67,7 @@ public class MySQLQueueDAOTest {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MySQLQueueDAOTest.class);
 
-    @Autowired private MySQLQueueDAO queueDAO;
+    @Autowired protected MySQLQueueDAO queueDAO;
 
     @Autowired private ObjectMapper objectMapper;
 
@@ -229,6 +236,52 @@ public class MySQLQueueDAOTest {
         }
     }
 
+    /** Polls a queue from concurrent pollers, which must pop every message exactly once. */
+    @Test
+    public void concurrentPollersTest() throws Exception {
+        final String queueName = "concurrent_pollers_testQueue";
+        final int totalSize = 500;
+        final int pollers = 10;
+
+        List<Message> messages = new ArrayList<>();
+        for (int i = 0; i < totalSize; i++) {
+            messages.add(new Message("testmsg-" + i, "{}", ""));
+        }
+        queueDAO.push(queueName, messages);
+
+        Set<String> popped = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(pollers);
+        long start = System.currentTimeMillis();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < pollers; i++) {
+                futures.add(
+                        executorService.submit(
+                                () -> {
+                                    while (popped.size() < totalSize) {
+                                        queueDAO.pollMessages(queueName, 10, 0).stream()
+                                                .filter(message -> !popped.add(message.getId()))
+                                                .forEach(message -> duplicates.incrementAndGet());
+                                    }
+                                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        LOGGER.info(
+                "{} pollers popped {} messages in {}ms",
+                pollers,
+                popped.size(),
+                System.currentTimeMillis() - start);
+
+        assertEquals("Messages popped more than once", 0, duplicates.get());
+        assertEquals("Popped messages mismatch", totalSize, popped.size());
+    }
+
     /**
      * Test fix for https://github.com/Netflix/conductor/issues/448
      *
@@ -64,13 +64,15 @@ public class PostgresConfiguration {
 
     @Bean
     @DependsOn({"flywayForPrimaryDb"})
-    public PostgresExecutionDAO postgresExecutionDAO(ObjectMapper objectMapper) {
-        return new PostgresExecutionDAO(objectMapper, dataSource);
+    public PostgresExecutionDAO postgresExecutionDAO(
+            ObjectMapper objectMapper, PostgresProperties properties) {
+        return new PostgresExecutionDAO(objectMapper, dataSource, properties);
     }
 
     @Bean
     @DependsOn({"flywayForPrimaryDb"})
-    public PostgresQueueDAO postgresQueueDAO(ObjectMapper objectMapper) {
-        return new PostgresQueueDAO(objectMapper, dataSource);
+    public PostgresQueueDAO postgresQueueDAO(
+            ObjectMapper objectMapper, PostgresProperties properties) {
+        return new PostgresQueueDAO(objectMapper, dataSource, properties);
     }
 }
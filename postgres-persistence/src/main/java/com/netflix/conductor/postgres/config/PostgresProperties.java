@@ -25,6 +25,19 @@ public class PostgresProperties {
     @DurationUnit(ChronoUnit.SECONDS)
     private Duration taskDefCacheRefreshInterval = Duration.ofSeconds(60);
 
+    /**
+     * Used to enable/disable LISTEN/NOTIFY based long polling of the queues. When enabled, pushes
+     * notify the queue and waiting pollers are woken up instead of polling every 100ms. The
+     * notifications are received on a connection of the pool, held for as long as the server runs.
+     */
+    private boolean queueNotificationsEnabled = false;
+
+    /**
+     * Used to enable/disable the gzip compression of the task and workflow payloads. Rows written
+     * with either setting remain readable after it is changed.
+     */
+    private boolean payloadCompressionEnabled = false;
+
     public Duration getTaskDefCacheRefreshInterval() {
         return taskDefCacheRefreshInterval;
     }
@@ -32,4 +45,20 @@ public class PostgresProperties {
     public void setTaskDefCacheRefreshInterval(Duration taskDefCacheRefreshInterval) {
         this.taskDefCacheRefreshInterval = taskDefCacheRefreshInterval;
     }
+
+    public boolean isQueueNotificationsEnabled() {
+        return queueNotificationsEnabled;
+    }
+
+    public void setQueueNotificationsEnabled(boolean queueNotificationsEnabled) {
+        this.queueNotificationsEnabled = queueNotificationsEnabled;
+    }
+
+    public boolean isPayloadCompressionEnabled() {
+        return payloadCompressionEnabled;
+    }
+
+    public void setPayloadCompressionEnabled(boolean payloadCompressionEnabled) {
+        this.payloadCompressionEnabled = payloadCompressionEnabled;
+    }
 }
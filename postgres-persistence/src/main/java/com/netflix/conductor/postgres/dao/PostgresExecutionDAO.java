@@ -32,6 +32,8 @@ import com.netflix.conductor.dao.RateLimitingDAO;
 import com.netflix.conductor.metrics.Monitors;
 import com.netflix.conductor.model.TaskModel;
 import com.netflix.conductor.model.WorkflowModel;
+import com.netflix.conductor.postgres.config.PostgresProperties;
+import com.netflix.conductor.postgres.util.PayloadCodec;
 import com.netflix.conductor.postgres.util.Query;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -47,8 +49,13 @@ public class PostgresExecutionDAO extends PostgresBaseDAO
     private static final String ARCHIVED_FIELD = "archived";
     private static final String RAW_JSON_FIELD = "rawJSON";
 
-    public PostgresExecutionDAO(ObjectMapper objectMapper, DataSource dataSource) {
+    private final PayloadCodec payloadCodec;
+
+    public PostgresExecutionDAO(
+            ObjectMapper objectMapper, DataSource dataSource, PostgresProperties properties) {
         super(objectMapper, dataSource);
+        this.payloadCodec =
+                new PayloadCodec(objectMapper, properties.isPayloadCompressionEnabled());
     }
 
     private static String dateStr(Long timeInMs) {
@@ -65,7 +72,7 @@ public class PostgresExecutionDAO extends PostgresBaseDAO
     public List<TaskModel> getPendingTasksByWorkflow(String taskDefName, String workflowId) {
         // @formatter:off
         String GET_IN_PROGRESS_TASKS_FOR_WORKFLOW =
-                "SELECT json_data FROM task_in_progress tip "
+                "SELECT t.json_data, t.compressed_data FROM task_in_progress tip "
                         + "INNER JOIN task t ON t.task_id = tip.task_id "
                         + "WHERE task_def_name = ? AND workflow_id = ? FOR SHARE";
         // @formatter:on
@@ -75,7 +82,7 @@ public class PostgresExecutionDAO extends PostgresBaseDAO
                 q ->
                         q.addParameter(taskDefName)
                                 .addParameter(workflowId)
-                                .executeAndFetch(TaskModel.class));
+                                .executeAndFetch(rs -> payloadCodec.readAll(rs, TaskModel.class)));
     }
 
     @Override
@@ -151,13 +158,52 @@ public class PostgresExecutionDAO extends PostgresBaseDAO
         withTransaction(connection -> updateTask(connection, task));
     }
 
+    @Override
+    public void updateTasks(List<TaskModel> tasks) {
+        withTransaction(connection -> tasks.forEach(task -> updateTask(connection, task)));
+    }
+
     /**
-     * This is a dummy implementation and this feature is not for Postgres backed Conductor
+     * Counts the tasks started in fixed windows of rateLimitFrequencyInSeconds, aligned on the
+     * epoch so that all the servers agree on the window boundaries. The counter of a task
+     * definition is read and incremented with a single upsert.
      *
      * @param task: which needs to be evaluated whether it is rateLimited or not
      */
     @Override
     public boolean exceedsRateLimitPerFrequency(TaskModel task, TaskDef taskDef) {
+        int rateLimitPerFrequency =
+                taskDef != null
+                        ? taskDef.getRateLimitPerFrequency()
+                        : task.getRateLimitPerFrequency();
+        int rateLimitFrequencyInSeconds =
+                taskDef != null
+                        ? taskDef.getRateLimitFrequencyInSeconds()
+                        : task.getRateLimitFrequencyInSeconds();
+        if (rateLimitPerFrequency <= 0 || rateLimitFrequencyInSeconds <= 0) {
+            return false;
+        }
+
+        long windowMillis = rateLimitFrequencyInSeconds * 1000L;
+        long windowStart = System.currentTimeMillis() / windowMillis * windowMillis;
+        int windowCount =
+                getWithRetriedTransactions(
+                        tx ->
+                                incrementRateLimitWindow(
+                                        tx,
+                                        task.getTaskDefName(),
+                                        windowStart,
+                                        rateLimitPerFrequency));
+        if (windowCount > rateLimitPerFrequency) {
+            logger.debug(
+                    "TaskId: {} with TaskDefinition of: {} has rateLimitPerFrequency: {} and rateLimitFrequencyInSeconds: {} is out of bounds of rate limit",
+                    task.getTaskId(),
+                    task.getTaskDefName(),
+                    rateLimitPerFrequency,
+                    rateLimitFrequencyInSeconds);
+            Monitors.recordTaskRateLimited(task.getTaskDefName(), rateLimitPerFrequency);
+            return true;
+        }
         return false;
     }
 
@@ -231,9 +277,13 @@ public class PostgresExecutionDAO extends PostgresBaseDAO
 
     @Override
     public TaskModel getTask(String taskId) {
-        String GET_TASK = "SELECT json_data FROM task WHERE task_id = ?";
+        String GET_TASK = "SELECT json_data, compressed_data FROM task WHERE task_id = ?";
         return queryWithTransaction(
-                GET_TASK, q -> q.addParameter(taskId).executeAndFetchFirst(TaskModel.class));
+                GET_TASK,
+                q ->
+                        q.addParameter(taskId)
+                                .executeAndFetch(
+                                        rs -> payloadCodec.readFirst(rs, TaskModel.class)));
     }
 
     @Override
@@ -249,14 +299,16 @@ public class PostgresExecutionDAO extends PostgresBaseDAO
         Preconditions.checkNotNull(taskName, "task name cannot be null");
         // @formatter:off
         String GET_IN_PROGRESS_TASKS_FOR_TYPE =
-                "SELECT json_data FROM task_in_progress tip "
+                "SELECT t.json_data, t.compressed_data FROM task_in_progress tip "
                         + "INNER JOIN task t ON t.task_id = tip.task_id "
                         + "WHERE task_def_name = ? FOR UPDATE SKIP LOCKED";
         // @formatter:on
 
         return queryWithTransaction(
                 GET_IN_PROGRESS_TASKS_FOR_TYPE,
-                q -> q.addParameter(taskName).executeAndFetch(TaskModel.class));
+                q ->
+                        q.addParameter(taskName)
+                                .executeAndFetch(rs -> payloadCodec.readAll(rs, TaskModel.class)));
     }
 
     @Override
@@ -342,6 +394,14 @@ public class PostgresExecutionDAO extends PostgresBaseDAO
         return workflow;
     }
 
+    @Override
+    public List<WorkflowModel> getWorkflows(List<String> workflowIds) {
+        if (workflowIds.isEmpty()) {
+            return Lists.newArrayList();
+        }
+        return getWithRetriedTransactions(c -> readWorkflows(c, workflowIds));
+    }
+
     /**
      * @param workflowName name of the workflow
      * @param version the workflow version
@@ -444,14 +504,15 @@ public class PostgresExecutionDAO extends PostgresBaseDAO
             String workflowName, String correlationId, boolean includeTasks) {
         Preconditions.checkNotNull(correlationId, "correlationId cannot be null");
         String GET_WORKFLOWS_BY_CORRELATION_ID =
-                "SELECT w.json_data FROM workflow w left join workflow_def_to_workflow wd on w.workflow_id = wd.workflow_id  WHERE w.correlation_id = ? and wd.workflow_def = ? FOR SHARE SKIP LOCKED";
+                "SELECT w.json_data, w.compressed_data FROM workflow w left join workflow_def_to_workflow wd on w.workflow_id = wd.workflow_id  WHERE w.correlation_id = ? and wd.workflow_def = ? FOR SHARE SKIP LOCKED";
 
         return queryWithTransaction(
                 GET_WORKFLOWS_BY_CORRELATION_ID,
                 q ->
                         q.addParameter(correlationId)
                                 .addParameter(workflowName)
-                                .executeAndFetch(WorkflowModel.class));
+                                .executeAndFetch(
+                                        rs -> payloadCodec.readAll(rs, WorkflowModel.class)));
     }
 
     @Override
@@ -532,9 +593,14 @@ public class PostgresExecutionDAO extends PostgresBaseDAO
 
     @Override
     public void updateLastPollData(String taskDefName, String domain, String workerId) {
-        Preconditions.checkNotNull(taskDefName, "taskDefName name cannot be null");
-        PollData pollData = new PollData(taskDefName, domain, workerId, System.currentTimeMillis());
-        String effectiveDomain = (domain == null) ? "DEFAULT" : domain;
+        updateLastPollData(
+                new PollData(taskDefName, domain, workerId, System.currentTimeMillis()));
+    }
+
+    @Override
+    public void updateLastPollData(PollData pollData) {
+        Preconditions.checkNotNull(pollData.getQueueName(), "taskDefName name cannot be null");
+        String effectiveDomain = (pollData.getDomain() == null) ? "DEFAULT" : pollData.getDomain();
         withTransaction(tx -> insertOrUpdatePollData(tx, pollData, effectiveDomain));
     }
 
@@ -578,13 +644,15 @@ public class PostgresExecutionDAO extends PostgresBaseDAO
         // on taskIds.size()
         final String GET_TASKS_FOR_IDS =
                 String.format(
-                        "SELECT json_data FROM task WHERE task_id IN (%s) AND json_data IS NOT NULL",
+                        "SELECT json_data, compressed_data FROM task WHERE task_id IN (%s) AND (json_data IS NOT NULL OR compressed_data IS NOT NULL)",
                         Query.generateInBindings(taskIds.size()));
 
         return query(
                 connection,
                 GET_TASKS_FOR_IDS,
-                q -> q.addParameters(taskIds).executeAndFetch(TaskModel.class));
+                q ->
+                        q.addParameters(taskIds)
+                                .executeAndFetch(rs -> payloadCodec.readAll(rs, TaskModel.class)));
     }
 
     private String insertOrUpdateWorkflow(WorkflowModel workflow, boolean update) {
@@ -637,37 +705,86 @@ public class PostgresExecutionDAO extends PostgresBaseDAO
     }
 
     private WorkflowModel readWorkflow(Connection connection, String workflowId) {
-        String GET_WORKFLOW = "SELECT json_data FROM workflow WHERE workflow_id = ?";
+        String GET_WORKFLOW =
+                "SELECT json_data, compressed_data FROM workflow WHERE workflow_id = ?";
 
         return query(
                 connection,
                 GET_WORKFLOW,
-                q -> q.addParameter(workflowId).executeAndFetchFirst(WorkflowModel.class));
+                q ->
+                        q.addParameter(workflowId)
+                                .executeAndFetch(
+                                        rs -> payloadCodec.readFirst(rs, WorkflowModel.class)));
+    }
+
+    private List<WorkflowModel> readWorkflows(Connection connection, List<String> workflowIds) {
+        // Generate a formatted query string with a variable number of bind params based
+        // on workflowIds.size()
+        final String GET_WORKFLOWS_FOR_IDS =
+                String.format(
+                        "SELECT json_data, compressed_data FROM workflow WHERE workflow_id IN (%s)",
+                        Query.generateInBindings(workflowIds.size()));
+
+        return query(
+                connection,
+                GET_WORKFLOWS_FOR_IDS,
+                q ->
+                        q.addParameters(workflowIds)
+                                .executeAndFetch(
+                                        rs -> payloadCodec.readAll(rs, WorkflowModel.class)));
+    }
+
+    /**
+     * @return the count of the current window, including the given task if it is within the
+     *     limit. The count stops at rateLimitPerFrequency + 1 once the limit is exceeded.
+     */
+    private int incrementRateLimitWindow(
+            Connection connection,
+            String taskDefName,
+            long windowStart,
+            int rateLimitPerFrequency) {
+        final String INCREMENT_RATE_LIMIT_WINDOW =
+                "INSERT INTO task_rate_limit (task_def_name, window_start, window_count) VALUES (?, ?, 1) "
+                        + "ON CONFLICT (task_def_name) DO UPDATE SET "
+                        + "window_count = CASE WHEN excluded.window_start > task_rate_limit.window_start THEN 1 ELSE LEAST(task_rate_limit.window_count + 1, ?) END, "
+                        + "window_start = GREATEST(excluded.window_start, task_rate_limit.window_start) "
+                        + "RETURNING window_count";
+        return query(
+                connection,
+                INCREMENT_RATE_LIMIT_WINDOW,
+                q ->
+                        q.addParameter(taskDefName)
+                                .addParameter(windowStart)
+                                .addParameter(rateLimitPerFrequency + 1)
+                                .executeScalar(Integer.class));
     }
 
     private void addWorkflow(Connection connection, WorkflowModel workflow) {
         String INSERT_WORKFLOW =
-                "INSERT INTO workflow (workflow_id, correlation_id, json_data) VALUES (?, ?, ?)";
+                "INSERT INTO workflow (workflow_id, correlation_id, json_data, compressed_data) VALUES (?, ?, ?, ?)";
 
         execute(
                 connection,
                 INSERT_WORKFLOW,
                 q ->
-                        q.addParameter(workflow.getWorkflowId())
-                                .addParameter(workflow.getCorrelationId())
-                                .addJsonParameter(workflow)
+                        payloadCodec
+                                .addPayloadParameters(
+                                        q.addParameter(workflow.getWorkflowId())
+                                                .addParameter(workflow.getCorrelationId()),
+                                        workflow)
                                 .executeUpdate());
     }
 
     private void updateWorkflow(Connection connection, WorkflowModel workflow) {
         String UPDATE_WORKFLOW =
-                "UPDATE workflow SET json_data = ?, modified_on = CURRENT_TIMESTAMP WHERE workflow_id = ?";
+                "UPDATE workflow SET json_data = ?, compressed_data = ?, modified_on = CURRENT_TIMESTAMP WHERE workflow_id = ?";
 
         execute(
                 connection,
                 UPDATE_WORKFLOW,
                 q ->
-                        q.addJsonParameter(workflow)
+                        payloadCodec
+                                .addPayloadParameters(q, workflow)
                                 .addParameter(workflow.getWorkflowId())
                                 .executeUpdate());
     }
@@ -716,23 +833,27 @@ public class PostgresExecutionDAO extends PostgresBaseDAO
          * is that if we try the INSERT first, the sequence will be increased even if the ON CONFLICT happens.
          */
         String UPDATE_TASK =
-                "UPDATE task SET json_data=?, modified_on=CURRENT_TIMESTAMP WHERE task_id=?";
+                "UPDATE task SET json_data=?, compressed_data=?, modified_on=CURRENT_TIMESTAMP WHERE task_id=?";
         int rowsUpdated =
                 query(
                         connection,
                         UPDATE_TASK,
                         q ->
-                                q.addJsonParameter(task)
+                                payloadCodec
+                                        .addPayloadParameters(q, task)
                                         .addParameter(task.getTaskId())
                                         .executeUpdate());
 
         if (rowsUpdated == 0) {
             String INSERT_TASK =
-                    "INSERT INTO task (task_id, json_data, modified_on) VALUES (?, ?, CURRENT_TIMESTAMP) ON CONFLICT (task_id) DO UPDATE SET json_data=excluded.json_data, modified_on=excluded.modified_on";
+                    "INSERT INTO task (task_id, json_data, compressed_data, modified_on) VALUES (?, ?, ?, CURRENT_TIMESTAMP) ON CONFLICT (task_id) DO UPDATE SET json_data=excluded.json_data, compressed_data=excluded.compressed_data, modified_on=excluded.modified_on";
             execute(
                     connection,
                     INSERT_TASK,
-                    q -> q.addParameter(task.getTaskId()).addJsonParameter(task).executeUpdate());
+                    q ->
+                            payloadCodec
+                                    .addPayloadParameters(q.addParameter(task.getTaskId()), task)
+                                    .executeUpdate());
         }
     }
 
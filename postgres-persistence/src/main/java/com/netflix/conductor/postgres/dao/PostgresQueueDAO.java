@@ -22,10 +22,12 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import javax.annotation.PreDestroy;
 import javax.sql.DataSource;
 
 import com.netflix.conductor.core.events.queue.Message;
 import com.netflix.conductor.dao.QueueDAO;
+import com.netflix.conductor.postgres.config.PostgresProperties;
 import com.netflix.conductor.postgres.util.Query;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -37,9 +39,23 @@ public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
 
     private static final Long UNACK_SCHEDULE_MS = 60_000L;
 
-    public PostgresQueueDAO(ObjectMapper om, DataSource ds) {
+    private static final long POLL_INTERVAL_MS = 100;
+
+    /**
+     * The longest a poller waits for a notification before polling again, since deferred and
+     * unacked messages become available without one.
+     */
+    private static final long MAX_NOTIFICATION_WAIT_MS = 1_000;
+
+    /** Listens for pushed messages, null if queue notifications are disabled. */
+    private final PostgresQueueListener queueListener;
+
+    public PostgresQueueDAO(ObjectMapper om, DataSource ds, PostgresProperties properties) {
         super(om, ds);
 
+        this.queueListener =
+                properties.isQueueNotificationsEnabled() ? new PostgresQueueListener(ds) : null;
+
         Executors.newSingleThreadScheduledExecutor()
                 .scheduleAtFixedRate(
                         this::processAllUnacks,
@@ -116,6 +132,7 @@ public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
         final List<Message> messages = new ArrayList<>();
 
         while (true) {
+            long version = queueListener != null ? queueListener.getVersion(queueName) : 0;
             List<Message> messagesSlice =
                     getWithTransactionWithOutErrorPropagation(
                             tx -> popMessages(tx, queueName, count - messages.size(), timeout));
@@ -130,10 +147,23 @@ public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
             }
 
             messages.addAll(messagesSlice);
-            if (messages.size() >= count || ((System.currentTimeMillis() - start) > timeout)) {
+            long remaining = timeout - (System.currentTimeMillis() - start);
+            if (messages.size() >= count || remaining < 0) {
                 return messages;
             }
-            Uninterruptibles.sleepUninterruptibly(100, TimeUnit.MILLISECONDS);
+            if (queueListener != null && queueListener.isListening()) {
+                queueListener.await(
+                        queueName, version, Math.min(remaining, MAX_NOTIFICATION_WAIT_MS));
+            } else {
+                Uninterruptibles.sleepUninterruptibly(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (queueListener != null) {
+            queueListener.shutdown();
         }
     }
 
@@ -386,6 +416,18 @@ public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
                                     .addParameter(payload)
                                     .executeUpdate());
         }
+
+        if (queueListener != null && offsetTimeInSecond <= 0) {
+            // delivered to the listeners on commit, once the message is visible to pollers
+            final String NOTIFY_QUEUE = "SELECT pg_notify(?, ?)";
+            execute(
+                    connection,
+                    NOTIFY_QUEUE,
+                    q ->
+                            q.addParameter(PostgresQueueListener.CHANNEL)
+                                    .addParameter(queueName)
+                                    .executeQuery());
+        }
     }
 
     private boolean removeMessage(Connection connection, String queueName, String messageId) {
@@ -397,19 +439,23 @@ public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
                 q -> q.addParameter(queueName).addParameter(messageId).executeDelete());
     }
 
-    private List<Message> peekMessages(Connection connection, String queueName, int count) {
+    private List<Message> popMessages(
+            Connection connection, String queueName, int count, int timeout) {
         if (count < 1) {
             return Collections.emptyList();
         }
 
-        final String PEEK_MESSAGES =
-                "SELECT message_id, priority, payload FROM queue_message WHERE queue_name = ? AND popped = false AND deliver_on <= (current_timestamp + (1000 ||' microseconds')::interval) ORDER BY priority DESC, deliver_on, created_on LIMIT ? FOR UPDATE SKIP LOCKED";
+        // Lock and pop the messages with a single statement, skipping the ones being popped by
+        // concurrent pollers
+        final String POP_MESSAGES =
+                "WITH popped AS (UPDATE queue_message SET popped = true WHERE queue_name = ? AND message_id IN (SELECT message_id FROM queue_message WHERE queue_name = ? AND popped = false AND deliver_on <= (current_timestamp + (1000 ||' microseconds')::interval) ORDER BY priority DESC, deliver_on, created_on LIMIT ? FOR UPDATE SKIP LOCKED) RETURNING message_id, priority, payload, deliver_on, created_on) SELECT message_id, priority, payload FROM popped ORDER BY priority DESC, deliver_on, created_on";
 
         return query(
                 connection,
-                PEEK_MESSAGES,
+                POP_MESSAGES,
                 p ->
                         p.addParameter(queueName)
+                                .addParameter(queueName)
                                 .addParameter(count)
                                 .executeAndFetch(
                                         rs -> {
@@ -425,34 +471,6 @@ public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
                                         }));
     }
 
-    private List<Message> popMessages(
-            Connection connection, String queueName, int count, int timeout) {
-        List<Message> messages = peekMessages(connection, queueName, count);
-
-        if (messages.isEmpty()) {
-            return messages;
-        }
-
-        List<Message> poppedMessages = new ArrayList<>();
-        for (Message message : messages) {
-            final String POP_MESSAGE =
-                    "UPDATE queue_message SET popped = true WHERE queue_name = ? AND message_id = ? AND popped = false";
-            int result =
-                    query(
-                            connection,
-                            POP_MESSAGE,
-                            q ->
-                                    q.addParameter(queueName)
-                                            .addParameter(message.getId())
-                                            .executeUpdate());
-
-            if (result == 1) {
-                poppedMessages.add(message);
-            }
-        }
-        return poppedMessages;
-    }
-
     @Override
     public boolean containsMessage(String queueName, String messageId) {
         return getWithRetriedTransactions(tx -> existsMessage(tx, queueName, messageId));
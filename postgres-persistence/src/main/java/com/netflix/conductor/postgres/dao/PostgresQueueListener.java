@@ -0,0 +1,167 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.postgres.dao;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+/**
+ * Listens on a dedicated connection for the notifications sent by {@link PostgresQueueDAO} when
+ * messages are pushed, and wakes up the pollers waiting on the notified queues.
+ *
+ * <p>The notifications are sent on a single channel, with the queue name as payload, since queue
+ * names do not fit the length and character limits of channel names.
+ *
+ * <p>The listener holds one connection of the pool for as long as it runs, so the pool must be
+ * sized with one more connection than the DAOs need. It also keeps the signal of every queue that
+ * was ever polled, which is not bounded but stays small, since there is one queue per task type
+ * and system queue.
+ */
+class PostgresQueueListener {
+
+    static final String CHANNEL = "conductor_queue_message";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PostgresQueueListener.class);
+
+    private static final int NOTIFICATION_TIMEOUT_MS = 1_000;
+    private static final long RECONNECT_DELAY_MS = 5_000;
+
+    private final DataSource dataSource;
+    private final Map<String, QueueSignal> signals = new ConcurrentHashMap<>();
+    private final ExecutorService executorService;
+
+    private volatile boolean running = true;
+    private volatile boolean listening = false;
+
+    PostgresQueueListener(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.executorService =
+                Executors.newSingleThreadExecutor(
+                        new ThreadFactoryBuilder()
+                                .setNameFormat("postgres-queue-listener")
+                                .setDaemon(true)
+                                .build());
+        executorService.submit(this::run);
+    }
+
+    /** @return true if notifications are being received, false if pollers must poll on a timer */
+    boolean isListening() {
+        return listening;
+    }
+
+    /**
+     * @param queueName the name of the queue
+     * @return a version of the queue to be passed to {@link #await(String, long, long)}, to be
+     *     read before checking the queue for messages so that no notification is missed
+     */
+    long getVersion(String queueName) {
+        return signals.computeIfAbsent(queueName, q -> new QueueSignal()).getVersion();
+    }
+
+    /**
+     * Waits until the given queue is notified after the given version was read, or the timeout
+     * expires.
+     */
+    void await(String queueName, long version, long timeoutMs) {
+        signals.computeIfAbsent(queueName, q -> new QueueSignal()).await(version, timeoutMs);
+    }
+
+    void shutdown() {
+        running = false;
+        executorService.shutdownNow();
+    }
+
+    private void run() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                listening = true;
+                LOGGER.info("Listening for queue notifications on channel {}", CHANNEL);
+                // notifications may have been missed while not listening
+                signals.values().forEach(QueueSignal::signal);
+
+                while (running) {
+                    PGNotification[] notifications =
+                            pgConnection.getNotifications(NOTIFICATION_TIMEOUT_MS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        QueueSignal signal = signals.get(notification.getParameter());
+                        if (signal != null) {
+                            signal.signal();
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                if (running) {
+                    LOGGER.warn(
+                            "Unable to listen for queue notifications, pollers will poll on a timer",
+                            e);
+                }
+            } finally {
+                listening = false;
+                signals.values().forEach(QueueSignal::signal);
+            }
+            if (running) {
+                Uninterruptibles.sleepUninterruptibly(RECONNECT_DELAY_MS, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private static class QueueSignal {
+
+        private long version;
+
+        synchronized long getVersion() {
+            return version;
+        }
+
+        synchronized void signal() {
+            version++;
+            notifyAll();
+        }
+
+        synchronized void await(long version, long timeoutMs) {
+            long deadline = System.currentTimeMillis() + timeoutMs;
+            long remaining = timeoutMs;
+            try {
+                while (this.version == version && remaining > 0) {
+                    wait(remaining);
+                    remaining = deadline - System.currentTimeMillis();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
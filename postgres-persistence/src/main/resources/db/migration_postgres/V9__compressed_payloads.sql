@@ -0,0 +1,6 @@
+-- Payloads are stored either as JSON text in json_data or gzipped in compressed_data
+ALTER TABLE task ADD COLUMN compressed_data BYTEA;
+ALTER TABLE task ALTER COLUMN json_data DROP NOT NULL;
+
+ALTER TABLE workflow ADD COLUMN compressed_data BYTEA;
+ALTER TABLE workflow ALTER COLUMN json_data DROP NOT NULL;
@@ -17,6 +17,13 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import javax.sql.DataSource;
@@ -39,6 +46,7 @@ import org.springframework.test.context.junit4.SpringRunner;
 import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
 import com.netflix.conductor.core.events.queue.Message;
 import com.netflix.conductor.postgres.config.PostgresConfiguration;
+import com.netflix.conductor.postgres.config.PostgresProperties;
 import com.netflix.conductor.postgres.util.Query;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -212,6 +220,97 @@ public class PostgresQueueDAOTest {
         }
     }
 
+    /**
+     * Polls a queue with notifications enabled, which must return as soon as a message is pushed
+     * rather than after the longest wait for a notification.
+     */
+    @Test
+    public void pollMessagesNotifiedTest() throws Exception {
+        PostgresProperties properties = new PostgresProperties();
+        properties.setQueueNotificationsEnabled(true);
+        PostgresQueueDAO notifiedQueueDAO =
+                new PostgresQueueDAO(objectMapper, dataSource, properties);
+        // a second listener, to check that the push is notified
+        PostgresQueueListener queueListener = new PostgresQueueListener(dataSource);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            final String queueName = "notified_testQueue";
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (!queueListener.isListening() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertTrue(queueListener.isListening());
+            long version = queueListener.getVersion(queueName);
+
+            Future<List<Message>> poll =
+                    executorService.submit(
+                            () -> notifiedQueueDAO.pollMessages(queueName, 1, 10_000));
+            Thread.sleep(200);
+            long pushed = System.currentTimeMillis();
+            notifiedQueueDAO.push(queueName, "testmsg", 0);
+
+            List<Message> messages = poll.get(5, TimeUnit.SECONDS);
+            long elapsed = System.currentTimeMillis() - pushed;
+            assertEquals(1, messages.size());
+            assertEquals("testmsg", messages.get(0).getId());
+            // without the notification, the poller would wait 1s before polling again
+            assertTrue("Poll returned " + elapsed + "ms after the push", elapsed < 500);
+
+            queueListener.await(queueName, version, 5_000);
+            assertTrue(queueListener.getVersion(queueName) > version);
+        } finally {
+            executorService.shutdownNow();
+            queueListener.shutdown();
+            notifiedQueueDAO.shutdown();
+        }
+    }
+
+    /** Polls a queue from concurrent pollers, which must pop every message exactly once. */
+    @Test
+    public void concurrentPollersTest() throws Exception {
+        final String queueName = "concurrent_pollers_testQueue";
+        final int totalSize = 500;
+        final int pollers = 10;
+
+        List<Message> messages = new ArrayList<>();
+        for (int i = 0; i < totalSize; i++) {
+            messages.add(new Message("testmsg-" + i, "{}", ""));
+        }
+        queueDAO.push(queueName, messages);
+
+        Set<String> popped = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(pollers);
+        long start = System.currentTimeMillis();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < pollers; i++) {
+                futures.add(
+                        executorService.submit(
+                                () -> {
+                                    while (popped.size() < totalSize) {
+                                        queueDAO.pollMessages(queueName, 10, 0).stream()
+                                                .filter(message -> !popped.add(message.getId()))
+                                                .forEach(message -> duplicates.incrementAndGet());
+                                    }
+                                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        LOGGER.info(
+                "{} pollers popped {} messages in {}ms",
+                pollers,
+                popped.size(),
+                System.currentTimeMillis() - start);
+
+        assertEquals("Messages popped more than once", 0, duplicates.get());
+        assertEquals("Popped messages mismatch", totalSize, popped.size());
+    }
+
     /** Test fix for https://github.com/Netflix/conductor/issues/1892 */
     @Test
     public void containsMessageTest() {
@@ -94,6 +94,13 @@ public class RedisProperties {
     @DurationUnit(ChronoUnit.SECONDS)
     private Duration eventExecutionPersistenceTTL = Duration.ofSeconds(60);
 
+    /**
+     * Used to enable/disable batching of multi-task reads (MGET) and writes (pipelines) in the
+     * execution DAO. Pipelined writes are only used with the standalone and sentinel
+     * configurations, other configurations fall back to one command per round trip.
+     */
+    private boolean pipeliningEnabled = false;
+
     // Maximum number of idle connections to be maintained
     private int maxIdleConnections = 8;
 
@@ -268,6 +275,14 @@ public class RedisProperties {
         this.eventExecutionPersistenceTTL = eventExecutionPersistenceTTL;
     }
 
+    public boolean isPipeliningEnabled() {
+        return pipeliningEnabled;
+    }
+
+    public void setPipeliningEnabled(boolean pipeliningEnabled) {
+        this.pipeliningEnabled = pipeliningEnabled;
+    }
+
     public String getQueuePrefix() {
         String prefix = getQueueNamespacePrefix() + "." + conductorProperties.getStack();
         if (getKeyspaceDomain() != null) {
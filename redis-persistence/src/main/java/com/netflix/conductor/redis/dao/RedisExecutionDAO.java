@@ -38,6 +38,7 @@ import com.netflix.conductor.redis.jedis.JedisProxy;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import redis.clients.jedis.commands.RedisPipeline;
 
 @Component
 @Conditional(AnyRedisCondition.class)
@@ -60,6 +61,7 @@ public class RedisExecutionDAO extends BaseDynoDAO
     private static final String CORR_ID_TO_WORKFLOWS = "CORR_ID_TO_WORKFLOWS";
     private static final String EVENT_EXECUTION = "EVENT_EXECUTION";
     private final int ttlEventExecutionSeconds;
+    private final boolean pipeliningEnabled;
 
     public RedisExecutionDAO(
             JedisProxy jedisProxy,
@@ -69,6 +71,7 @@ public class RedisExecutionDAO extends BaseDynoDAO
         super(jedisProxy, objectMapper, conductorProperties, properties);
 
         ttlEventExecutionSeconds = (int) properties.getEventExecutionPersistenceTTL().getSeconds();
+        pipeliningEnabled = properties.isPipeliningEnabled();
     }
 
     private static String dateStr(Long timeInMs) {
@@ -97,17 +100,13 @@ public class RedisExecutionDAO extends BaseDynoDAO
 
     @Override
     public List<TaskModel> getPendingTasksByWorkflow(String taskName, String workflowId) {
-        List<TaskModel> tasks = new LinkedList<>();
-
-        List<TaskModel> pendingTasks = getPendingTasksForTaskType(taskName);
-        pendingTasks.forEach(
-                pendingTask -> {
-                    if (pendingTask.getWorkflowInstanceId().equals(workflowId)) {
-                        tasks.add(pendingTask);
-                    }
-                });
-
-        return tasks;
+        Preconditions.checkNotNull(taskName, "task name cannot be null");
+        Preconditions.checkNotNull(workflowId, "workflowId cannot be null");
+        // only the tasks in both sets are read, rather than the pending tasks of all workflows
+        Set<String> taskIds = jedisProxy.smembers(nsKey(WORKFLOW_TO_TASKS, workflowId));
+        taskIds.retainAll(jedisProxy.smembers(nsKey(IN_PROGRESS_TASKS, taskName)));
+        recordRedisDaoRequests("getPendingTasksByWorkflow");
+        return getTasks(new ArrayList<>(taskIds));
     }
 
     @Override
@@ -136,6 +135,9 @@ public class RedisExecutionDAO extends BaseDynoDAO
 
     @Override
     public List<TaskModel> createTasks(List<TaskModel> tasks) {
+        if (pipeliningEnabled && jedisProxy.isPipeliningSupported()) {
+            return createTasksPipelined(tasks);
+        }
 
         List<TaskModel> tasksCreated = new LinkedList<>();
 
@@ -190,6 +192,110 @@ public class RedisExecutionDAO extends BaseDynoDAO
         return tasksCreated;
     }
 
+    /**
+     * Pipelined variant of {@link #createTasks(List)}. The SCHEDULED_TASKS check for all the tasks
+     * is sent in one round trip, and all the writes for the newly scheduled tasks in another one.
+     */
+    private List<TaskModel> createTasksPipelined(List<TaskModel> tasks) {
+        tasks.forEach(this::validate);
+
+        List<Object> added =
+                jedisProxy.pipelined(
+                        pipeline ->
+                                tasks.forEach(
+                                        task ->
+                                                pipeline.hset(
+                                                        nsKey(
+                                                                SCHEDULED_TASKS,
+                                                                task.getWorkflowInstanceId()),
+                                                        task.getReferenceTaskName()
+                                                                + ""
+                                                                + task.getRetryCount(),
+                                                        task.getTaskId())));
+
+        List<TaskModel> tasksCreated = new LinkedList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            TaskModel task = tasks.get(i);
+            recordRedisDaoRequests("createTask", task.getTaskType(), task.getWorkflowType());
+            if (toLong(added.get(i)) < 1) {
+                LOGGER.debug(
+                        "Task already scheduled, skipping the run {}, ref={}",
+                        task.getTaskId(),
+                        task.getReferenceTaskName());
+                continue;
+            }
+            if (task.getStatus() != null
+                    && !task.getStatus().isTerminal()
+                    && task.getScheduledTime() == 0) {
+                task.setScheduledTime(System.currentTimeMillis());
+            }
+            tasksCreated.add(task);
+        }
+
+        if (!tasksCreated.isEmpty()) {
+            List<String> payloads =
+                    tasksCreated.stream().map(this::taskPayload).collect(Collectors.toList());
+            jedisProxy.pipelined(
+                    pipeline -> {
+                        for (int i = 0; i < tasksCreated.size(); i++) {
+                            TaskModel task = tasksCreated.get(i);
+                            pipeline.sadd(
+                                    nsKey(WORKFLOW_TO_TASKS, task.getWorkflowInstanceId()),
+                                    task.getTaskId());
+                            pipeline.sadd(
+                                    nsKey(IN_PROGRESS_TASKS, task.getTaskDefName()),
+                                    task.getTaskId());
+                            writeTask(pipeline, task, payloads.get(i));
+                        }
+                    });
+            LOGGER.debug(
+                    "{} scheduled tasks added to WORKFLOW_TO_TASKS and IN_PROGRESS_TASKS during createTasks",
+                    tasksCreated.size());
+        }
+        return tasksCreated;
+    }
+
+    /**
+     * Issues on the given pipeline the same writes as {@link #updateTask(TaskModel)}, except for
+     * the WORKFLOW_TO_TASKS mapping which is left to the caller.
+     */
+    private void writeTask(RedisPipeline pipeline, TaskModel task, String payload) {
+        Optional<TaskDef> taskDefinition = task.getTaskDefinition();
+        if (taskDefinition.isPresent() && taskDefinition.get().concurrencyLimit() > 0) {
+            if (task.getStatus() != null && task.getStatus().equals(TaskModel.Status.IN_PROGRESS)) {
+                pipeline.sadd(
+                        nsKey(TASKS_IN_PROGRESS_STATUS, task.getTaskDefName()), task.getTaskId());
+            } else {
+                pipeline.srem(
+                        nsKey(TASKS_IN_PROGRESS_STATUS, task.getTaskDefName()), task.getTaskId());
+                pipeline.zrem(nsKey(TASK_LIMIT_BUCKET, task.getTaskDefName()), task.getTaskId());
+            }
+        }
+        pipeline.set(nsKey(TASK, task.getTaskId()), payload);
+        if (task.getStatus() != null && task.getStatus().isTerminal()) {
+            pipeline.srem(nsKey(IN_PROGRESS_TASKS, task.getTaskDefName()), task.getTaskId());
+        }
+    }
+
+    private String taskPayload(TaskModel task) {
+        String payload = toJson(task);
+        recordRedisDaoPayloadSize(
+                "updateTask",
+                payload.length(),
+                task.getTaskDefinition().map(TaskDef::getName).orElse("n/a"),
+                task.getWorkflowType());
+        recordRedisDaoRequests("updateTask", task.getTaskType(), task.getWorkflowType());
+        return payload;
+    }
+
+    private static long toLong(Object response) {
+        if (response instanceof Long) {
+            return (Long) response;
+        }
+        throw new ApplicationException(
+                Code.BACKEND_ERROR, "Unexpected response from redis pipeline: " + response);
+    }
+
     @Override
     public void updateTask(TaskModel task) {
         Optional<TaskDef> taskDefinition = task.getTaskDefinition();
@@ -254,13 +360,39 @@ public class RedisExecutionDAO extends BaseDynoDAO
                     task.getStatus().name());
         }
 
-        Set<String> taskIds =
-                jedisProxy.smembers(nsKey(WORKFLOW_TO_TASKS, task.getWorkflowInstanceId()));
-        if (!taskIds.contains(task.getTaskId())) {
+        if (!jedisProxy.sismember(
+                nsKey(WORKFLOW_TO_TASKS, task.getWorkflowInstanceId()), task.getTaskId())) {
             correlateTaskToWorkflowInDS(task.getTaskId(), task.getWorkflowInstanceId());
         }
     }
 
+    /**
+     * With pipelining enabled, all the tasks are written in a single round trip. The
+     * WORKFLOW_TO_TASKS mapping is added unconditionally instead of being checked first, since
+     * SADD is idempotent.
+     */
+    @Override
+    public void updateTasks(List<TaskModel> tasks) {
+        if (!pipeliningEnabled || !jedisProxy.isPipeliningSupported()) {
+            tasks.forEach(this::updateTask);
+            return;
+        }
+        if (tasks.isEmpty()) {
+            return;
+        }
+        List<String> payloads = tasks.stream().map(this::taskPayload).collect(Collectors.toList());
+        jedisProxy.pipelined(
+                pipeline -> {
+                    for (int i = 0; i < tasks.size(); i++) {
+                        TaskModel task = tasks.get(i);
+                        writeTask(pipeline, task, payloads.get(i));
+                        pipeline.sadd(
+                                nsKey(WORKFLOW_TO_TASKS, task.getWorkflowInstanceId()),
+                                task.getTaskId());
+                    }
+                });
+    }
+
     @Override
     public boolean exceedsLimit(TaskModel task) {
         Optional<TaskDef> taskDefinition = task.getTaskDefinition();
@@ -377,25 +509,30 @@ public class RedisExecutionDAO extends BaseDynoDAO
 
     @Override
     public List<TaskModel> getTasks(List<String> taskIds) {
+        if (pipeliningEnabled) {
+            List<String> keys =
+                    taskIds.stream().map(taskId -> nsKey(TASK, taskId)).collect(Collectors.toList());
+            return jedisProxy.mget(keys).stream()
+                    .filter(Objects::nonNull)
+                    .map(this::readTask)
+                    .collect(Collectors.toList());
+        }
         return taskIds.stream()
                 .map(taskId -> nsKey(TASK, taskId))
                 .map(jedisProxy::get)
                 .filter(Objects::nonNull)
-                .map(
-                        jsonString -> {
-                            TaskModel task = readValue(jsonString, TaskModel.class);
-                            recordRedisDaoRequests(
-                                    "getTask", task.getTaskType(), task.getWorkflowType());
-                            recordRedisDaoPayloadSize(
-                                    "getTask",
-                                    jsonString.length(),
-                                    task.getTaskType(),
-                                    task.getWorkflowType());
-                            return task;
-                        })
+                .map(this::readTask)
                 .collect(Collectors.toList());
     }
 
+    private TaskModel readTask(String jsonString) {
+        TaskModel task = readValue(jsonString, TaskModel.class);
+        recordRedisDaoRequests("getTask", task.getTaskType(), task.getWorkflowType());
+        recordRedisDaoPayloadSize(
+                "getTask", jsonString.length(), task.getTaskType(), task.getWorkflowType());
+        return task;
+    }
+
     @Override
     public List<TaskModel> getTasksForWorkflow(String workflowId) {
         Preconditions.checkNotNull(workflowId, "workflowId cannot be null");
@@ -493,10 +630,7 @@ public class RedisExecutionDAO extends BaseDynoDAO
         WorkflowModel workflow = null;
 
         if (json != null) {
-            workflow = readValue(json, WorkflowModel.class);
-            recordRedisDaoRequests("getWorkflow", "n/a", workflow.getWorkflowName());
-            recordRedisDaoPayloadSize(
-                    "getWorkflow", json.length(), "n/a", workflow.getWorkflowName());
+            workflow = readWorkflow(json);
             if (includeTasks) {
                 List<TaskModel> tasks = getTasksForWorkflow(workflowId);
                 tasks.sort(Comparator.comparingInt(TaskModel::getSeq));
@@ -506,6 +640,28 @@ public class RedisExecutionDAO extends BaseDynoDAO
         return workflow;
     }
 
+    @Override
+    public List<WorkflowModel> getWorkflows(List<String> workflowIds) {
+        if (!pipeliningEnabled) {
+            return ExecutionDAO.super.getWorkflows(workflowIds);
+        }
+        List<String> keys =
+                workflowIds.stream()
+                        .map(workflowId -> nsKey(WORKFLOW, workflowId))
+                        .collect(Collectors.toList());
+        return jedisProxy.mget(keys).stream()
+                .filter(Objects::nonNull)
+                .map(this::readWorkflow)
+                .collect(Collectors.toList());
+    }
+
+    private WorkflowModel readWorkflow(String json) {
+        WorkflowModel workflow = readValue(json, WorkflowModel.class);
+        recordRedisDaoRequests("getWorkflow", "n/a", workflow.getWorkflowName());
+        recordRedisDaoPayloadSize("getWorkflow", json.length(), "n/a", workflow.getWorkflowName());
+        return workflow;
+    }
+
     /**
      * @param workflowName name of the workflow
      * @param version the workflow version
@@ -46,11 +46,16 @@ public class RedisPollDataDAO extends BaseDynoDAO implements PollDataDAO {
 
     @Override
     public void updateLastPollData(String taskDefName, String domain, String workerId) {
-        Preconditions.checkNotNull(taskDefName, "taskDefName name cannot be null");
-        PollData pollData = new PollData(taskDefName, domain, workerId, System.currentTimeMillis());
+        updateLastPollData(
+                new PollData(taskDefName, domain, workerId, System.currentTimeMillis()));
+    }
+
+    @Override
+    public void updateLastPollData(PollData pollData) {
+        Preconditions.checkNotNull(pollData.getQueueName(), "taskDefName name cannot be null");
 
         String key = nsKey(POLL_DATA, pollData.getQueueName());
-        String field = (domain == null) ? "DEFAULT" : domain;
+        String field = (pollData.getDomain() == null) ? "DEFAULT" : pollData.getDomain();
 
         String payload = toJson(pollData);
         recordRedisDaoRequests("updatePollData");
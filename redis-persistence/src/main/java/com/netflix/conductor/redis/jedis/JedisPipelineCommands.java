@@ -0,0 +1,41 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.redis.jedis;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import redis.clients.jedis.commands.JedisCommands;
+import redis.clients.jedis.commands.RedisPipeline;
+
+/**
+ * Commands that send several operations to redis in a single round trip. Implemented by the {@link
+ * JedisCommands} implementations that talk to a single redis node, where all keys can be accessed
+ * over the same connection.
+ */
+public interface JedisPipelineCommands {
+
+    /**
+     * @param keys the keys to be fetched
+     * @return the values of the given keys, in the same order, with null for missing keys
+     */
+    List<String> mget(String... keys);
+
+    /**
+     * Queues the commands issued on the pipeline and sends them to redis together.
+     *
+     * @param commands issues the commands to be executed on the pipeline
+     * @return the responses of the commands, in the order they were issued
+     */
+    List<Object> pipelined(Consumer<RedisPipeline> commands);
+}
@@ -12,6 +12,8 @@
  */
 package com.netflix.conductor.redis.jedis;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -19,6 +21,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,6 +35,8 @@ import redis.clients.jedis.ScanParams;
 import redis.clients.jedis.ScanResult;
 import redis.clients.jedis.Tuple;
 import redis.clients.jedis.commands.JedisCommands;
+import redis.clients.jedis.commands.MultiKeyCommands;
+import redis.clients.jedis.commands.RedisPipeline;
 import redis.clients.jedis.params.ZAddParams;
 
 import static com.netflix.conductor.redis.config.RedisCommonConfiguration.DEFAULT_CLIENT_INJECTION_NAME;
@@ -73,6 +78,50 @@ public class JedisProxy {
         return jedisCommands.get(key);
     }
 
+    /**
+     * Fetches the values of all the given keys in a single round trip when the underlying client
+     * supports it, or falls back to one GET per key.
+     *
+     * @return the values in the same order as the keys, with null for missing keys
+     */
+    public List<String> mget(List<String> keys) {
+        if (keys.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String[] keyArray = keys.toArray(new String[0]);
+        if (jedisCommands instanceof JedisPipelineCommands) {
+            return ((JedisPipelineCommands) jedisCommands).mget(keyArray);
+        }
+        if (jedisCommands instanceof MultiKeyCommands) {
+            return ((MultiKeyCommands) jedisCommands).mget(keyArray);
+        }
+        List<String> values = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            values.add(jedisCommands.get(key));
+        }
+        return values;
+    }
+
+    /** @return true if {@link #pipelined(Consumer)} is supported by the underlying client */
+    public boolean isPipeliningSupported() {
+        return jedisCommands instanceof JedisPipelineCommands;
+    }
+
+    /**
+     * Sends all the commands issued on the pipeline to redis in a single round trip.
+     *
+     * @throws UnsupportedOperationException if the underlying client does not support pipelining
+     * @see #isPipeliningSupported()
+     */
+    public List<Object> pipelined(Consumer<RedisPipeline> commands) {
+        if (!isPipeliningSupported()) {
+            throw new UnsupportedOperationException(
+                    jedisCommands.getClass().getSimpleName() + " does not support pipelining");
+        }
+        LOGGER.trace("pipelined");
+        return ((JedisPipelineCommands) jedisCommands).pipelined(commands);
+    }
+
     public Long zcard(String key) {
         return jedisCommands.zcard(key);
     }
@@ -15,6 +15,7 @@ package com.netflix.conductor.redis.jedis;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import redis.clients.jedis.BitPosParams;
@@ -24,6 +25,7 @@ import redis.clients.jedis.GeoUnit;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.ListPosition;
+import redis.clients.jedis.Pipeline;
 import redis.clients.jedis.ScanParams;
 import redis.clients.jedis.ScanResult;
 import redis.clients.jedis.SortingParams;
@@ -35,13 +37,14 @@ import redis.clients.jedis.StreamInfo;
 import redis.clients.jedis.StreamPendingEntry;
 import redis.clients.jedis.Tuple;
 import redis.clients.jedis.commands.JedisCommands;
+import redis.clients.jedis.commands.RedisPipeline;
 import redis.clients.jedis.params.GeoRadiusParam;
 import redis.clients.jedis.params.SetParams;
 import redis.clients.jedis.params.ZAddParams;
 import redis.clients.jedis.params.ZIncrByParams;
 
 /** A {@link JedisCommands} implementation that delegates to {@link JedisPool}. */
-public class JedisStandalone implements JedisCommands {
+public class JedisStandalone implements JedisCommands, JedisPipelineCommands {
 
     private final JedisPool jedisPool;
 
@@ -959,4 +962,19 @@ public class JedisStandalone implements JedisCommands {
     public List<StreamConsumersInfo> xinfoConsumers(String key, String group) {
         return executeInJedis(jedis -> jedis.xinfoConsumers(key, group));
     }
+
+    @Override
+    public List<String> mget(String... keys) {
+        return executeInJedis(jedis -> jedis.mget(keys));
+    }
+
+    @Override
+    public List<Object> pipelined(Consumer<RedisPipeline> commands) {
+        return executeInJedis(
+                jedis -> {
+                    Pipeline pipeline = jedis.pipelined();
+                    commands.accept(pipeline);
+                    return pipeline.syncAndReturnAll();
+                });
+    }
 }
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.redis.dao;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
+import com.netflix.conductor.common.metadata.tasks.TaskDef;
+import com.netflix.conductor.common.metadata.workflow.WorkflowTask;
+import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.dao.ExecutionDAO;
+import com.netflix.conductor.dao.ExecutionDAOTest;
+import com.netflix.conductor.model.TaskModel;
+import com.netflix.conductor.redis.config.RedisProperties;
+import com.netflix.conductor.redis.jedis.JedisMock;
+import com.netflix.conductor.redis.jedis.JedisProxy;
+import com.netflix.conductor.redis.jedis.JedisStandalone;
+import com.netflix.conductor.redis.jedis.PipelinedJedisMock;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import redis.clients.jedis.commands.RedisPipeline;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the {@link ExecutionDAOTest} suite with pipelining enabled, verifies that the pipelined
+ * writes leave redis in the same state as the unpipelined ones, and the number of round trips
+ * needed to create and load the tasks of a workflow.
+ */
+@ContextConfiguration(classes = {TestObjectMapperConfiguration.class})
+@RunWith(SpringRunner.class)
+public class RedisExecutionDAOPipeliningTest extends ExecutionDAOTest {
+
+    private static final int TASK_COUNT = 100;
+
+    private RedisExecutionDAO executionDAO;
+    private JedisMock jedis;
+    private ConductorProperties conductorProperties;
+    private RedisProperties properties;
+
+    @Autowired private ObjectMapper objectMapper;
+
+    @Before
+    public void init() {
+        conductorProperties = mock(ConductorProperties.class);
+        properties = mock(RedisProperties.class);
+        when(properties.getEventExecutionPersistenceTTL()).thenReturn(Duration.ofSeconds(5));
+        when(properties.isPipeliningEnabled()).thenReturn(true);
+        jedis = new PipelinedJedisMock();
+        executionDAO =
+                new RedisExecutionDAO(
+                        new JedisProxy(jedis), objectMapper, conductorProperties, properties);
+    }
+
+    @Test
+    public void testPipelinedWritesMatchUnpipelinedWrites() {
+        RedisProperties unpipelinedProperties = mock(RedisProperties.class);
+        when(unpipelinedProperties.getEventExecutionPersistenceTTL())
+                .thenReturn(Duration.ofSeconds(5));
+        JedisMock unpipelinedJedis = new JedisMock();
+        RedisExecutionDAO unpipelinedDAO =
+                new RedisExecutionDAO(
+                        new JedisProxy(unpipelinedJedis),
+                        objectMapper,
+                        conductorProperties,
+                        unpipelinedProperties);
+
+        Map<String, Object> pipelinedState = writeAndReadIndices(executionDAO, jedis);
+        Map<String, Object> unpipelinedState =
+                writeAndReadIndices(unpipelinedDAO, unpipelinedJedis);
+
+        assertEquals(unpipelinedState, pipelinedState);
+        // guard against comparing two empty states
+        assertEquals(
+                Collections.singleton("limitedTask1"),
+                pipelinedState.get("TASKS_IN_PROGRESS_STATUS.limitedDef"));
+    }
+
+    @Test
+    public void testCreateTasksRoundTrips() {
+        JedisStandalone jedis = mockJedisStandalone();
+        RedisExecutionDAO dao =
+                new RedisExecutionDAO(
+                        new JedisProxy(jedis), objectMapper, conductorProperties, properties);
+
+        List<TaskModel> created = dao.createTasks(createTasks("workflowId"));
+
+        assertEquals(TASK_COUNT, created.size());
+        // one round trip for the SCHEDULED_TASKS check and one for all the writes
+        verify(jedis, times(2)).pipelined(any());
+        verify(jedis, never()).hset(anyString(), anyString(), anyString());
+        verify(jedis, never()).set(anyString(), anyString());
+    }
+
+    @Test
+    public void testGetTasksRoundTrips() {
+        JedisStandalone jedis = mockJedisStandalone();
+        RedisExecutionDAO dao =
+                new RedisExecutionDAO(
+                        new JedisProxy(jedis), objectMapper, conductorProperties, properties);
+        List<String> taskIds =
+                createTasks("workflowId").stream()
+                        .map(TaskModel::getTaskId)
+                        .collect(Collectors.toList());
+
+        dao.getTasks(taskIds);
+
+        verify(jedis, times(1)).mget(any());
+        verify(jedis, never()).get(anyString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private JedisStandalone mockJedisStandalone() {
+        JedisStandalone jedis = mock(JedisStandalone.class);
+        when(jedis.pipelined(any()))
+                .thenAnswer(
+                        invocation -> {
+                            RedisPipeline pipeline = mock(RedisPipeline.class);
+                            invocation.<Consumer<RedisPipeline>>getArgument(0).accept(pipeline);
+                            int commands = Mockito.mockingDetails(pipeline).getInvocations().size();
+                            return new ArrayList<>(Collections.nCopies(commands, 1L));
+                        });
+        when(jedis.mget(any()))
+                .thenAnswer(
+                        invocation ->
+                                new ArrayList<>(
+                                        Collections.nCopies(
+                                                invocation.getArguments().length, null)));
+        return jedis;
+    }
+
+    /**
+     * Creates and updates tasks of a task definition with and without a concurrency limit,
+     * including a task which is already scheduled and a task which was never created.
+     *
+     * @return the task indices and the statuses of the tasks, as found in redis afterwards
+     */
+    private Map<String, Object> writeAndReadIndices(RedisExecutionDAO dao, JedisMock jedis) {
+        TaskDef limitedDef = new TaskDef("limitedDef");
+        limitedDef.setConcurrentExecLimit(2);
+        WorkflowTask limitedWorkflowTask = new WorkflowTask();
+        limitedWorkflowTask.setName("limitedDef");
+        limitedWorkflowTask.setTaskDefinition(limitedDef);
+
+        List<TaskModel> tasks = new ArrayList<>(createTasks("workflowId").subList(0, 3));
+        for (int i = 0; i < 2; i++) {
+            TaskModel task = createTasks("workflowId").get(0);
+            task.setTaskId("limitedTask" + i);
+            task.setReferenceTaskName("limitedRef" + i);
+            task.setTaskDefName("limitedDef");
+            task.setTaskType("limitedDef");
+            task.setStatus(TaskModel.Status.IN_PROGRESS);
+            task.setWorkflowTask(limitedWorkflowTask);
+            tasks.add(task);
+        }
+        assertEquals(5, dao.createTasks(tasks).size());
+
+        TaskModel duplicate = createTasks("workflowId").get(0);
+        duplicate.setTaskId("duplicateTaskId");
+        assertTrue(dao.createTasks(Collections.singletonList(duplicate)).isEmpty());
+
+        tasks.get(0).setStatus(TaskModel.Status.COMPLETED);
+        tasks.get(1).setStatus(TaskModel.Status.IN_PROGRESS);
+        tasks.get(3).setStatus(TaskModel.Status.COMPLETED);
+        TaskModel uncreated = createTasks("otherWorkflowId").get(0);
+        uncreated.setTaskId("uncreatedTaskId");
+        dao.updateTasks(Arrays.asList(tasks.get(0), tasks.get(1), tasks.get(3), uncreated));
+
+        Map<String, Object> state = new HashMap<>();
+        state.put("SCHEDULED_TASKS", jedis.hgetAll(dao.nsKey("SCHEDULED_TASKS", "workflowId")));
+        for (String workflowId : Arrays.asList("workflowId", "otherWorkflowId")) {
+            state.put(
+                    "WORKFLOW_TO_TASKS." + workflowId,
+                    jedis.smembers(dao.nsKey("WORKFLOW_TO_TASKS", workflowId)));
+        }
+        for (String taskDefName : Arrays.asList("taskDef", "limitedDef")) {
+            state.put(
+                    "IN_PROGRESS_TASKS." + taskDefName,
+                    jedis.smembers(dao.nsKey("IN_PROGRESS_TASKS", taskDefName)));
+        }
+        state.put(
+                "TASKS_IN_PROGRESS_STATUS.limitedDef",
+                jedis.smembers(dao.nsKey("TASKS_IN_PROGRESS_STATUS", "limitedDef")));
+        List<String> taskIds =
+                Arrays.asList(
+                        "taskId0",
+                        "taskId1",
+                        "taskId2",
+                        "limitedTask0",
+                        "limitedTask1",
+                        "duplicateTaskId",
+                        "uncreatedTaskId");
+        dao.getTasks(taskIds)
+                .forEach(task -> state.put("TASK." + task.getTaskId(), task.getStatus()));
+        return state;
+    }
+
+    private List<TaskModel> createTasks(String workflowId) {
+        List<TaskModel> tasks = new ArrayList<>();
+        for (int i = 0; i < TASK_COUNT; i++) {
+            TaskModel task = new TaskModel();
+            task.setTaskId("taskId" + i);
+            task.setWorkflowInstanceId(workflowId);
+            task.setReferenceTaskName("ref" + i);
+            task.setTaskDefName("taskDef");
+            task.setTaskType("taskDef");
+            task.setStatus(TaskModel.Status.SCHEDULED);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    @Override
+    protected ExecutionDAO getExecutionDAO() {
+        return executionDAO;
+    }
+}
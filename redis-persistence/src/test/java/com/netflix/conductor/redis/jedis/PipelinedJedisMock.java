@@ -0,0 +1,67 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.redis.jedis;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import redis.clients.jedis.commands.RedisPipeline;
+
+/**
+ * A {@link JedisMock} which supports pipelining. The commands issued on the pipeline are run
+ * against the in-memory redis as they are issued, and their responses are returned in the same
+ * order, as {@link redis.clients.jedis.Pipeline#syncAndReturnAll()} does.
+ */
+public class PipelinedJedisMock extends JedisMock implements JedisPipelineCommands {
+
+    @Override
+    public List<Object> pipelined(Consumer<RedisPipeline> commands) {
+        List<Object> responses = new ArrayList<>();
+        RedisPipeline pipeline =
+                (RedisPipeline)
+                        Proxy.newProxyInstance(
+                                RedisPipeline.class.getClassLoader(),
+                                new Class<?>[] {RedisPipeline.class},
+                                (proxy, method, args) -> {
+                                    if (method.getDeclaringClass() == Object.class) {
+                                        return method.invoke(this, args);
+                                    }
+                                    responses.add(invoke(method, args));
+                                    // the responses are only read once the pipeline is synced
+                                    return null;
+                                });
+        commands.accept(pipeline);
+        return responses;
+    }
+
+    private Object invoke(Method pipelineMethod, Object[] args) throws Throwable {
+        Method method;
+        try {
+            method =
+                    JedisMock.class.getMethod(
+                            pipelineMethod.getName(), pipelineMethod.getParameterTypes());
+        } catch (NoSuchMethodException e) {
+            throw new UnsupportedOperationException(
+                    pipelineMethod.getName() + " is not supported on the pipeline", e);
+        }
+        try {
+            return method.invoke(this, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
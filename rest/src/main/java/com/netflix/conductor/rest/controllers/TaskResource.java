@@ -30,6 +30,7 @@ import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.TaskExecLog;
 import com.netflix.conductor.common.metadata.tasks.TaskResult;
 import com.netflix.conductor.common.run.ExternalStorageLocation;
+import com.netflix.conductor.common.run.ScrollSearchResult;
 import com.netflix.conductor.common.run.SearchResult;
 import com.netflix.conductor.common.run.TaskSummary;
 import com.netflix.conductor.service.TaskService;
@@ -156,6 +157,22 @@ public class TaskResource {
         return taskService.search(start, size, sort, freeText, query);
     }
 
+    @Operation(
+            summary = "Search for tasks page by page, based in payload and other parameters",
+            description =
+                    "pass the continuationToken of a page to get the next one, with the same sort"
+                            + " options. The token is absent from the last page.")
+    @GetMapping(value = "/search-scroll")
+    public ScrollSearchResult<TaskSummary> scroll(
+            @RequestParam(value = "size", defaultValue = "100", required = false) int size,
+            @RequestParam(value = "sort", required = false) String sort,
+            @RequestParam(value = "freeText", defaultValue = "*", required = false) String freeText,
+            @RequestParam(value = "query", required = false) String query,
+            @RequestParam(value = "continuationToken", required = false)
+                    String continuationToken) {
+        return taskService.scrollTasks(size, sort, freeText, query, continuationToken);
+    }
+
     @Operation(
             summary = "Search for tasks based in payload and other parameters",
             description =
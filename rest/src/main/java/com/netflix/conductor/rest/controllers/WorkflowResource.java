@@ -31,6 +31,7 @@ import com.netflix.conductor.common.metadata.workflow.RerunWorkflowRequest;
 import com.netflix.conductor.common.metadata.workflow.SkipTaskRequest;
 import com.netflix.conductor.common.metadata.workflow.StartWorkflowRequest;
 import com.netflix.conductor.common.run.ExternalStorageLocation;
+import com.netflix.conductor.common.run.ScrollSearchResult;
 import com.netflix.conductor.common.run.SearchResult;
 import com.netflix.conductor.common.run.Workflow;
 import com.netflix.conductor.common.run.WorkflowSummary;
@@ -219,6 +220,22 @@ public class WorkflowResource {
         return workflowService.searchWorkflows(start, size, sort, freeText, query);
     }
 
+    @Operation(
+            summary = "Search for workflows page by page, based on payload and other parameters",
+            description =
+                    "pass the continuationToken of a page to get the next one, with the same sort"
+                            + " options. The token is absent from the last page.")
+    @GetMapping(value = "/search-scroll")
+    public ScrollSearchResult<WorkflowSummary> scroll(
+            @RequestParam(value = "size", defaultValue = "100", required = false) int size,
+            @RequestParam(value = "sort", required = false) String sort,
+            @RequestParam(value = "freeText", defaultValue = "*", required = false) String freeText,
+            @RequestParam(value = "query", required = false) String query,
+            @RequestParam(value = "continuationToken", required = false)
+                    String continuationToken) {
+        return workflowService.scrollWorkflows(size, sort, freeText, query, continuationToken);
+    }
+
     @Operation(
             summary = "Search for workflows based on payload and other parameters",
             description =
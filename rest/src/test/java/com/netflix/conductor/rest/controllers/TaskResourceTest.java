@@ -27,6 +27,7 @@ import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.TaskExecLog;
 import com.netflix.conductor.common.metadata.tasks.TaskResult;
 import com.netflix.conductor.common.run.ExternalStorageLocation;
+import com.netflix.conductor.common.run.ScrollSearchResult;
 import com.netflix.conductor.common.run.SearchResult;
 import com.netflix.conductor.common.run.TaskSummary;
 import com.netflix.conductor.service.TaskService;
@@ -198,6 +199,19 @@ public class TaskResourceTest {
         assertEquals(searchResult, taskResource.search(0, 100, "asc", "*", "*"));
     }
 
+    @Test
+    public void testScroll() {
+        Task task = new Task();
+        task.setTaskType("SIMPLE");
+        task.setStatus(Task.Status.IN_PROGRESS);
+        List<TaskSummary> listOfTaskSummary = Collections.singletonList(new TaskSummary(task));
+        ScrollSearchResult<TaskSummary> searchResult =
+                new ScrollSearchResult<>(100, listOfTaskSummary, "next");
+
+        when(mockTaskService.scrollTasks(100, "asc", "*", "*", "token")).thenReturn(searchResult);
+        assertEquals(searchResult, taskResource.scroll(100, "asc", "*", "*", "token"));
+    }
+
     @Test
     public void testSearchV2() {
         Task task = new Task();
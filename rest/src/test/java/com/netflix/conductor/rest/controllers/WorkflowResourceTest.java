@@ -212,6 +212,12 @@ public class WorkflowResourceTest {
                 .searchWorkflows(anyInt(), anyInt(), anyString(), anyString(), anyString());
     }
 
+    @Test
+    public void testScroll() {
+        workflowResource.scroll(100, "asc", "*", "*", "token");
+        verify(mockWorkflowService).scrollWorkflows(100, "asc", "*", "*", "token");
+    }
+
     @Test
     public void testSearchV2() {
         workflowResource.searchV2(0, 100, "asc", "*", "*");